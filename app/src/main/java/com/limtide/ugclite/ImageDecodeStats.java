@@ -0,0 +1,67 @@
+package com.limtide.ugclite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 图片解码统计
+ * decodedBytes：实际解码出的位图字节数；fullSizeBytes：同一批图片按原始尺寸ARGB_8888解码需要的字节数，
+ * 两者之比即按卡片尺寸和RGB_565解码节省的内存。只统计真正发生解码的请求，内存缓存命中不计。
+ */
+public final class ImageDecodeStats {
+
+    private static final int ARGB_8888_BYTES = 4;
+
+    private final AtomicLong decodes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong fullSizeBytes = new AtomicLong();
+
+    /**
+     * @param bytes 解码得到的位图占用字节数
+     * @param sourceWidth 原图宽度，未知时为0
+     * @param sourceHeight 原图高度，未知时为0
+     */
+    void record(long bytes, int sourceWidth, int sourceHeight) {
+        decodes.incrementAndGet();
+        decodedBytes.addAndGet(bytes);
+        // 原图尺寸未知时按实际解码计，不虚增节省量
+        long fullSize = sourceWidth > 0 && sourceHeight > 0
+                ? (long) sourceWidth * sourceHeight * ARGB_8888_BYTES
+                : bytes;
+        fullSizeBytes.addAndGet(Math.max(fullSize, bytes));
+    }
+
+    public long getDecodeCount() {
+        return decodes.get();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    public long getFullSizeBytes() {
+        return fullSizeBytes.get();
+    }
+
+    /**
+     * @return 实际解码字节数占原尺寸解码字节数的比例，没有记录时为1
+     */
+    public double getDecodedRatio() {
+        long full = fullSizeBytes.get();
+        return full == 0 ? 1.0 : (double) decodedBytes.get() / full;
+    }
+
+    public void reset() {
+        decodes.set(0);
+        decodedBytes.set(0);
+        fullSizeBytes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "ImageDecodeStats{" +
+                "decodes=" + decodes.get() +
+                ", decodedBytes=" + decodedBytes.get() +
+                ", fullSizeBytes=" + fullSizeBytes.get() +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.limtide.ugclite;
+
+/**
+ * 按设备档次选择Glide内存缓存和Bitmap池的大小
+ * 以屏幕数计：一屏约等于一张全屏ARGB_8888位图的字节数，由Glide的MemorySizeCalculator换算。
+ */
+final class ImageMemoryPolicy {
+
+    enum DeviceClass {
+        LOW,
+        MID,
+        HIGH
+    }
+
+    private static final int LOW_MEMORY_CLASS_MB = 128;
+    private static final int HIGH_MEMORY_CLASS_MB = 256;
+
+    final DeviceClass deviceClass;
+    final float memoryCacheScreens;
+    final float bitmapPoolScreens;
+    final int arrayPoolBytes;
+
+    private ImageMemoryPolicy(DeviceClass deviceClass, float memoryCacheScreens,
+                              float bitmapPoolScreens, int arrayPoolBytes) {
+        this.deviceClass = deviceClass;
+        this.memoryCacheScreens = memoryCacheScreens;
+        this.bitmapPoolScreens = bitmapPoolScreens;
+        this.arrayPoolBytes = arrayPoolBytes;
+    }
+
+    /**
+     * @param memoryClassMb ActivityManager.getMemoryClass()
+     * @param lowRamDevice ActivityManager.isLowRamDevice()
+     */
+    static ImageMemoryPolicy forDevice(int memoryClassMb, boolean lowRamDevice) {
+        if (lowRamDevice || memoryClassMb <= LOW_MEMORY_CLASS_MB) {
+            return new ImageMemoryPolicy(DeviceClass.LOW, 1.5f, 1f, 2 * 1024 * 1024);
+        }
+        if (memoryClassMb <= HIGH_MEMORY_CLASS_MB) {
+            return new ImageMemoryPolicy(DeviceClass.MID, 2f, 2f, 4 * 1024 * 1024);
+        }
+        // 瀑布流一屏有多张封面，高端机多缓存几屏，回滚时不重新解码
+        return new ImageMemoryPolicy(DeviceClass.HIGH, 4f, 3f, 8 * 1024 * 1024);
+    }
+
+    @Override
+    public String toString() {
+        return "ImageMemoryPolicy{" + deviceClass
+                + ", cacheScreens=" + memoryCacheScreens
+                + ", poolScreens=" + bitmapPoolScreens
+                + ", arrayPool=" + arrayPoolBytes + "}";
+    }
+}
@@ -5,12 +5,17 @@ import android.util.Log;
 import android.os.Handler;
 import android.os.Looper;
 
+import com.limtide.ugclite.data.repository.FeedPageCache;
+import com.limtide.ugclite.data.repository.FeedRepository;
+import com.limtide.ugclite.network.ApiService;
 import com.limtide.ugclite.utils.MuteManager;
 import com.limtide.ugclite.utils.CacheManager;
 import com.limtide.ugclite.utils.VideoThumbnailUtil;
 import com.limtide.ugclite.utils.MusicFileUtils;
 import com.bumptech.glide.Glide;
 
+import java.io.File;
+
 /**
  * Application类
  * 用于处理全局状态和应用生命周期管理
@@ -30,6 +35,16 @@ public class UGCApplication extends Application {
         mainHandler = new Handler(Looper.getMainLooper());
         Log.d(TAG, "Application onCreate");
 
+        // 初始化网络层（启用Feed请求的磁盘HTTP缓存），需早于任何Feed请求
+        ApiService.initialize(this);
+        // 提前建立到API域名的连接，首个Feed请求免去DNS/TCP/TLS握手
+        ApiService.getInstance().prewarmConnection();
+        // 启用Feed本地快照，并在后台提前读出，冷启动首屏先展示上次的内容
+        FeedRepository.initialize(this);
+        // 删除上次进程被杀时没来得及清理的Feed分页缓存
+        File feedPages = new File(getCacheDir(), FeedPageCache.ROOT_DIRECTORY);
+        new Thread(() -> FeedPageCache.deleteStaleSessions(feedPages)).start();
+
         // 重置静音状态（APP冷启后重置为非静音）
         MuteManager muteManager = MuteManager.getInstance(this);
         muteManager.resetForColdStart();
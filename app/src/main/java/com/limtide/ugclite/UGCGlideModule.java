@@ -0,0 +1,136 @@
+package com.limtide.ugclite;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+import com.limtide.ugclite.network.SharedHttpClient;
+
+import java.io.InputStream;
+
+/**
+ * Glide全局配置
+ * 图片请求走共享的OkHttpClient，与Feed接口共用连接池、DNS缓存和HTTP/2连接；
+ * 内存缓存和Bitmap池按设备档次设置，Feed封面和头像按卡片上的实际尺寸解码。
+ */
+@GlideModule
+public final class UGCGlideModule extends AppGlideModule {
+
+    private static final String TAG = "UGCGlideModule";
+    private static final ImageDecodeStats DECODE_STATS = new ImageDecodeStats();
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        ImageMemoryPolicy policy = activityManager != null
+                ? ImageMemoryPolicy.forDevice(activityManager.getMemoryClass(), activityManager.isLowRamDevice())
+                : ImageMemoryPolicy.forDevice(0, true);
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(policy.memoryCacheScreens)
+                .setBitmapPoolScreens(policy.bitmapPoolScreens)
+                .setArrayPoolSize(policy.arrayPoolBytes)
+                .build();
+        builder.setMemorySizeCalculator(calculator);
+        Log.d(TAG, policy + ", memoryCache: " + calculator.getMemoryCacheSize()
+                + ", bitmapPool: " + calculator.getBitmapPoolSize());
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        // 替换okhttp3-integration库模块默认注册的客户端
+        registry.replace(GlideUrl.class, InputStream.class,
+                new OkHttpUrlLoader.Factory(SharedHttpClient.get()));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+
+    /**
+     * Feed封面的请求选项：按卡片封面尺寸解码并居中裁剪
+     * 封面不透明，优先使用RGB_565，内存减半；带透明通道的图片Glide会自动回退到ARGB_8888
+     */
+    public static RequestOptions coverOptions(int widthPx, int heightPx) {
+        return new RequestOptions()
+                .override(widthPx, heightPx)
+                .downsample(DownsampleStrategy.CENTER_OUTSIDE)
+                .centerCrop()
+                .format(DecodeFormat.PREFER_RGB_565);
+    }
+
+    /**
+     * 头像的请求选项：按头像尺寸解码，圆形裁剪需要透明通道，保持ARGB_8888
+     */
+    public static RequestOptions avatarOptions(int sizePx) {
+        return new RequestOptions()
+                .override(sizePx, sizePx)
+                .downsample(DownsampleStrategy.CENTER_OUTSIDE)
+                .circleCrop();
+    }
+
+    /**
+     * 记录解码字节数的监听器，用addListener挂到请求上
+     * @param sourceWidth 原图宽度，未知时传0
+     * @param sourceHeight 原图高度，未知时传0
+     */
+    public static RequestListener<Drawable> decodeMetric(int sourceWidth, int sourceHeight) {
+        return new RequestListener<Drawable>() {
+            @Override
+            public boolean onLoadFailed(@Nullable GlideException e, Object model,
+                                        @NonNull Target<Drawable> target, boolean isFirstResource) {
+                return false;
+            }
+
+            @Override
+            public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                           Target<Drawable> target, @NonNull DataSource dataSource,
+                                           boolean isFirstResource) {
+                if (dataSource != DataSource.MEMORY_CACHE) {
+                    long bytes = bitmapBytes(resource);
+                    if (bytes > 0) {
+                        DECODE_STATS.record(bytes, sourceWidth, sourceHeight);
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static ImageDecodeStats getDecodeStats() {
+        return DECODE_STATS;
+    }
+
+    private static long bitmapBytes(Drawable drawable) {
+        Bitmap bitmap = null;
+        if (drawable instanceof BitmapDrawable) {
+            bitmap = ((BitmapDrawable) drawable).getBitmap();
+        } else if (drawable instanceof GifDrawable) {
+            bitmap = ((GifDrawable) drawable).getFirstFrame();
+        }
+        return bitmap != null ? bitmap.getAllocationByteCount() : 0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.limtide.ugclite.data.model;
+
+/**
+ * 首页卡片的布局信息：封面高度、封面片段、展示文本和格式化后的点赞数
+ * 每个作品在仓库工作线程计算一次，绑定时只应用这些值，不再重复计算或触发额外布局。
+ */
+public final class CardLayoutSpec {
+
+    // 卡片宽度固定189dp，封面宽高比限制在3:4到4:3之间
+    public static final float CARD_WIDTH_DP = 189f;
+    private static final float MIN_ASPECT_RATIO = 0.75f;
+    private static final float MAX_ASPECT_RATIO = 1.333f;
+    // 没有尺寸信息时使用常见的照片比例3:4
+    private static final float DEFAULT_ASPECT_RATIO = 0.75f;
+
+    private final int coverWidthPx;
+    private final int coverHeightPx;
+    private final Post.Clip coverClip;
+    private final String displayText;
+    private final int baseLikeCount;
+    private final String likeCountText;
+    private final String likedCountText;
+
+    private CardLayoutSpec(int coverWidthPx, int coverHeightPx, Post.Clip coverClip,
+                           String displayText, int baseLikeCount) {
+        this.coverWidthPx = coverWidthPx;
+        this.coverHeightPx = coverHeightPx;
+        this.coverClip = coverClip;
+        this.displayText = displayText;
+        this.baseLikeCount = baseLikeCount;
+        this.likeCountText = formatLikeCount(baseLikeCount);
+        this.likedCountText = formatLikeCount(baseLikeCount + 1);
+    }
+
+    /**
+     * @param density 屏幕密度，dp到px的换算系数
+     * @param baseLikeCount 未点赞时的点赞数
+     */
+    public static CardLayoutSpec compute(Post post, float density, int baseLikeCount) {
+        Post.Clip cover = coverOf(post);
+        int widthPx = (int) (CARD_WIDTH_DP * density + 0.5f);
+        int heightPx = (int) (CARD_WIDTH_DP / aspectRatioOf(cover) * density + 0.5f);
+        return new CardLayoutSpec(widthPx, heightPx, cover, displayTextOf(post), baseLikeCount);
+    }
+
+    /**
+     * 封面宽度（px），即卡片宽度，用作图片解码的目标宽度
+     */
+    public int getCoverWidthPx() {
+        return coverWidthPx;
+    }
+
+    /**
+     * 封面容器高度（px）
+     */
+    public int getCoverHeightPx() {
+        return coverHeightPx;
+    }
+
+    /**
+     * 作为封面的第一个图片或视频片段，没有时为null
+     */
+    public Post.Clip getCoverClip() {
+        return coverClip;
+    }
+
+    /**
+     * 优先展示标题，没有标题时展示正文
+     */
+    public String getDisplayText() {
+        return displayText;
+    }
+
+    /**
+     * 点赞数对应的展示文本；点赞和未点赞两种情况已预先格式化
+     */
+    public String likeCountText(int likeCount) {
+        if (likeCount == baseLikeCount) {
+            return likeCountText;
+        }
+        if (likeCount == baseLikeCount + 1) {
+            return likedCountText;
+        }
+        return formatLikeCount(likeCount);
+    }
+
+    /**
+     * 格式化点赞数量显示
+     */
+    public static String formatLikeCount(int count) {
+        if (count < 1000) {
+            return String.valueOf(count);
+        } else if (count < 10000) {
+            return String.format("%.1fK", count / 1000.0);
+        } else if (count < 1000000) {
+            return String.format("%dK", count / 1000);
+        } else {
+            return String.format("%.1fM", count / 1000000.0);
+        }
+    }
+
+    private static Post.Clip coverOf(Post post) {
+        if (post.clips == null) {
+            return null;
+        }
+        for (Post.Clip clip : post.clips) {
+            if (clip != null && (clip.type == 0 || clip.type == 1)) {
+                return clip;
+            }
+        }
+        return null;
+    }
+
+    private static float aspectRatioOf(Post.Clip clip) {
+        if (clip == null || clip.width <= 0 || clip.height <= 0) {
+            return DEFAULT_ASPECT_RATIO;
+        }
+        float ratio = (float) clip.width / clip.height;
+        return Math.max(MIN_ASPECT_RATIO, Math.min(MAX_ASPECT_RATIO, ratio));
+    }
+
+    private static String displayTextOf(Post post) {
+        if (post.title != null) {
+            String title = post.title.trim();
+            if (!title.isEmpty()) {
+                return title;
+            }
+        }
+        if (post.content != null) {
+            return post.content.trim();
+        }
+        return "";
+    }
+}
@@ -0,0 +1,14 @@
+package com.limtide.ugclite.data.model;
+
+/**
+ * 判断片段类型是否可以在Feed中展示
+ */
+public interface ClipVisibilityPolicy {
+
+    /**
+     * 仅展示图片(type=0)和视频(type=1)片段
+     */
+    ClipVisibilityPolicy IMAGE_AND_VIDEO = type -> type == 0 || type == 1;
+
+    boolean isVisible(int clipType);
+}
@@ -0,0 +1,187 @@
+package com.limtide.ugclite.data.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 不可变的Feed列表，追加分页时与上一版本共享存储
+ * 元素按CHUNK_SIZE分块存放。在最新版本上追加时直接写入共享块，只花O(追加数量)的时间，
+ * 旧版本的长度不变，仍然看到原来的内容；在旧版本上追加或替换区间时才复制受影响的块。
+ * 每个版本记录自己相对于上一版本(baseVersion)的变化，界面据此增量更新而不必重新比对整个列表。
+ */
+public final class FeedList extends AbstractList<Post> implements RandomAccess {
+
+    public enum Change {
+        /** 全新列表（刷新），与之前的版本无关 */
+        RESET,
+        /** 在baseVersion末尾追加了[changeStart, size) */
+        APPEND,
+        /** 替换了[changeStart, changeStart + changeCount)，长度不变 */
+        REPLACE
+    }
+
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * 多个版本共享的分块存储，length之后的位置还没有版本使用，可以由长度等于length的版本追加
+     */
+    private static final class Store {
+        volatile Post[][] chunks = new Post[4][];
+        int length;
+
+        Store copyPrefix(int size) {
+            Store copy = new Store();
+            int chunkCount = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+            Post[][] table = new Post[Math.max(4, chunkCount)][];
+            Post[][] source = chunks;
+            System.arraycopy(source, 0, table, 0, chunkCount);
+            // 末尾未写满的块会被继续追加，必须复制
+            if ((size & CHUNK_MASK) != 0) {
+                table[chunkCount - 1] = source[chunkCount - 1].clone();
+            }
+            copy.chunks = table;
+            copy.length = size;
+            return copy;
+        }
+
+        void write(int index, Post post) {
+            int chunk = index >>> CHUNK_SHIFT;
+            Post[][] table = chunks;
+            if (chunk >= table.length) {
+                Post[][] grown = new Post[table.length * 2][];
+                System.arraycopy(table, 0, grown, 0, table.length);
+                table = grown;
+                chunks = grown;
+            }
+            if (table[chunk] == null) {
+                table[chunk] = new Post[CHUNK_SIZE];
+            }
+            table[chunk][index & CHUNK_MASK] = post;
+        }
+    }
+
+    private final Store store;
+    private final int size;
+    private final long version;
+    private final long baseVersion;
+    private final Change change;
+    private final int changeStart;
+    private final int changeCount;
+
+    private FeedList(Store store, int size, long baseVersion, Change change, int changeStart, int changeCount) {
+        this.store = store;
+        this.size = size;
+        this.version = VERSIONS.incrementAndGet();
+        this.baseVersion = baseVersion;
+        this.change = change;
+        this.changeStart = changeStart;
+        this.changeCount = changeCount;
+    }
+
+    public static FeedList empty() {
+        return new FeedList(new Store(), 0, -1, Change.RESET, 0, 0);
+    }
+
+    public static FeedList of(List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return empty();
+        }
+        Store store = new Store();
+        for (int i = 0; i < posts.size(); i++) {
+            store.write(i, posts.get(i));
+        }
+        store.length = posts.size();
+        return new FeedList(store, posts.size(), -1, Change.RESET, 0, posts.size());
+    }
+
+    /**
+     * @return 末尾追加posts后的新版本；posts为空时返回自身
+     */
+    public FeedList append(List<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return this;
+        }
+        Store target = store;
+        synchronized (store) {
+            if (store.length == size) {
+                writeAll(store, size, posts);
+                store.length = size + posts.size();
+            } else {
+                target = null;
+            }
+        }
+        if (target == null) {
+            // 已有其它版本在这个位置之后追加过，复制后再追加
+            target = store.copyPrefix(size);
+            writeAll(target, size, posts);
+            target.length = size + posts.size();
+        }
+        return new FeedList(target, size + posts.size(), version, Change.APPEND, size, posts.size());
+    }
+
+    /**
+     * @return 从start开始替换为posts的新版本，长度不变
+     */
+    public FeedList replace(int start, List<Post> posts) {
+        if (start < 0 || start + posts.size() > size) {
+            throw new IndexOutOfBoundsException("replace [" + start + ", " + (start + posts.size())
+                    + ") of " + size);
+        }
+        Store target = store.copyPrefix(size);
+        int firstChunk = start >>> CHUNK_SHIFT;
+        int lastChunk = (start + posts.size() - 1) >>> CHUNK_SHIFT;
+        Post[][] table = target.chunks;
+        for (int chunk = firstChunk; chunk <= lastChunk && !posts.isEmpty(); chunk++) {
+            table[chunk] = table[chunk].clone();
+        }
+        writeAll(target, start, posts);
+        return new FeedList(target, size, version, Change.REPLACE, start, posts.size());
+    }
+
+    private static void writeAll(Store target, int start, List<Post> posts) {
+        for (int i = 0; i < posts.size(); i++) {
+            target.write(start + i, posts.get(i));
+        }
+    }
+
+    @Override
+    public Post get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return store.chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return 本版本基于的版本号，RESET时为-1
+     */
+    public long baseVersion() {
+        return baseVersion;
+    }
+
+    public Change change() {
+        return change;
+    }
+
+    public int changeStart() {
+        return changeStart;
+    }
+
+    public int changeCount() {
+        return changeCount;
+    }
+}
@@ -69,6 +69,40 @@ public class Post implements Parcelable, Serializable {
     @SerializedName("music")
     public Music music;
 
+    // 窗口分页中被换出内存的作品只保留postId，不参与序列化
+    private transient boolean placeholder;
+
+    /**
+     * 创建只保留postId的占位作品，用于换出内存的分页
+     * @param layoutSpec 原作品的卡片布局信息，占位卡片保持原高度，瀑布流不会重新排列；未计算时为null
+     */
+    public static Post placeholder(String postId, CardLayoutSpec layoutSpec) {
+        Post post = new Post();
+        post.postId = postId;
+        post.createTime = 0;
+        post.placeholder = true;
+        post.layoutSpec = layoutSpec;
+        return post;
+    }
+
+    public boolean isPlaceholder() {
+        return placeholder;
+    }
+
+    // 卡片布局信息，在仓库工作线程预先计算，不参与序列化
+    private transient volatile CardLayoutSpec layoutSpec;
+
+    /**
+     * @return 预先计算的卡片布局信息，尚未计算时为null
+     */
+    public CardLayoutSpec getLayoutSpec() {
+        return layoutSpec;
+    }
+
+    public void setLayoutSpec(CardLayoutSpec layoutSpec) {
+        this.layoutSpec = layoutSpec;
+    }
+
     // ==========================================
     // Parcelable 接口实现
     // ==========================================
@@ -178,6 +212,9 @@ public class Post implements Parcelable, Serializable {
         @SerializedName("end")
         public int end;   // 高亮结束位置
 
+        public Hashtag() {
+        }
+
         @Override
         public int describeContents() {
             return 0;
@@ -275,6 +312,9 @@ public class Post implements Parcelable, Serializable {
         @SerializedName("url")
         public String url;
 
+        public Music() {
+        }
+
         @Override
         public int describeContents() {
             return 0;
@@ -0,0 +1,77 @@
+package com.limtide.ugclite.data.repository;
+
+/**
+ * 根据最近请求的吞吐量和每条作品的字节数选择下一次请求的count
+ * 目标是让一页在targetMillis内到达：size = targetMillis * 吞吐量 / 每条字节数，
+ * 结果限制在[minSize, maxSize]内，且每次最多翻倍或减半，避免抖动。
+ * 只影响请求的count，分页偏移仍按服务端返回的原始条数推进。
+ */
+final class AdaptivePageSizer {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetMillis;
+
+    private int currentSize;
+    private double bytesPerMillis;
+    private double bytesPerPost;
+    private long lastElapsedMillis;
+    private int samples;
+
+    AdaptivePageSizer(int minSize, int maxSize, int initialSize, long targetMillis) {
+        if (minSize <= 0 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid page size bounds: " + minSize + ".." + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetMillis = Math.max(1, targetMillis);
+        this.currentSize = clamp(initialSize);
+    }
+
+    synchronized int currentSize() {
+        return currentSize;
+    }
+
+    /**
+     * 记录一次完整走网络的分页请求
+     * @param rawCount 服务端返回的原始条数
+     * @param elapsedMillis 请求到解析完成的耗时
+     * @param bodyBytes 响应体字节数
+     */
+    synchronized void record(int rawCount, long elapsedMillis, long bodyBytes) {
+        if (rawCount <= 0 || bodyBytes <= 0) {
+            return;
+        }
+        double throughput = (double) bodyBytes / Math.max(1, elapsedMillis);
+        double perPost = (double) bodyBytes / rawCount;
+        if (samples == 0) {
+            bytesPerMillis = throughput;
+            bytesPerPost = perPost;
+        } else {
+            bytesPerMillis += SMOOTHING * (throughput - bytesPerMillis);
+            bytesPerPost += SMOOTHING * (perPost - bytesPerPost);
+        }
+        samples++;
+        lastElapsedMillis = elapsedMillis;
+
+        int ideal = (int) Math.round(targetMillis * bytesPerMillis / bytesPerPost);
+        int stepped = Math.max(currentSize / 2, Math.min(currentSize * 2, ideal));
+        currentSize = clamp(stepped);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptivePageSizer{size=" + currentSize
+                + ", bounds=" + minSize + ".." + maxSize
+                + ", bytesPerMs=" + Math.round(bytesPerMillis)
+                + ", bytesPerPost=" + Math.round(bytesPerPost)
+                + ", lastElapsedMs=" + lastElapsedMillis
+                + ", samples=" + samples + '}';
+    }
+}
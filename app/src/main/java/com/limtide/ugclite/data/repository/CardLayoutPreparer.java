@@ -0,0 +1,37 @@
+package com.limtide.ugclite.data.repository;
+
+import com.limtide.ugclite.data.model.CardLayoutSpec;
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 在仓库工作线程为每个作品预先计算卡片布局信息，结果随作品一起交给界面
+ */
+final class CardLayoutPreparer {
+
+    private final float density;
+    private final IntSupplier baseLikeCount;
+
+    CardLayoutPreparer(float density, IntSupplier baseLikeCount) {
+        this.density = density;
+        this.baseLikeCount = baseLikeCount;
+    }
+
+    /**
+     * 为尚未计算过的作品计算布局信息，占位作品跳过
+     */
+    List<Post> prepare(List<Post> posts) {
+        if (posts == null) {
+            return null;
+        }
+        int likeCount = baseLikeCount.getAsInt();
+        for (Post post : posts) {
+            if (post != null && !post.isPlaceholder() && post.getLayoutSpec() == null) {
+                post.setLayoutSpec(CardLayoutSpec.compute(post, density, likeCount));
+            }
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,124 @@
+package com.limtide.ugclite.data.repository;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Feed描述符，FeedRepository按它区分各自独立的分页状态
+ * 服务端目前只有一个Feed接口，话题和作者Feed在客户端按条件筛选，分页游标仍按接口返回的原始数量推进。
+ */
+public final class FeedKey {
+
+    public enum Type {
+        HOME,
+        HASHTAG,
+        AUTHOR
+    }
+
+    public static final FeedKey HOME = new FeedKey(Type.HOME, "");
+
+    private final Type type;
+    private final String value;
+
+    private FeedKey(Type type, String value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    /**
+     * @param hashtag 话题词，可以带#号
+     */
+    public static FeedKey hashtag(String hashtag) {
+        String name = hashtag == null ? "" : hashtag.replace("#", "").trim();
+        return new FeedKey(Type.HASHTAG, name);
+    }
+
+    public static FeedKey author(String userId) {
+        return new FeedKey(Type.AUTHOR, userId == null ? "" : userId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 筛出属于该Feed的作品，首页原样返回
+     */
+    List<Post> filter(List<Post> posts) {
+        if (posts == null) {
+            return new ArrayList<>();
+        }
+        if (type == Type.HOME) {
+            return posts;
+        }
+        List<Post> matched = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (matches(post)) {
+                matched.add(post);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 作品是否属于该Feed
+     */
+    boolean matches(Post post) {
+        switch (type) {
+            case HASHTAG:
+                return hasHashtag(post, value);
+            case AUTHOR:
+                return post.author != null && value.equals(post.author.userId);
+            default:
+                return true;
+        }
+    }
+
+    private static boolean hasHashtag(Post post, String name) {
+        if (post.hashtags == null || post.content == null) {
+            return false;
+        }
+        // 话题词以高亮区间的形式标注在正文中
+        for (Post.Hashtag hashtag : post.hashtags) {
+            if (hashtag == null || hashtag.start < 0 || hashtag.end > post.content.length()
+                    || hashtag.start >= hashtag.end) {
+                continue;
+            }
+            String text = post.content.substring(hashtag.start, hashtag.end).replace("#", "").trim();
+            if (text.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FeedKey)) {
+            return false;
+        }
+        FeedKey other = (FeedKey) o;
+        return type == other.type && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value);
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.HOME ? "home" : type.name().toLowerCase(Locale.ROOT) + ':' + value;
+    }
+}
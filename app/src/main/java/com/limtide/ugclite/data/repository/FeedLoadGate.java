@@ -1,36 +1,98 @@
 package com.limtide.ugclite.data.repository;
 
+import com.limtide.ugclite.network.FeedCall;
+
+/**
+ * 一个Feed同一时间只有一个前台请求
+ * 刷新会抢占进行中的加载更多：取消它的网络调用，它之后到达的结果凭过期的token被丢弃。
+ */
 final class FeedLoadGate {
 
     enum Decision {
         STARTED,
-        QUEUED,
+        // 抢占了进行中的加载更多
+        PREEMPTED,
+        // 已有刷新在进行，本次刷新并入其中
+        JOINED,
         REJECTED
     }
 
+    static final class Ticket {
+        final Decision decision;
+        // 只有STARTED和PREEMPTED的请求持有有效token
+        final long token;
+
+        Ticket(Decision decision, long token) {
+            this.decision = decision;
+            this.token = token;
+        }
+    }
+
     private boolean active;
-    private boolean refreshQueued;
+    private boolean activeRefresh;
+    private long activeToken;
+    private FeedCall activeCall;
 
-    synchronized Decision request(boolean refresh) {
-        if (!active) {
-            active = true;
-            return Decision.STARTED;
+    Ticket request(boolean refresh) {
+        FeedCall preempted;
+        Ticket ticket;
+        synchronized (this) {
+            if (!active) {
+                active = true;
+                activeRefresh = refresh;
+                return new Ticket(Decision.STARTED, ++activeToken);
+            }
+            if (!refresh) {
+                return new Ticket(Decision.REJECTED, 0);
+            }
+            if (activeRefresh) {
+                return new Ticket(Decision.JOINED, 0);
+            }
+            preempted = activeCall;
+            activeCall = null;
+            activeRefresh = true;
+            ticket = new Ticket(Decision.PREEMPTED, ++activeToken);
         }
-        if (refresh) {
-            refreshQueued = true;
-            return Decision.QUEUED;
+        // 在锁外取消，取消回调不会和闸门互相等待
+        if (preempted != null) {
+            preempted.cancel();
         }
-        return Decision.REJECTED;
+        return ticket;
+    }
+
+    /**
+     * 记录token对应的网络调用；token已被抢占时立即取消该调用
+     */
+    void attach(long token, FeedCall call) {
+        if (call == null) {
+            return;
+        }
+        synchronized (this) {
+            if (active && token == activeToken) {
+                activeCall = call;
+                return;
+            }
+        }
+        call.cancel();
+    }
+
+    synchronized boolean isCurrent(long token) {
+        return active && token == activeToken;
     }
 
-    synchronized boolean complete(Runnable publisher) {
-        if (refreshQueued) {
-            refreshQueued = false;
-            return true;
+    /**
+     * 请求结束：token仍有效时在锁内运行publisher并放开闸门，否则丢弃
+     * @return 结果是否被发布
+     */
+    synchronized boolean complete(long token, Runnable publisher) {
+        if (!active || token != activeToken) {
+            return false;
         }
         publisher.run();
         active = false;
-        return false;
+        activeRefresh = false;
+        activeCall = null;
+        return true;
     }
 
     synchronized boolean isActive() {
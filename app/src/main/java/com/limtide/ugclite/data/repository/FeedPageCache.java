@@ -0,0 +1,132 @@
+package com.limtide.ugclite.data.repository;
+
+import com.google.gson.JsonParseException;
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.network.PostJsonCodec;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 换出内存的Feed分页的磁盘缓存
+ * 每页一个文件，每行一个作品JSON。文件放在缓存目录下，系统清理后读取失败，由调用方保留占位。
+ * 读写都是磁盘IO，只能在后台线程调用。
+ * 每个缓存是根目录下的一个子目录，目录名带本进程的前缀；进程被杀后来不及清理的目录，
+ * 由下次启动时的deleteStaleSessions删除。
+ */
+public final class FeedPageCache {
+
+    public static final String ROOT_DIRECTORY = "feed_pages";
+    // 本进程创建的缓存目录名前缀
+    private static final String SESSION_PREFIX = Long.toString(System.currentTimeMillis(), 36) + "_";
+
+    private final File directory;
+    private final PostJsonCodec codec;
+
+    public FeedPageCache(File directory) {
+        this(directory, new PostJsonCodec());
+    }
+
+    FeedPageCache(File directory, PostJsonCodec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    /**
+     * 在root下创建本进程的分页缓存
+     * @param name 进程内唯一的名字，同名的缓存共用目录
+     */
+    public static FeedPageCache inSession(File root, String name) {
+        return new FeedPageCache(new File(root, SESSION_PREFIX + name));
+    }
+
+    /**
+     * 删除root下不属于本进程的缓存目录和文件
+     */
+    public static void deleteStaleSessions(File root) {
+        File[] entries = root.listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (File entry : entries) {
+            if (!entry.getName().startsWith(SESSION_PREFIX)) {
+                deleteRecursively(entry);
+            }
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    public void write(String name, List<Post> posts) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录: " + directory);
+        }
+        File target = new File(directory, name);
+        File temp = new File(directory, name + ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+            for (Post post : posts) {
+                writer.write(codec.encode(post));
+                writer.write('\n');
+            }
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("无法写入分页缓存: " + target);
+        }
+    }
+
+    /**
+     * @throws IOException 文件不存在、不完整或内容无法解析
+     */
+    public List<Post> read(String name, int expectedSize) throws IOException {
+        List<Post> posts = new ArrayList<>(expectedSize);
+        try (Reader reader = new InputStreamReader(
+                new FileInputStream(new File(directory, name)), StandardCharsets.UTF_8);
+             BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                posts.add(codec.decode(line));
+            }
+        } catch (JsonParseException e) {
+            throw new IOException("分页缓存已损坏: " + name, e);
+        }
+        if (posts.size() != expectedSize) {
+            throw new IOException("分页缓存不完整: " + name + ", " + posts.size() + "/" + expectedSize);
+        }
+        return posts;
+    }
+
+    public void delete(String name) {
+        new File(directory, name).delete();
+    }
+
+    public void clear() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.limtide.ugclite.data.repository;
+
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+import com.limtide.ugclite.network.FeedPage;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Feed分页的响应式管道：请求 -> 取页（含解析）-> 按Feed筛选 -> 去重 -> FeedResult
+ * 每次刷新开启新的分页会话并取消上一个会话（包括进行中的请求）；
+ * 会话内的加载更多逐页串行；下游消费不过来时最多预先取两页，多余的加载请求被丢弃。
+ * 筛选去重后没有可展示作品的页不单独发布，接着取下一页，最多连续跳过MAX_SKIPPED_PAGES页。
+ */
+final class FeedPipeline {
+
+    // 话题等Feed在客户端筛选，一页里可能没有匹配的作品；空列表无法滚动，不能靠界面触发加载更多
+    static final int MAX_SKIPPED_PAGES = 4;
+
+    /**
+     * 按游标取一页，订阅时发起请求，取消订阅时取消请求
+     */
+    interface PageSource {
+        Single<FeedPage> fetch(int cursor, int count);
+    }
+
+    private final FeedKey key;
+    private final PageSource source;
+    private final Scheduler ioScheduler;
+    private final Scheduler computationScheduler;
+    private final int pageSize;
+    // 为null时不预计算卡片布局
+    private final CardLayoutPreparer layoutPreparer;
+
+    FeedPipeline(FeedKey key, PageSource source, Scheduler ioScheduler,
+                 Scheduler computationScheduler, int pageSize, CardLayoutPreparer layoutPreparer) {
+        this.key = key;
+        this.source = source;
+        this.ioScheduler = ioScheduler;
+        this.computationScheduler = computationScheduler;
+        this.pageSize = pageSize;
+        this.layoutPreparer = layoutPreparer;
+    }
+
+    /**
+     * @param refreshes 每个元素触发一次刷新
+     * @param loadMores 每个元素请求下一页；首页返回前和没有更多数据时忽略
+     */
+    Flowable<FeedResult> results(Flowable<?> refreshes, Flowable<?> loadMores) {
+        // switchMap只缓冲一个结果，下游的请求量一路传到取页
+        return refreshes
+                .onBackpressureLatest()
+                .switchMap(ignored -> session(loadMores), 1);
+    }
+
+    private Flowable<FeedResult> session(Flowable<?> loadMores) {
+        Session session = new Session();
+        Flowable<FeedResult> more = loadMores
+                .onBackpressureDrop()
+                .filter(ignored -> session.hasMore)
+                .concatMapSingle(ignored -> page(session, false), 1);
+        return page(session, true).toFlowable().concatWith(more);
+    }
+
+    private Single<FeedResult> page(Session session, boolean refresh) {
+        // 订阅时才读游标，保证读到上一页处理后的值
+        return Single.defer(() -> fetch(session, refresh ? 0 : session.cursor, refresh));
+    }
+
+    private Single<FeedResult> fetch(Session session, int cursor, boolean refresh) {
+        return visiblePosts(session, cursor, refresh, 0)
+                .map(posts -> layoutPreparer != null ? layoutPreparer.prepare(posts) : posts)
+                .map(posts -> new FeedResult(true, null, posts, session.hasMore, refresh,
+                        false, cursor, session.cursor))
+                .onErrorReturn(error -> new FeedResult(false, error.getMessage(), null, false, refresh));
+    }
+
+    /**
+     * 取一页并筛选去重；结果为空且还有更多时接着取下一页
+     * @param firstPage 是否是刷新的第一页，决定游标从0开始计算
+     */
+    private Single<List<Post>> visiblePosts(Session session, int cursor, boolean firstPage, int skipped) {
+        return source.fetch(cursor, pageSize)
+                .subscribeOn(ioScheduler)
+                .observeOn(computationScheduler)
+                .map(page -> {
+                    session.cursor = FeedPagination.nextOffset(cursor, page.getRawCount(), firstPage);
+                    session.hasMore = page.hasMore();
+                    return page;
+                })
+                .map(page -> key.filter(page.getPosts()))
+                .map(session::dedup)
+                .flatMap(posts -> posts.isEmpty() && session.hasMore && skipped < MAX_SKIPPED_PAGES
+                        ? visiblePosts(session, session.cursor, false, skipped + 1)
+                        : Single.just(posts));
+    }
+
+    /**
+     * 一次刷新开始的分页状态；页面逐个在computationScheduler上处理
+     */
+    private static final class Session {
+        volatile int cursor;
+        volatile boolean hasMore = true;
+        private final Set<String> seenPostIds = new HashSet<>();
+
+        List<Post> dedup(List<Post> posts) {
+            List<Post> unique = new ArrayList<>(posts.size());
+            for (Post post : posts) {
+                if (post.postId == null || post.postId.isEmpty() || seenPostIds.add(post.postId)) {
+                    unique.add(post);
+                }
+            }
+            return unique;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.limtide.ugclite.data.repository;
 
+import com.limtide.ugclite.data.model.ClipVisibilityPolicy;
 import com.limtide.ugclite.data.model.Post;
 
 import java.util.ArrayList;
@@ -29,7 +30,7 @@ final class FeedPostFilter {
         }
         List<Post.Clip> visibleClips = new ArrayList<>();
         for (Post.Clip clip : post.clips) {
-            if (clip != null && (clip.type == 0 || clip.type == 1)) {
+            if (clip != null && ClipVisibilityPolicy.IMAGE_AND_VIDEO.isVisible(clip.type)) {
                 visibleClips.add(clip);
             }
         }
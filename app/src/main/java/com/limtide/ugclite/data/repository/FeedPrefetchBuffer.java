@@ -0,0 +1,136 @@
+package com.limtide.ugclite.data.repository;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预取的后续分页，按cursor索引，最多缓存capacity页
+ * 同一时间只有一个预取请求；刷新时invalidate，之前发出的预取结果一律丢弃。
+ */
+final class FeedPrefetchBuffer {
+
+    static final class Page {
+        final int cursor;
+        final List<Post> posts;
+        final int rawCount;
+        final boolean hasMore;
+
+        Page(int cursor, List<Post> posts, int rawCount, boolean hasMore) {
+            this.cursor = cursor;
+            this.posts = posts;
+            this.rawCount = rawCount;
+            this.hasMore = hasMore;
+        }
+    }
+
+    static final class Reservation {
+        final int cursor;
+        final int count;
+
+        private Reservation(int cursor, int count) {
+            this.cursor = cursor;
+            this.count = count;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Integer, Page> pages = new HashMap<>();
+    private Reservation pending;
+    private int floor;
+    private int generation;
+
+    FeedPrefetchBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 从已发布的cursor开始，沿已缓存的页面找到下一个需要预取的cursor
+     * @return 预取占位；已有预取在进行、缓存已满或没有更多数据时返回null
+     */
+    synchronized Reservation reserve(int publishedCursor, boolean hasMore, int count) {
+        if (pending != null || !hasMore || pages.size() >= capacity) {
+            return null;
+        }
+        int cursor = Math.max(publishedCursor, floor);
+        Page page;
+        while ((page = pages.get(cursor)) != null) {
+            if (!page.hasMore || page.rawCount <= 0) {
+                return null;
+            }
+            cursor = FeedPagination.nextOffset(cursor, page.rawCount, false);
+        }
+        pending = new Reservation(cursor, count);
+        return pending;
+    }
+
+    /**
+     * 预取成功；占位已失效（刷新过）或该页已被前台加载消费时丢弃
+     * @return 占位是否仍有效，有效时可以继续预取下一页
+     */
+    synchronized boolean complete(Reservation reservation, List<Post> posts, int rawCount, boolean hasMore) {
+        if (reservation != pending) {
+            return false;
+        }
+        pending = null;
+        if (reservation.cursor >= floor && pages.size() < capacity) {
+            pages.put(reservation.cursor, new Page(reservation.cursor, posts, rawCount, hasMore));
+        }
+        return true;
+    }
+
+    /**
+     * @return cursor正在预取时返回预取请求的count，否则返回-1
+     */
+    synchronized int pendingCount(int cursor) {
+        return pending != null && pending.cursor == cursor ? pending.count : -1;
+    }
+
+    synchronized void fail(Reservation reservation) {
+        if (reservation == pending) {
+            pending = null;
+        }
+    }
+
+    synchronized Page take(int cursor) {
+        return pages.remove(cursor);
+    }
+
+    /**
+     * 前台已经发布到nextCursor，之前的页面不再需要
+     * @param generation 发布前读到的generation()；期间刷新过则忽略，不把旧游标带进新的分页
+     * @return generation是否仍有效，有效时可以继续预取
+     */
+    synchronized boolean advance(int nextCursor, int generation) {
+        if (generation != this.generation) {
+            return false;
+        }
+        floor = Math.max(floor, nextCursor);
+        pages.keySet().removeIf(cursor -> cursor < floor);
+        return true;
+    }
+
+    synchronized void invalidate() {
+        pages.clear();
+        pending = null;
+        floor = 0;
+        generation++;
+    }
+
+    /**
+     * 每次invalidate加一
+     */
+    synchronized int generation() {
+        return generation;
+    }
+
+    synchronized int size() {
+        return pages.size();
+    }
+
+    synchronized boolean isPrefetching() {
+        return pending != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.limtide.ugclite.data.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 按键缓存的状态表，超过上限时按最久未使用的顺序淘汰空闲的条目
+ * 仍在使用中的条目（正在加载或有观察者）不会被淘汰，因此条目数可能暂时超过上限。
+ */
+final class FeedRegistry<K, V> {
+
+    private final int maxEntries;
+    private final Function<K, V> factory;
+    private final Predicate<V> isIdle;
+    private final Consumer<V> onEvict;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    FeedRegistry(int maxEntries, Function<K, V> factory, Predicate<V> isIdle, Consumer<V> onEvict) {
+        this.maxEntries = maxEntries;
+        this.factory = factory;
+        this.isIdle = isIdle;
+        this.onEvict = onEvict;
+    }
+
+    /**
+     * 获取键对应的状态，不存在时创建，并标记为最近使用
+     */
+    V get(K key) {
+        V value;
+        List<V> evicted;
+        synchronized (this) {
+            value = entries.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = factory.apply(key);
+            entries.put(key, value);
+            evicted = evictIdle(key);
+        }
+        // 回调在锁外执行，避免淘汰时取消请求回调到注册表
+        for (V stale : evicted) {
+            onEvict.accept(stale);
+        }
+        return value;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private List<V> evictIdle(K keep) {
+        List<V> evicted = new ArrayList<>();
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Map.Entry<K, V> eldest = iterator.next();
+            if (!eldest.getKey().equals(keep) && isIdle.test(eldest.getValue())) {
+                iterator.remove();
+                evicted.add(eldest.getValue());
+            }
+        }
+        return evicted;
+    }
+}
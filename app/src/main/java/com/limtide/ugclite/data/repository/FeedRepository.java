@@ -1,161 +1,227 @@
 package com.limtide.ugclite.data.repository;
 
+import android.content.Context;
 import android.util.Log;
 
 import androidx.lifecycle.MutableLiveData;
 
 import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.database.AppDatabase;
 import com.limtide.ugclite.network.ApiService;
+import com.limtide.ugclite.network.FeedCall;
+import com.limtide.ugclite.network.PostJsonCodec;
+import com.limtide.ugclite.utils.LikeManager;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-
+/**
+ * Feed数据仓库
+ * 按FeedKey维护各自独立的分页状态（游标、加载闸门、预取和结果流），首页常驻，
+ * 其它Feed空闲时按最久未使用淘汰。首页走带快照和预取的FeedStream，其它Feed走FeedPipeline。
+ * 不带FeedKey的方法操作首页Feed。
+ */
 public class FeedRepository {
 
     private static final String TAG = "FeedRepository";
-    private static final int PAGE_SIZE = 20;
+    private static final int INITIAL_PAGE_SIZE = 20;
+    private static final int MIN_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final long TARGET_PAGE_MILLIS = 1000;
+    private static final int SNAPSHOT_PAGES = 3;
+    private static final int MAX_FEEDS = 4;
 
     private final ApiService apiService;
     private final ExecutorService executorService;
-
-    private final FeedLoadGate loadGate = new FeedLoadGate();
-    private final AtomicInteger currentCursor = new AtomicInteger(0);
-    private final AtomicBoolean hasMoreData = new AtomicBoolean(true);
-
-    private final MutableLiveData<FeedResult> feedResult = new MutableLiveData<>();
+    // 分页大小反映的是网络吞吐，各Feed共享
+    private final AdaptivePageSizer pageSizer =
+            new AdaptivePageSizer(MIN_PAGE_SIZE, MAX_PAGE_SIZE, INITIAL_PAGE_SIZE, TARGET_PAGE_MILLIS);
+    private final FeedSnapshotStore snapshotStore;
+    // 卡片布局预计算，为null时由界面在绑定时计算
+    private final CardLayoutPreparer layoutPreparer;
+    private final FeedRegistry<FeedKey, FeedSource> feeds;
+    // 首页常驻注册表，不会被淘汰
+    private final FeedStream homeFeed;
 
     private static volatile FeedRepository instance;
 
-    private FeedRepository() {
+    private FeedRepository(FeedSnapshotStore snapshotStore, CardLayoutPreparer layoutPreparer) {
         apiService = ApiService.getInstance();
         executorService = Executors.newSingleThreadExecutor();
+        this.snapshotStore = snapshotStore;
+        this.layoutPreparer = layoutPreparer;
+        // 首页立即创建，尽早在后台读出本地快照
+        homeFeed = new FeedStream(FeedKey.HOME, apiService, executorService, pageSizer, snapshotStore, layoutPreparer);
+        feeds = new FeedRegistry<>(MAX_FEEDS, this::createStream,
+                stream -> !stream.getKey().equals(FeedKey.HOME) && stream.isIdle(),
+                stream -> {
+                    Log.d(TAG, "淘汰空闲Feed: " + stream.getKey());
+                    stream.close();
+                });
+        feeds.get(FeedKey.HOME);
     }
 
     public static FeedRepository getInstance() {
         if (instance == null) {
             synchronized (FeedRepository.class) {
                 if (instance == null) {
-                    instance = new FeedRepository();
+                    instance = new FeedRepository(null, null);
                 }
             }
         }
         return instance;
     }
 
-    public boolean loadFeedData(boolean refresh) {
-        FeedLoadGate.Decision decision = loadGate.request(refresh);
-        if (decision == FeedLoadGate.Decision.REJECTED) {
-            Log.d(TAG, "数据正在加载中，跳过重复分页请求");
-            return false;
+    /**
+     * 在Application启动时初始化，启用首页Feed的本地快照
+     * 必须在ApiService.initialize之后、第一次getInstance()之前调用
+     */
+    public static void initialize(Context context) {
+        synchronized (FeedRepository.class) {
+            if (instance != null) {
+                Log.w(TAG, "FeedRepository已初始化，忽略重复初始化");
+                return;
+            }
+            AppDatabase database = AppDatabase.getDatabase(context);
+            LikeManager likeManager = LikeManager.getInstance(context);
+            CardLayoutPreparer layoutPreparer = new CardLayoutPreparer(
+                    context.getResources().getDisplayMetrics().density, likeManager::getBaseLikeCount);
+            instance = new FeedRepository(new FeedSnapshotStore(
+                    database.cachedPostDao(), new PostJsonCodec(), SNAPSHOT_PAGES), layoutPreparer);
         }
-        if (decision == FeedLoadGate.Decision.QUEUED) {
-            Log.d(TAG, "数据正在加载中，已排队刷新请求");
-            return true;
+    }
+
+    private FeedSource createStream(FeedKey key) {
+        Log.d(TAG, "创建Feed: " + key);
+        // 只有首页保存本地快照和预取，其它Feed的分页会话由管道管理
+        if (key.equals(FeedKey.HOME)) {
+            return homeFeed;
         }
+        return new PipelineFeedStream(key, newPipeline(key), AndroidSchedulers.mainThread());
+    }
 
-        executeFeedRequest(refresh);
-        return true;
+    public boolean loadFeedData(boolean refresh) {
+        return loadFeedData(FeedKey.HOME, refresh);
     }
 
-    private void executeFeedRequest(boolean refresh) {
-        if (refresh) {
-            currentCursor.set(0);
-            hasMoreData.set(true);
-            Log.d(TAG, "刷新数据，重置cursor");
-        }
+    public boolean loadFeedData(FeedKey key, boolean refresh) {
+        return feeds.get(key).loadFeedData(refresh);
+    }
 
+    public MutableLiveData<FeedResult> getFeedResult() {
+        return getFeedResult(FeedKey.HOME);
+    }
 
-        int cursor = currentCursor.get();
-        Log.d(TAG, "开始加载Feed数据，cursor: " + cursor + ", 数量: " + PAGE_SIZE);
+    public MutableLiveData<FeedResult> getFeedResult(FeedKey key) {
+        return feeds.get(key).getFeedResult();
+    }
 
-        apiService.getFeedData(PAGE_SIZE, false, cursor, new ApiService.FeedCallback() {
-            @Override
-            public void onSuccess(List<Post> posts, boolean hasMore) {
-                executorService.execute(() -> {
-                    try {
-                        int rawCount = posts == null ? 0 : posts.size();
-                        List<Post> filteredPosts = FeedPostFilter.visiblePosts(posts);
-
-
-                        currentCursor.set(FeedPagination.nextOffset(cursor, rawCount, refresh));
-
-                        hasMoreData.set(hasMore);
-
-                        FeedResult result = new FeedResult(
-                                true,
-                                null,
-                                filteredPosts,
-                                hasMore,
-                                refresh
-                        );
-
-                        Log.d(TAG, "Feed loaded - raw: " + rawCount
-                                + ", visible: " + filteredPosts.size()
-                                + ", hasMore: " + hasMore
-                                + ", cursor: " + currentCursor.get());
-                        finishRequest(() -> feedResult.postValue(result));
-                    } catch (Exception e) {
-                        Log.e(TAG, "处理数据时发生异常", e);
-                        handleError("数据处理异常: " + e.getMessage(), refresh);
-                    }
-                });
-            }
+    public boolean isLoading() {
+        return isLoading(FeedKey.HOME);
+    }
 
-            @Override
-            public void onError(String errorMessage) {
-                handleError(errorMessage, refresh);
-            }
-        });
+    public boolean isLoading(FeedKey key) {
+        return feeds.get(key).isLoading();
+    }
+
+    public boolean hasMoreData() {
+        return hasMoreData(FeedKey.HOME);
     }
 
+    public boolean hasMoreData(FeedKey key) {
+        return feeds.get(key).hasMoreData();
+    }
 
-    private void finishRequest(Runnable publisher) {
-        if (loadGate.complete(publisher)) {
-            executeFeedRequest(true);
-        }
+    /**
+     * 退出登录时调用，删除首页Feed的本地快照
+     */
+    public void clearSnapshot() {
+        homeFeed.clearSnapshot();
     }
 
-    private void handleError(String errorMessage, boolean refresh) {
-        FeedResult result = new FeedResult(
-                false,
-                errorMessage,
-                null,
-                false,
-                refresh
-        );
-        finishRequest(() -> feedResult.postValue(result));
-        Log.e(TAG, "数据加载失败: " + errorMessage);
+    /**
+     * 以Flowable形式订阅Feed，与LiveData形式的分页状态相互独立
+     * 每次refreshes发出元素都从第一页重新开始并取消进行中的请求；loadMores请求下一页。
+     * 取页在io线程，筛选和去重在computation线程，结果不指定观察线程。
+     */
+    public Flowable<FeedResult> feedResults(FeedKey key, Flowable<?> refreshes, Flowable<?> loadMores) {
+        return newPipeline(key).results(refreshes, loadMores);
     }
 
-    public MutableLiveData<FeedResult> getFeedResult() {
-        return feedResult;
+    private FeedPipeline newPipeline(FeedKey key) {
+        return new FeedPipeline(key,
+                (cursor, count) -> apiService.getFeedPage(count, false, cursor),
+                Schedulers.io(), Schedulers.computation(), pageSizer.currentSize(), layoutPreparer);
     }
 
-    public boolean isLoading() {
-        return loadGate.isActive();
+    /**
+     * 为从磁盘等其它来源重新得到的作品计算卡片布局信息，需要在后台线程调用
+     */
+    public void prepareCardLayouts(List<Post> posts) {
+        if (layoutPreparer != null) {
+            layoutPreparer.prepare(posts);
+        }
     }
 
-    public boolean hasMoreData() {
-        return hasMoreData.get();
+    /**
+     * 重新请求[cursor, nextCursor)范围内的原始作品，用于磁盘缓存丢失后恢复换出的分页
+     * 之后插入的新作品会把原作品往后推，所以多请求一倍作为余量；回调在后台线程，作品已计算卡片布局
+     */
+    public FeedCall reloadRange(int cursor, int nextCursor, ApiService.FeedCallback callback) {
+        int count = Math.max(1, nextCursor - cursor) * 2;
+        Log.d(TAG, "重新请求分页范围，cursor: " + cursor + ", 数量: " + count);
+        return apiService.getFeedData(count, false, cursor, new ApiService.FeedCallback() {
+            @Override
+            public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                prepareCardLayouts(posts);
+                callback.onSuccess(posts, rawCount, hasMore);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * 当前自适应选择的每页请求数量，用于诊断
+     */
+    public int getCurrentPageSize() {
+        return pageSizer.currentSize();
     }
 
     public static class FeedResult {
+        public static final int NO_CURSOR = -1;
+
         private final boolean success;
         private final String errorMessage;
         private final List<Post> posts;
         private final boolean hasMore;
         private final boolean isRefresh;
+        private final boolean fromSnapshot;
+        private final int cursor;
+        private final int nextCursor;
 
         public FeedResult(boolean success, String errorMessage, List<Post> posts, boolean hasMore, boolean isRefresh) {
+            this(success, errorMessage, posts, hasMore, isRefresh, false, NO_CURSOR, NO_CURSOR);
+        }
+
+        public FeedResult(boolean success, String errorMessage, List<Post> posts, boolean hasMore,
+                          boolean isRefresh, boolean fromSnapshot, int cursor, int nextCursor) {
             this.success = success;
             this.errorMessage = errorMessage;
             this.posts = posts;
             this.hasMore = hasMore;
             this.isRefresh = isRefresh;
+            this.fromSnapshot = fromSnapshot;
+            this.cursor = cursor;
+            this.nextCursor = nextCursor;
         }
 
         public boolean isSuccess() {
@@ -177,5 +243,26 @@ public class FeedRepository {
         public boolean isRefresh() {
             return isRefresh;
         }
+
+        /**
+         * 是否为冷启动时的本地快照，网络刷新仍在进行
+         */
+        public boolean isFromSnapshot() {
+            return fromSnapshot;
+        }
+
+        /**
+         * 这批作品在服务端的起始游标，未知时为NO_CURSOR
+         */
+        public int getCursor() {
+            return cursor;
+        }
+
+        /**
+         * 这批作品之后的游标，[cursor, nextCursor)是它们所在的原始范围
+         */
+        public int getNextCursor() {
+            return nextCursor;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.limtide.ugclite.data.repository;
+
+import android.util.Log;
+
+import com.google.gson.JsonParseException;
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.database.dao.CachedPostDao;
+import com.limtide.ugclite.database.entity.CachedPost;
+import com.limtide.ugclite.network.PostJsonCodec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Feed前几页的本地快照，冷启动时先展示快照再等待网络刷新
+ * 刷新成功时用首页整体替换快照，之后的加载更多追加到快照，最多保存maxPages页。
+ * 与界面一样按postId去重后保存，冷启动展示的快照不会出现重复作品。
+ * 所有方法都会访问数据库，只能在后台线程调用。
+ */
+final class FeedSnapshotStore {
+
+    private static final String TAG = "FeedSnapshotStore";
+
+    static final class Snapshot {
+        final List<Post> posts;
+        final int nextCursor;
+        final boolean hasMore;
+
+        Snapshot(List<Post> posts, int nextCursor, boolean hasMore) {
+            this.posts = posts;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+    }
+
+    private final CachedPostDao dao;
+    private final PostJsonCodec codec;
+    private final int maxPages;
+
+    FeedSnapshotStore(CachedPostDao dao, PostJsonCodec codec, int maxPages) {
+        this.dao = dao;
+        this.codec = codec;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * @return 上次保存的快照，没有快照时返回null
+     */
+    Snapshot load() {
+        List<CachedPost> rows = dao.getAll();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<Post> posts = new ArrayList<>(rows.size());
+        for (CachedPost row : rows) {
+            try {
+                posts.add(codec.decode(row.getJson()));
+            } catch (JsonParseException e) {
+                Log.w(TAG, "跳过无法解析的快照作品: " + row.getPostId());
+            }
+        }
+        CachedPost last = rows.get(rows.size() - 1);
+        return new Snapshot(posts, last.getNextCursor(), last.isHasMore());
+    }
+
+    /**
+     * 保存一页已发布的数据
+     * 刷新页替换整个快照；加载更多的页去掉快照中已有的作品后追加在后面，
+     * 超过maxPages页、快照为空或整页都重复时不保存。
+     */
+    void savePage(List<Post> posts, int nextCursor, boolean hasMore, boolean refresh) {
+        long now = System.currentTimeMillis();
+        if (refresh) {
+            dao.replaceAll(toRows(distinct(posts, new HashSet<>()), 0, 0, nextCursor, hasMore, now));
+            return;
+        }
+        if (posts.isEmpty()) {
+            return;
+        }
+        int page = dao.getPageCount();
+        // 快照为空说明首页还没保存，单独保存后续页没有意义
+        if (page == 0 || page >= maxPages) {
+            return;
+        }
+        List<Post> fresh = distinct(posts, new HashSet<>(dao.getPostIds()));
+        if (fresh.isEmpty()) {
+            return;
+        }
+        dao.insertAll(toRows(fresh, dao.getCount(), page, nextCursor, hasMore, now));
+    }
+
+    void clear() {
+        dao.deleteAll();
+    }
+
+    /**
+     * 去掉postId已在seen中或在本页重复出现的作品，没有postId的作品无法判重，总是保留
+     */
+    private static List<Post> distinct(List<Post> posts, Set<String> seen) {
+        List<Post> result = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (post.postId == null || post.postId.isEmpty() || seen.add(post.postId)) {
+                result.add(post);
+            }
+        }
+        return result;
+    }
+
+    private List<CachedPost> toRows(List<Post> posts, int firstPosition, int page,
+                                    int nextCursor, boolean hasMore, long savedAt) {
+        List<CachedPost> rows = new ArrayList<>(posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            String postId = post.postId != null ? post.postId : "";
+            rows.add(new CachedPost(firstPosition + i, page, postId, codec.encode(post),
+                    nextCursor, hasMore, savedAt));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,35 @@
+package com.limtide.ugclite.data.repository;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+
+/**
+ * FeedRepository按FeedKey登记的单个Feed：分页加载和结果流
+ * 首页由带本地快照和预取的FeedStream提供，其它Feed由RxJava管道驱动的PipelineFeedStream提供。
+ */
+interface FeedSource {
+
+    FeedKey getKey();
+
+    /**
+     * @return 是否发起或合并了本次加载
+     */
+    boolean loadFeedData(boolean refresh);
+
+    MutableLiveData<FeedResult> getFeedResult();
+
+    boolean isLoading();
+
+    boolean hasMoreData();
+
+    /**
+     * 没有正在进行的加载，也没有界面在观察结果时可以被淘汰
+     */
+    boolean isIdle();
+
+    /**
+     * 从注册表淘汰时释放进行中的请求
+     */
+    void close();
+}
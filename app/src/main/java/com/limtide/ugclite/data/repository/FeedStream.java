@@ -0,0 +1,372 @@
+package com.limtide.ugclite.data.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+import com.limtide.ugclite.network.ApiService;
+import com.limtide.ugclite.network.FeedCall;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个Feed的分页状态：游标、加载闸门、预取缓存和结果流
+ * 由FeedRepository按FeedKey创建和淘汰；网络、后台线程和分页大小在各Feed之间共享。
+ */
+final class FeedStream implements FeedSource {
+
+    private static final String TAG = "FeedStream";
+    private static final int PREFETCH_PAGES = 2;
+
+    private final FeedKey key;
+    private final ApiService apiService;
+    private final ExecutorService executorService;
+    private final AdaptivePageSizer pageSizer;
+
+    private final FeedLoadGate loadGate = new FeedLoadGate();
+    private final AtomicInteger currentCursor = new AtomicInteger(0);
+    private final AtomicBoolean hasMoreData = new AtomicBoolean(true);
+    private final FeedPrefetchBuffer prefetchBuffer = new FeedPrefetchBuffer(PREFETCH_PAGES);
+    private volatile FeedCall prefetchCall;
+
+    // 本地快照，为null时不做离线展示；只在executorService线程访问
+    private final FeedSnapshotStore snapshotStore;
+    private final AtomicBoolean snapshotPublished = new AtomicBoolean(false);
+    private FeedSnapshotStore.Snapshot restoredSnapshot;
+    // 已展示但尚未被网络首页取代的快照，刷新失败时沿用它的分页状态
+    private FeedSnapshotStore.Snapshot shownSnapshot;
+
+    private final MutableLiveData<FeedResult> feedResult = new MutableLiveData<>();
+    // 卡片布局预计算，为null时不计算
+    private final CardLayoutPreparer layoutPreparer;
+
+    FeedStream(FeedKey key, ApiService apiService, ExecutorService executorService,
+               AdaptivePageSizer pageSizer, FeedSnapshotStore snapshotStore,
+               CardLayoutPreparer layoutPreparer) {
+        this.key = key;
+        this.apiService = apiService;
+        this.executorService = executorService;
+        this.pageSizer = pageSizer;
+        this.snapshotStore = snapshotStore;
+        this.layoutPreparer = layoutPreparer;
+        if (snapshotStore != null) {
+            // 提前在后台读出快照，首次刷新时可以立即发布
+            executorService.execute(this::restoreSnapshot);
+        }
+    }
+
+    @Override
+    public boolean loadFeedData(boolean refresh) {
+        FeedLoadGate.Ticket ticket = loadGate.request(refresh);
+        switch (ticket.decision) {
+            case REJECTED:
+                Log.d(TAG, "数据正在加载中，跳过重复分页请求");
+                return false;
+            case JOINED:
+                Log.d(TAG, "刷新正在进行，合并本次刷新请求");
+                return true;
+            case PREEMPTED:
+                Log.d(TAG, "刷新抢占进行中的加载更多");
+                break;
+            default:
+                break;
+        }
+
+        executeFeedRequest(ticket.token, refresh);
+        return true;
+    }
+
+    private void executeFeedRequest(long token, boolean refresh) {
+        if (refresh) {
+            currentCursor.set(0);
+            hasMoreData.set(true);
+            invalidatePrefetch();
+            Log.d(TAG, "刷新数据，重置cursor");
+            if (snapshotStore != null && snapshotPublished.compareAndSet(false, true)) {
+                executorService.execute(this::publishSnapshot);
+            }
+        }
+
+
+        int cursor = currentCursor.get();
+        if (!refresh) {
+            FeedPrefetchBuffer.Page prefetched = prefetchBuffer.take(cursor);
+            if (prefetched != null) {
+                Log.d(TAG, "使用预取的分页，cursor: " + cursor);
+                executorService.execute(() -> publishPage(
+                        token, cursor, prefetched.posts, prefetched.rawCount, prefetched.hasMore, false));
+                return;
+            }
+        }
+        // 该页正在预取时沿用预取的count，使两次请求在ApiService中合并
+        int prefetchingCount = prefetchBuffer.pendingCount(cursor);
+        int pageSize = prefetchingCount > 0 ? prefetchingCount : pageSizer.currentSize();
+        Log.d(TAG, "开始加载Feed数据，cursor: " + cursor + ", 数量: " + pageSize);
+
+        FeedCall call = apiService.getFeedData(pageSize, false, cursor, new MeasuredCallback() {
+            @Override
+            public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                recordTransfer(rawCount);
+                executorService.execute(() -> publishPage(token, cursor, posts, rawCount, hasMore, refresh));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                handleError(token, errorMessage, refresh);
+            }
+        });
+        // 被抢占的加载更多，取消它的网络调用
+        loadGate.attach(token, call);
+    }
+
+    private void publishPage(long token, int cursor, List<Post> posts, int rawCount,
+                             boolean hasMore, boolean refresh) {
+        if (!loadGate.isCurrent(token)) {
+            Log.d(TAG, "丢弃被刷新抢占的分页，cursor: " + cursor);
+            return;
+        }
+        try {
+            // 解析阶段已过滤不可展示的片段和作品，这里只按Feed条件筛选
+            List<Post> filteredPosts = key.filter(posts);
+            prepareLayouts(filteredPosts);
+
+            int nextCursor = FeedPagination.nextOffset(cursor, rawCount, refresh);
+
+            FeedResult result = new FeedResult(
+                    true,
+                    null,
+                    filteredPosts,
+                    hasMore,
+                    refresh,
+                    false,
+                    refresh ? 0 : cursor,
+                    nextCursor
+            );
+
+            Log.d(TAG, "Feed loaded - " + key + ", raw: " + rawCount
+                    + ", visible: " + filteredPosts.size()
+                    + ", hasMore: " + hasMore
+                    + ", cursor: " + nextCursor);
+            int prefetchGeneration = prefetchBuffer.generation();
+            // 分页状态在闸门内更新，与刷新的抢占互斥；被抢占的结果不会改动游标
+            // 闸门内只改游标、hasMore和结果，预取缓存和网络请求放到闸门外，避免持锁发请求和锁顺序反转
+            boolean published = loadGate.complete(token, () -> {
+                currentCursor.set(nextCursor);
+                hasMoreData.set(hasMore);
+                if (refresh) {
+                    shownSnapshot = null;
+                }
+                feedResult.postValue(result);
+            });
+            if (published) {
+                // 只保存真正发布的分页，被抢占的分页不能覆盖新刷新的快照
+                saveSnapshot(filteredPosts, nextCursor, hasMore, refresh);
+                // 发布后刷新已经开始时，旧游标不再推进预取缓存
+                if (prefetchBuffer.advance(nextCursor, prefetchGeneration)) {
+                    schedulePrefetch();
+                }
+            } else {
+                Log.d(TAG, "丢弃被刷新抢占的分页，cursor: " + cursor);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "处理数据时发生异常", e);
+            handleError(token, "数据处理异常: " + e.getMessage(), refresh);
+        }
+    }
+
+    private void restoreSnapshot() {
+        try {
+            restoredSnapshot = snapshotStore.load();
+            Log.d(TAG, "读取Feed快照: " + (restoredSnapshot == null ? 0 : restoredSnapshot.posts.size()));
+        } catch (Exception e) {
+            Log.e(TAG, "读取Feed快照失败", e);
+        }
+    }
+
+    /**
+     * 冷启动首次刷新时先发布本地快照，网络首页到达后再整体替换
+     * 与网络结果在同一个单线程executor上发布，快照一定先于首页
+     */
+    private void publishSnapshot() {
+        FeedSnapshotStore.Snapshot snapshot = restoredSnapshot;
+        restoredSnapshot = null;
+        if (snapshot == null || snapshot.posts.isEmpty()) {
+            return;
+        }
+        shownSnapshot = snapshot;
+        prepareLayouts(snapshot.posts);
+        Log.d(TAG, "发布Feed快照，数量: " + snapshot.posts.size());
+        feedResult.postValue(new FeedResult(
+                true, null, snapshot.posts, snapshot.hasMore, true, true, 0, snapshot.nextCursor));
+    }
+
+    /**
+     * 删除本地快照，退出登录后下次冷启动不再展示上一个用户的Feed
+     */
+    void clearSnapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        executorService.execute(() -> {
+            restoredSnapshot = null;
+            try {
+                snapshotStore.clear();
+                Log.d(TAG, "已删除Feed快照");
+            } catch (Exception e) {
+                Log.e(TAG, "删除Feed快照失败", e);
+            }
+        });
+    }
+
+    private void prepareLayouts(List<Post> posts) {
+        if (layoutPreparer != null) {
+            layoutPreparer.prepare(posts);
+        }
+    }
+
+    private void saveSnapshot(List<Post> posts, int nextCursor, boolean hasMore, boolean refresh) {
+        if (snapshotStore == null) {
+            return;
+        }
+        try {
+            snapshotStore.savePage(posts, nextCursor, hasMore, refresh);
+        } catch (Exception e) {
+            Log.e(TAG, "保存Feed快照失败", e);
+        }
+    }
+
+    /**
+     * 后台预取后续分页，直到缓存满PREFETCH_PAGES页或没有更多数据
+     * 与前台相同参数的请求会在ApiService中合并为同一个网络调用
+     */
+    private void schedulePrefetch() {
+        FeedPrefetchBuffer.Reservation reservation = prefetchBuffer.reserve(
+                currentCursor.get(), hasMoreData.get(), pageSizer.currentSize());
+        if (reservation == null) {
+            return;
+        }
+        Log.d(TAG, "预取下一页，cursor: " + reservation.cursor + ", 数量: " + reservation.count);
+        prefetchCall = apiService.getFeedData(reservation.count, false, reservation.cursor,
+                new MeasuredCallback() {
+                    @Override
+                    public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                        recordTransfer(rawCount);
+                        executorService.execute(() -> {
+                            List<Post> safePosts = posts == null ? new ArrayList<>() : posts;
+                            if (prefetchBuffer.complete(reservation, safePosts, rawCount, hasMore)) {
+                                schedulePrefetch();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        // 预取失败不影响界面，下一次加载更多时走正常请求
+                        Log.w(TAG, "预取失败，cursor: " + reservation.cursor + ", " + errorMessage);
+                        prefetchBuffer.fail(reservation);
+                    }
+                });
+    }
+
+    /**
+     * 记录走网络的请求耗时和字节数，驱动分页大小自适应
+     * 前台加载和预取合并时只有一方收到onTransfer，每次网络传输只记录一次
+     */
+    private abstract class MeasuredCallback implements ApiService.FeedCallback {
+        private long elapsedMillis = -1;
+        private long bodyBytes;
+
+        @Override
+        public void onTransfer(long elapsedMillis, long bodyBytes) {
+            this.elapsedMillis = elapsedMillis;
+            this.bodyBytes = bodyBytes;
+        }
+
+        void recordTransfer(int rawCount) {
+            if (elapsedMillis >= 0) {
+                pageSizer.record(rawCount, elapsedMillis, bodyBytes);
+                Log.d(TAG, "分页大小: " + pageSizer);
+            }
+        }
+    }
+
+    private void invalidatePrefetch() {
+        prefetchBuffer.invalidate();
+        FeedCall call = prefetchCall;
+        prefetchCall = null;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    private void handleError(long token, String errorMessage, boolean refresh) {
+        if (refresh && snapshotStore != null) {
+            // 在executor上处理，保证能看到已发布的快照
+            executorService.execute(() -> {
+                FeedSnapshotStore.Snapshot snapshot = shownSnapshot;
+                if (snapshot != null) {
+                    // 界面仍在展示快照，从快照末尾继续加载更多
+                    currentCursor.set(snapshot.nextCursor);
+                    hasMoreData.set(snapshot.hasMore);
+                    shownSnapshot = null;
+                    Log.d(TAG, "刷新失败，沿用快照分页状态，cursor: " + snapshot.nextCursor);
+                }
+                publishError(token, errorMessage, refresh);
+            });
+            return;
+        }
+        publishError(token, errorMessage, refresh);
+    }
+
+    private void publishError(long token, String errorMessage, boolean refresh) {
+        FeedResult result = new FeedResult(
+                false,
+                errorMessage,
+                null,
+                false,
+                refresh
+        );
+        if (loadGate.complete(token, () -> feedResult.postValue(result))) {
+            Log.e(TAG, "数据加载失败: " + errorMessage);
+        }
+    }
+
+    @Override
+    public FeedKey getKey() {
+        return key;
+    }
+
+    @Override
+    public MutableLiveData<FeedResult> getFeedResult() {
+        return feedResult;
+    }
+
+    @Override
+    public boolean isLoading() {
+        return loadGate.isActive();
+    }
+
+    @Override
+    public boolean hasMoreData() {
+        return hasMoreData.get();
+    }
+
+    @Override
+    public boolean isIdle() {
+        return !loadGate.isActive() && !feedResult.hasObservers();
+    }
+
+    /**
+     * 从注册表淘汰时取消预取
+     */
+    @Override
+    public void close() {
+        invalidatePrefetch();
+    }
+}
@@ -0,0 +1,106 @@
+package com.limtide.ugclite.data.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.MutableLiveData;
+
+import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+
+/**
+ * 由FeedPipeline驱动的Feed，用于话题、作者等不保存本地快照的Feed
+ * 刷新和加载更多转成管道的输入事件：刷新取消进行中的请求，加载更多逐页串行；
+ * 结果在deliveryScheduler（主线程）上逐个setValue，不会像postValue那样合并掉分页。
+ * 加载方法和结果回调都在主线程，状态字段只在主线程写入。
+ */
+final class PipelineFeedStream implements FeedSource {
+
+    private static final String TAG = "PipelineFeedStream";
+
+    private final FeedKey key;
+    private final PublishProcessor<Object> refreshes = PublishProcessor.create();
+    private final PublishProcessor<Object> loadMores = PublishProcessor.create();
+    private final MutableLiveData<FeedResult> feedResult = new MutableLiveData<>();
+    private final Disposable subscription;
+
+    private volatile boolean loading;
+    private volatile boolean refreshing;
+    // 首页成功之后才有分页会话，在此之前的加载更多没有游标可用
+    private volatile boolean sessionStarted;
+    private volatile boolean hasMoreData = true;
+
+    PipelineFeedStream(FeedKey key, FeedPipeline pipeline, Scheduler deliveryScheduler) {
+        this.key = key;
+        subscription = pipeline.results(refreshes, loadMores)
+                .observeOn(deliveryScheduler)
+                .subscribe(this::publish, error -> Log.e(TAG, "Feed管道异常结束: " + key, error));
+    }
+
+    @Override
+    public FeedKey getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean loadFeedData(boolean refresh) {
+        if (refresh) {
+            if (refreshing) {
+                Log.d(TAG, "刷新正在进行，合并本次刷新请求");
+                return true;
+            }
+            refreshing = true;
+            loading = true;
+            refreshes.onNext(Boolean.TRUE);
+            return true;
+        }
+        if (loading || !sessionStarted || !hasMoreData) {
+            Log.d(TAG, "跳过加载更多，loading: " + loading + ", hasMore: " + hasMoreData);
+            return false;
+        }
+        loading = true;
+        loadMores.onNext(Boolean.TRUE);
+        return true;
+    }
+
+    private void publish(FeedResult result) {
+        loading = false;
+        if (result.isRefresh()) {
+            refreshing = false;
+            sessionStarted = result.isSuccess();
+        }
+        if (result.isSuccess()) {
+            hasMoreData = result.hasMore();
+        }
+        Log.d(TAG, "Feed loaded - " + key + ", success: " + result.isSuccess()
+                + ", refresh: " + result.isRefresh() + ", hasMore: " + hasMoreData);
+        feedResult.setValue(result);
+    }
+
+    @Override
+    public MutableLiveData<FeedResult> getFeedResult() {
+        return feedResult;
+    }
+
+    @Override
+    public boolean isLoading() {
+        return loading;
+    }
+
+    @Override
+    public boolean hasMoreData() {
+        return hasMoreData;
+    }
+
+    @Override
+    public boolean isIdle() {
+        return !loading && !feedResult.hasObservers();
+    }
+
+    @Override
+    public void close() {
+        subscription.dispose();
+    }
+}
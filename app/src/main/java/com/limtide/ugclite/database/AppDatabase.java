@@ -10,7 +10,9 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import android.content.Context;
 
+import com.limtide.ugclite.database.dao.CachedPostDao;
 import com.limtide.ugclite.database.dao.UserDao;
+import com.limtide.ugclite.database.entity.CachedPost;
 import com.limtide.ugclite.database.entity.User;
 
 /**
@@ -18,8 +20,8 @@ import com.limtide.ugclite.database.entity.User;
  * 使用Room数据库管理应用数据
  */
 @Database(
-    entities = {User.class},
-    version = 2,
+    entities = {User.class, CachedPost.class},
+    version = 3,
     exportSchema = false
 )
 @TypeConverters({})
@@ -30,6 +32,11 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     public abstract UserDao userDao();
 
+    /**
+     * 获取Feed快照数据访问对象
+     */
+    public abstract CachedPostDao cachedPostDao();
+
     // 数据库名称
     private static final String DATABASE_NAME = "ugclite_database";
 
@@ -43,6 +50,21 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     };
 
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `posts` ("
+                    + "`position` INTEGER NOT NULL, "
+                    + "`page` INTEGER NOT NULL, "
+                    + "`postId` TEXT NOT NULL, "
+                    + "`json` TEXT NOT NULL, "
+                    + "`nextCursor` INTEGER NOT NULL, "
+                    + "`hasMore` INTEGER NOT NULL, "
+                    + "`savedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`position`))");
+        }
+    };
+
     /**
      * 获取数据库实例（单例模式）
      */
@@ -54,7 +76,7 @@ public abstract class AppDatabase extends RoomDatabase {
                             context.getApplicationContext(),
                             AppDatabase.class,
                             DATABASE_NAME)
-                            .addMigrations(MIGRATION_1_2)
+                            .addMigrations(MIGRATION_1_2, MIGRATION_2_3)
                             .addCallback(new RoomDatabase.Callback() {
                                 @Override
                                 public void onCreate(SupportSQLiteDatabase db) {
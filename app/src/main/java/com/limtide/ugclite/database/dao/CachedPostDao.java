@@ -0,0 +1,63 @@
+package com.limtide.ugclite.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.limtide.ugclite.database.entity.CachedPost;
+
+import java.util.List;
+
+/**
+ * Feed快照数据访问对象
+ */
+@Dao
+public interface CachedPostDao {
+
+    /**
+     * 按Feed顺序读取快照
+     */
+    @Query("SELECT * FROM posts ORDER BY position")
+    List<CachedPost> getAll();
+
+    /**
+     * 追加快照行（位置已存在则替换）
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<CachedPost> posts);
+
+    /**
+     * 快照中的作品数
+     */
+    @Query("SELECT COUNT(*) FROM posts")
+    int getCount();
+
+    /**
+     * 快照中作品的postId
+     */
+    @Query("SELECT postId FROM posts")
+    List<String> getPostIds();
+
+    /**
+     * 快照中的分页数
+     */
+    @Query("SELECT COALESCE(MAX(page) + 1, 0) FROM posts")
+    int getPageCount();
+
+    /**
+     * 清空快照
+     */
+    @Query("DELETE FROM posts")
+    void deleteAll();
+
+    /**
+     * 用新的首页整体替换快照
+     */
+    @Transaction
+    default void replaceAll(List<CachedPost> posts) {
+        deleteAll();
+        insertAll(posts);
+    }
+}
@@ -0,0 +1,105 @@
+package com.limtide.ugclite.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * Feed快照中的一条作品
+ * 冷启动时先展示上次保存的前几页，作品内容以JSON保存；
+ * nextCursor和hasMore记录该作品所在分页加载完成后的分页状态，快照的分页状态取最后一行。
+ */
+@Entity(tableName = "posts")
+public class CachedPost {
+
+    @PrimaryKey
+    private int position; // 在Feed中的位置，从0开始
+
+    private int page; // 所在分页序号，从0开始
+
+    @NonNull
+    private String postId;
+
+    @NonNull
+    private String json; // 作品JSON
+
+    private int nextCursor; // 该页之后的分页游标
+    private boolean hasMore; // 该页之后是否还有数据
+    private long savedAt; // 保存时间
+
+    public CachedPost() {
+        this.postId = "";
+        this.json = "";
+    }
+
+    @Ignore
+    public CachedPost(int position, int page, @NonNull String postId, @NonNull String json,
+                      int nextCursor, boolean hasMore, long savedAt) {
+        this.position = position;
+        this.page = page;
+        this.postId = postId;
+        this.json = json;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.savedAt = savedAt;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    @NonNull
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(@NonNull String postId) {
+        this.postId = postId;
+    }
+
+    @NonNull
+    public String getJson() {
+        return json;
+    }
+
+    public void setJson(@NonNull String json) {
+        this.json = json;
+    }
+
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(int nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public void setSavedAt(long savedAt) {
+        this.savedAt = savedAt;
+    }
+}
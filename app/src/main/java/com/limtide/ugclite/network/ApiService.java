@@ -1,25 +1,39 @@
 package com.limtide.ugclite.network;
 
+import android.content.Context;
 import android.util.Log;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.ClipVisibilityPolicy;
 import com.limtide.ugclite.data.model.Post;
 
+import io.reactivex.rxjava3.core.Single;
+
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.CacheControl;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.FormBody;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
 
 /**
  * API服务类 - 处理网络请求
@@ -29,11 +43,34 @@ public class ApiService {
 
     private static final String TAG = "ApiService";
     private static final String BASE_URL = "https://www.yeduguzhou.com/api/";
-    private static final int CONNECT_TIMEOUT = 15; // 连接超时15秒
-    private static final int READ_TIMEOUT = 30;    // 读取超时30秒
+    private static final CacheControl REVALIDATE_CACHE_CONTROL = new CacheControl.Builder()
+            .maxAge(0, TimeUnit.SECONDS)
+            .build();
+
+    private static final String HTTP_CACHE_DIR = "http_feed_cache";
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024; // 磁盘缓存上限10MB
+
+    private static final int RETRY_BUDGET_TOKENS = 10;     // 最多积攒10个重试令牌
+    private static final double RETRY_TOKEN_RATIO = 0.1;   // 每10次成功换1次重试
+    private static final int LATENCY_WINDOW_SIZE = 64;
+    private static final int HEDGE_MIN_SAMPLES = 20;       // 样本足够后才计算p95对冲阈值
+    private static final double HEDGE_QUANTILE = 0.95;
+    private static final int TIMING_BUFFER_SIZE = 256;     // 保留最近256次调用的分阶段耗时
+    private static final String TIMING_DUMP_FILE = "network_timings.csv";
 
     private OkHttpClient okHttpClient;
     private Gson gson;
+    private FeedPageParser feedPageParser;
+    private final HttpUrl baseUrl;
+    private final FeedCacheStats cacheStats = new FeedCacheStats();
+    private final FeedCallCoalescer coalescer = new FeedCallCoalescer();
+    private final RetryBudget retryBudget = new RetryBudget(RETRY_BUDGET_TOKENS, RETRY_TOKEN_RATIO);
+    private final LatencyWindow latencyWindow = new LatencyWindow(LATENCY_WINDOW_SIZE, HEDGE_MIN_SAMPLES);
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private final CallTimingRecorder callTimings = new CallTimingRecorder(TIMING_BUFFER_SIZE);
+    private final TimingEventListener.Factory timingListeners = new TimingEventListener.Factory(callTimings);
+    private ScheduledExecutorService retryScheduler;
+    private volatile FeedCacheMode cacheMode = FeedCacheMode.REVALIDATE;
     private static volatile ApiService instance;
 
 
@@ -45,45 +82,185 @@ public class ApiService {
         if (instance == null) {
             synchronized (ApiService.class) {
                 if (instance == null) {
-                    instance = new ApiService();
+                    instance = new ApiService(null);
                 }
             }
         }
         return instance;
     }
 
+    /**
+     * 在Application启动时初始化，启用Feed请求的磁盘HTTP缓存
+     * 必须在第一次getInstance()之前调用，否则实例不带缓存
+     */
+    public static void initialize(Context context) {
+        synchronized (ApiService.class) {
+            if (instance != null) {
+                Log.w(TAG, "ApiService已初始化，忽略重复初始化");
+                return;
+            }
+            instance = new ApiService(new File(context.getApplicationContext().getCacheDir(), HTTP_CACHE_DIR));
+        }
+    }
+
     /**
      * 私有构造函数
      */
-    private ApiService() {
-        // 初始化OkHttpClient
-        okHttpClient = new OkHttpClient.Builder()
-                .connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS)//连接超时时间
-                .readTimeout(READ_TIMEOUT, TimeUnit.SECONDS)//读取超时时间
-                .retryOnConnectionFailure(true)//失败重试
+    private ApiService(File cacheDir) {
+        this(buildClient(cacheDir), HttpUrl.get(BASE_URL));
+    }
+
+    ApiService(OkHttpClient okHttpClient, HttpUrl baseUrl) {
+        // 派生的客户端共享连接池和缓存，只额外挂上分阶段计时
+        this.okHttpClient = okHttpClient.newBuilder()
+                .eventListenerFactory(timingListeners)
                 .build();
+        this.baseUrl = baseUrl;
 
-        // 初始化Gson
+        // 初始化Gson，Post相关类型使用手写TypeAdapter，避免反射解析；
+        // 解析时只保留图片和视频片段，省去仓库层的二次过滤
         gson = new GsonBuilder()
                 .setDateFormat("yyyy-MM-dd HH:mm:ss")
+                .registerTypeAdapterFactory(
+                        new FeedTypeAdapterFactory(ClipVisibilityPolicy.IMAGE_AND_VIDEO))
                 .create();
+        feedPageParser = new FeedPageParser(gson);
+    }
+
+    static OkHttpClient buildClient(File cacheDir) {
+        // 从共享客户端派生：复用连接池、DNS缓存和超时配置；
+        // 使用独立的调度器，cancelAllRequests只取消Feed请求，不影响图片和音乐下载
+        OkHttpClient.Builder builder = SharedHttpClient.get().newBuilder()
+                .dispatcher(new Dispatcher());
+        if (cacheDir != null) {
+            builder.cache(new Cache(cacheDir, HTTP_CACHE_SIZE));//有界磁盘缓存
+        }
+        return builder.build();
     }
 
+    /**
+     * 预先建立到API域名的连接（DNS + TCP + TLS），让第一次Feed请求直接复用
+     * 发送一个不走缓存的HEAD请求，结果忽略
+     */
+    public void prewarmConnection() {
+        Request request = new Request.Builder()
+                .url(baseUrl)
+                .head()
+                .cacheControl(CacheControl.FORCE_NETWORK)
+                .addHeader("User-Agent", "UGCLite-Android/1.0")
+                .build();
+        okHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "预连接失败: " + e.getMessage());
+            }
 
+            @Override
+            public void onResponse(Call call, Response response) {
+                Log.d(TAG, "预连接完成，协议: " + response.protocol());
+                response.close();
+            }
+        });
+    }
+
+    /**
+     * 设置Feed GET请求默认的缓存模式
+     */
+    public void setCacheMode(FeedCacheMode cacheMode) {
+        this.cacheMode = cacheMode == null ? FeedCacheMode.REVALIDATE : cacheMode;
+    }
+
+    /**
+     * 设置Feed GET请求的重试策略，传null等同于RetryPolicy.NONE
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy == null ? RetryPolicy.NONE : retryPolicy;
+    }
+
+    /**
+     * 获取最近HTTP调用的分阶段耗时（DNS/连接/TLS/首字节/响应体/解析）
+     */
+    public CallTimingRecorder getCallTimings() {
+        return callTimings;
+    }
+
+    /**
+     * 把最近的分阶段耗时导出到应用私有目录，便于现场排查
+     * @return 导出的CSV文件
+     */
+    public File dumpCallTimings(Context context) throws IOException {
+        File file = new File(context.getFilesDir(), TIMING_DUMP_FILE);
+        callTimings.dumpTo(file);
+        Log.d(TAG, "网络耗时已导出: " + file + "，" + callTimings.summary());
+        return file;
+    }
+
+    /**
+     * 获取Feed HTTP缓存的命中/未命中/再验证统计
+     */
+    public FeedCacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+
+
+    /**
+     * 获取Feed数据 - GET请求方式（支持分页），使用默认缓存模式
+     * @param count 请求作品数量
+     * @param acceptVideoClip 是否支持视频片段
+     * @param cursor 分页游标（0表示第一页）
+     * @param callback 回调接口
+     * @return 请求句柄，可用于取消本次回调
+     */
+    public FeedCall getFeedData(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
+        return getFeedData(count, acceptVideoClip, cursor, cacheMode, callback);
+    }
 
     /**
      * 获取Feed数据 - GET请求方式（支持分页）
      * @param count 请求作品数量
      * @param acceptVideoClip 是否支持视频片段
      * @param cursor 分页游标（0表示第一页）
+     * @param mode 缓存模式
      * @param callback 回调接口
+     * @return 请求句柄；相同参数的并发请求共享同一个网络调用
+     */
+    public FeedCall getFeedData(int count, boolean acceptVideoClip, int cursor,
+                                FeedCacheMode mode, FeedCallback callback) {
+        String key = requestKey("GET", count, acceptVideoClip, cursor, mode);
+        return coalescer.join(key, callback,
+                shared -> startFeedGet(count, acceptVideoClip, cursor, mode, shared));
+    }
+
+    /**
+     * 获取Feed数据的Single形式，使用默认缓存模式
+     * 订阅时发起请求（同参数的并发请求仍会合并），取消订阅即取消本次回调；
+     * 失败以IOException结束。回调在OkHttp线程，调用方自行指定observeOn。
      */
-    public void getFeedData(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
-        Log.d(TAG, "开始获取Feed数据 - GET方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip + ", cursor: " + cursor);
-        Log.d(TAG, "开始获取Feed数据 - GET方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip);
+    public Single<FeedPage> getFeedPage(int count, boolean acceptVideoClip, int cursor) {
+        return Single.create(emitter -> {
+            FeedCall call = getFeedData(count, acceptVideoClip, cursor, new FeedCallback() {
+                @Override
+                public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                    emitter.onSuccess(FeedPage.of(posts, rawCount, hasMore));
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    emitter.tryOnError(new IOException(errorMessage));
+                }
+            });
+            emitter.setCancellable(call::cancel);
+        });
+    }
+
+    private FeedCall startFeedGet(int count, boolean acceptVideoClip, int cursor,
+                                  FeedCacheMode mode, FeedCallback callback) {
+        Log.d(TAG, "开始获取Feed数据 - GET方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip
+                + ", cursor: " + cursor + ", cacheMode: " + mode);
 
         // 构建URL和Query参数
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(BASE_URL).newBuilder()
+        HttpUrl.Builder urlBuilder = baseUrl.newBuilder()
                 .addQueryParameter("count", String.valueOf(count))
                 .addQueryParameter("accept_video", acceptVideoClip ? "true" : "false");
 
@@ -94,32 +271,296 @@ public class ApiService {
 
         HttpUrl url = urlBuilder.build();
 
-        // 构建请求
+        // 构建请求：max-age=0 使缓存的页面总是过期，OkHttp会自动带上ETag/If-Modified-Since做条件请求
         Request request = new Request.Builder()
                 .url(url)
                 .get()
+                .cacheControl(REVALIDATE_CACHE_CONTROL)
                 .addHeader("Content-Type", "application/json")
                 .addHeader("User-Agent", "UGCLite-Android/1.0")
                 .build();
 
-        // 异步发送请求 (enqueue)
-        okHttpClient.newCall(request).enqueue(new Callback() {
+        ActiveCall active = new ActiveCall();
+        if (mode == FeedCacheMode.STALE_WHILE_REVALIDATE) {
+            enqueueStaleWhileRevalidate(active, request, callback);
+        } else {
+            enqueueFeedCall(active, request, callback);
+        }
+        return active;
+    }
+
+    /**
+     * 先只读缓存；命中则立即回调，再在后台做条件请求。未命中时退化为普通请求
+     */
+    private void enqueueStaleWhileRevalidate(ActiveCall active, Request request, FeedCallback callback) {
+        Request cacheOnly = request.newBuilder()
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build();
+
+        active.enqueue(okHttpClient.newCall(cacheOnly), new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                // 网络层面的失败（如无网、DNS解析失败、超时）
-                Log.e(TAG, "网络请求失败", e);
-                if (callback != null) {
-                    callback.onError("网络请求失败: " + e.getMessage());
+                Log.w(TAG, "读取Feed缓存失败，改为网络请求", e);
+                enqueueFeedCall(active, request, callback);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                cacheStats.record(response);
+                if (response.cacheResponse() == null) {
+                    // only-if-cached未命中时OkHttp返回504
+                    response.close();
+                    enqueueFeedCall(active, request, callback);
+                    return;
                 }
+                Log.d(TAG, "使用过期缓存立即返回Feed，后台再验证");
+                handleResponse(call, response, callback);
+                enqueueRevalidation(active, request, callback);
             }
+        });
+    }
 
+    private void enqueueRevalidation(ActiveCall active, Request request, FeedCallback callback) {
+        active.enqueue(okHttpClient.newCall(request), new Callback() {
             @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                handleResponse(response, callback);
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "后台再验证Feed失败，继续使用缓存", e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                cacheStats.record(response);
+                Response networkResponse = response.networkResponse();
+                if (networkResponse != null && networkResponse.code() == 304) {
+                    Log.d(TAG, "后台再验证：Feed未变化(304)");
+                    response.close();
+                    return;
+                }
+                handleResponse(call, response, new FeedCallback() {
+                    @Override
+                    public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                        if (callback != null) {
+                            callback.onRevalidated(posts, rawCount, hasMore);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        Log.w(TAG, "后台再验证Feed返回错误，继续使用缓存: " + errorMessage);
+                    }
+                });
             }
         });
     }
 
+    private void enqueueFeedCall(ActiveCall active, Request request, FeedCallback callback) {
+        // 异步发送请求 (enqueue)，按重试策略处理失败
+        new RetryingFeedCall(active, request, callback, retryPolicy).start();
+    }
+
+    private synchronized ScheduledExecutorService retryScheduler() {
+        if (retryScheduler == null) {
+            retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ApiService-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return retryScheduler;
+    }
+
+    /**
+     * 一次Feed GET的所有尝试
+     * 网络失败或可重试的状态码按指数退避重试；开启对冲时，第一次尝试超过近期p95耗时仍未返回
+     * 就再发一个相同请求，先返回的结果生效，另一个被取消。重试和对冲都要从重试预算中取令牌。
+     */
+    private final class RetryingFeedCall {
+        private final ActiveCall active;
+        private final Request request;
+        private final FeedCallback callback;
+        private final RetryPolicy policy;
+        private final List<Call> running = new ArrayList<>(2);
+        // 每个进行中尝试的发出时间，用于统计输给对冲的请求已等待的时长
+        private final Map<Call, Long> startedAtNanos = new HashMap<>(2);
+        private int attempts;
+        private boolean hedged;
+        private boolean done;
+
+        RetryingFeedCall(ActiveCall active, Request request, FeedCallback callback, RetryPolicy policy) {
+            this.active = active;
+            this.request = request;
+            this.callback = callback;
+            this.policy = policy;
+        }
+
+        void start() {
+            launch(false);
+        }
+
+        private void launch(boolean hedge) {
+            Call call = okHttpClient.newCall(request);
+            boolean first;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (!hedge) {
+                    attempts++;
+                }
+                first = attempts == 1 && !hedge;
+                running.add(call);
+                startedAtNanos.put(call, System.nanoTime());
+            }
+            active.enqueue(call, new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    onAttemptFailure(call, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    onAttemptResponse(call, response);
+                }
+            });
+            if (first && policy.isHedging()) {
+                scheduleHedge();
+            }
+        }
+
+        private void scheduleHedge() {
+            long threshold = latencyWindow.percentile(HEDGE_QUANTILE);
+            if (threshold < 0) {
+                return;
+            }
+            retryScheduler().schedule(() -> {
+                synchronized (this) {
+                    if (done || hedged || running.isEmpty() || active.isCanceled()) {
+                        return;
+                    }
+                    // 预算不足时不标记为已对冲
+                    if (!retryBudget.tryAcquire()) {
+                        Log.d(TAG, "重试预算不足，放弃对冲请求");
+                        return;
+                    }
+                    hedged = true;
+                }
+                Log.d(TAG, "Feed请求超过p95(" + threshold + "ms)仍未返回，发出对冲请求");
+                launch(true);
+            }, threshold, TimeUnit.MILLISECONDS);
+        }
+
+        private void onAttemptResponse(Call call, Response response) {
+            // 每个完成的尝试都计入耗时，包括输给对冲请求的慢请求，否则p95会越来越低、对冲越来越早
+            if (response.networkResponse() != null) {
+                latencyWindow.record(response.receivedResponseAtMillis() - response.sentRequestAtMillis());
+            }
+            boolean retry = false;
+            List<Call> losers;
+            long[] loserElapsedMillis = null;
+            long now = System.nanoTime();
+            long winnerElapsedMillis;
+            synchronized (this) {
+                running.remove(call);
+                Long started = startedAtNanos.remove(call);
+                winnerElapsedMillis = started != null ? TimeUnit.NANOSECONDS.toMillis(now - started) : 0;
+                if (done) {
+                    response.close();
+                    return;
+                }
+                if (RetryPolicy.isRetryableStatus(response.code())) {
+                    if (!running.isEmpty()) {
+                        // 对冲的另一个请求还在进行，等它的结果
+                        response.close();
+                        return;
+                    }
+                    retry = canRetry();
+                }
+                done = !retry;
+                losers = retry ? null : new ArrayList<>(running);
+                if (!retry) {
+                    loserElapsedMillis = elapsedMillis(running, now);
+                    running.clear();
+                }
+            }
+
+            if (retry) {
+                Log.w(TAG, "Feed请求返回状态码 " + response.code() + "，准备重试");
+                response.close();
+                scheduleRetry();
+                return;
+            }
+
+            for (Call loser : losers) {
+                loser.cancel();
+            }
+            // 被取消的请求拿不到完整耗时，按已等待的时长计入（真实耗时只会更长）；
+            // 只计比胜出请求等得更久的，即先发出的慢请求，后发出的对冲请求计入会压低p95
+            for (long elapsed : loserElapsedMillis) {
+                if (elapsed > winnerElapsedMillis) {
+                    latencyWindow.record(elapsed);
+                }
+            }
+            if (response.isSuccessful()) {
+                retryBudget.onSuccess();
+            }
+            cacheStats.record(response);
+            handleResponse(call, response, callback);
+        }
+
+        private void onAttemptFailure(Call call, IOException e) {
+            boolean retry;
+            synchronized (this) {
+                running.remove(call);
+                startedAtNanos.remove(call);
+                if (done || active.isCanceled()) {
+                    done = true;
+                    return;
+                }
+                if (!running.isEmpty()) {
+                    return;
+                }
+                // cancelAllRequests取消的请求不再重试
+                retry = !call.isCanceled() && canRetry();
+                done = !retry;
+            }
+
+            // 网络层面的失败（如无网、DNS解析失败、超时）
+            logFailure(call, e);
+            if (retry) {
+                scheduleRetry();
+            } else if (callback != null) {
+                callback.onError("网络请求失败: " + e.getMessage());
+            }
+        }
+
+        private long[] elapsedMillis(List<Call> calls, long nowNanos) {
+            long[] elapsed = new long[calls.size()];
+            for (int i = 0; i < calls.size(); i++) {
+                Long started = startedAtNanos.remove(calls.get(i));
+                elapsed[i] = started != null ? TimeUnit.NANOSECONDS.toMillis(nowNanos - started) : -1;
+            }
+            return elapsed;
+        }
+
+        private boolean canRetry() {
+            return attempts < policy.getMaxAttempts() && retryBudget.tryAcquire();
+        }
+
+        private void scheduleRetry() {
+            int retry;
+            synchronized (this) {
+                retry = attempts;
+            }
+            long delay = policy.backoffMillis(retry, ThreadLocalRandom.current());
+            Log.d(TAG, "第" + retry + "次重试将在" + delay + "ms后发出");
+            retryScheduler().schedule(() -> {
+                if (!active.isCanceled()) {
+                    launch(false);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
 
 
     /**
@@ -128,8 +569,15 @@ public class ApiService {
      * @param acceptVideoClip 是否支持视频片段
      * @param cursor 分页游标（0表示第一页）
      * @param callback 回调接口
+     * @return 请求句柄；相同参数的并发请求共享同一个网络调用
      */
-    public void getFeedDataPost(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
+    public FeedCall getFeedDataPost(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
+        String key = requestKey("POST", count, acceptVideoClip, cursor, null);
+        return coalescer.join(key, callback,
+                shared -> startFeedPost(count, acceptVideoClip, cursor, shared));
+    }
+
+    private FeedCall startFeedPost(int count, boolean acceptVideoClip, int cursor, FeedCallback callback) {
         Log.d(TAG, "开始获取Feed数据 - POST方式，count: " + count + ", acceptVideoClip: " + acceptVideoClip + ", cursor: " + cursor);
 
         // 构建请求体
@@ -146,17 +594,18 @@ public class ApiService {
 
         // 构建请求
         Request request = new Request.Builder()
-                .url(BASE_URL)
+                .url(baseUrl)
                 .post(formBody)
                 .addHeader("Content-Type", "application/x-www-form-urlencoded")
                 .addHeader("User-Agent", "UGCLite-Android/1.0")
                 .build();
 
         // 发送请求
-        okHttpClient.newCall(request).enqueue(new Callback() {
+        ActiveCall active = new ActiveCall();
+        active.enqueue(okHttpClient.newCall(request), new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                Log.e(TAG, "网络请求失败", e);
+                logFailure(call, e);
                 if (callback != null) {
                     callback.onError("网络请求失败: " + e.getMessage());
                 }
@@ -164,15 +613,30 @@ public class ApiService {
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                handleResponse(response, callback);
+                handleResponse(call, response, callback);
             }
         });
+        return active;
+    }
+
+    private static String requestKey(String method, int count, boolean acceptVideoClip, int cursor,
+                                     FeedCacheMode mode) {
+        return method + '|' + count + '|' + acceptVideoClip + '|' + cursor + '|' + mode;
+    }
+
+    private static void logFailure(Call call, IOException e) {
+        if (call.isCanceled()) {
+            Log.d(TAG, "网络请求已取消: " + call.request().url());
+        } else {
+            Log.e(TAG, "网络请求失败", e);
+        }
     }
 
     /**
      * 处理网络响应
+     * 直接从响应体字符流单遍解析，不再缓存完整字符串
      */
-    private void handleResponse(Response response, FeedCallback callback) {
+    private void handleResponse(Call call, Response response, FeedCallback callback) {
         try {
             //检查 HTTP 状态码 (是否是 200-299)
             if (!response.isSuccessful()) {
@@ -184,52 +648,75 @@ public class ApiService {
                 }
                 return;
             }
-            //获取响应体字符串
-            String responseBody = response.body() != null ? response.body().string() : "";
 
-            // 先尝试作为FeedResponse对象解析
+            FeedPage page;
+            long bodyBytes = 0;
             try {
-                FeedResponse feedResponse = gson.fromJson(responseBody, FeedResponse.class);
-                //业务逻辑判断
-                if (feedResponse != null && feedResponse.hasRecognizedStatus()) {
-                    if (feedResponse.isSuccess()) {
-                        List<Post> posts = feedResponse.getPosts();
-                        boolean hasMore = feedResponse.hasMoreData();
-                        Log.d(TAG, "数据解析成功（对象格式），获取到 " + (posts != null ? posts.size() : 0) + " 条数据，hasMore: " + hasMore);
-
-                        if (callback != null) {
-                            callback.onSuccess(posts, hasMore);
-                        }
-                        return;
-                    } else {
-                        Integer responseCode = feedResponse.code != null ? feedResponse.code : feedResponse.statusCode;
-                        String errorMsg = "API返回错误，状态码: " + responseCode;
-                        Log.e(TAG, errorMsg);
-                        if (callback != null) {
-                            callback.onError(errorMsg);
+                ResponseBody body = response.body();
+                if (body != null) {
+                    // 统计解压后的字节数，供分页大小自适应使用；按charStream()的方式解码，保留BOM识别
+                    CountingSource counted = new CountingSource(body.source());
+                    ResponseBody countedBody = ResponseBody.create(
+                            Okio.buffer(counted), body.contentType(), body.contentLength());
+                    // 解析耗时写入该调用的计时记录
+                    TimingEventListener timing = timingListeners.forCall(call);
+                    if (timing != null) {
+                        timing.beginParse();
+                    }
+                    long parseStart = System.nanoTime();
+                    long parseNanos = -1;
+                    try {
+                        page = feedPageParser.parse(countedBody.charStream());
+                        parseNanos = System.nanoTime() - parseStart;
+                    } finally {
+                        if (timing != null) {
+                            timing.endParse(call, parseNanos);
                         }
-                        return;
                     }
+                    bodyBytes = counted.getCount();
+                } else {
+                    page = FeedPage.fromArray(new ArrayList<>(), 0);
                 }
             } catch (Exception e) {
-                Log.d(TAG, "尝试解析为对象格式失败，将尝试数组格式");
+                String errorMsg = "响应数据解析失败，既不是对象格式也不是数组格式";
+                Log.e(TAG, errorMsg, e);
+                if (callback != null) {
+                    callback.onError(errorMsg);
+                }
+                return;
             }
 
-            // 如果对象解析失败，尝试作为Post数组解析
-            try {
-                List<Post> posts = gson.fromJson(responseBody, new TypeToken<List<Post>>(){}.getType());
-                boolean hasMore = false; // 数组格式无法确定是否有更多数据，默认为false
-                Log.d(TAG, "数据解析成功（数组格式），获取到 " + (posts != null ? posts.size() : 0) + " 条数据，hasMore: " + hasMore);
-
+            if (!page.hasRecognizedStatus()) {
+                String errorMsg = "响应数据解析失败，既不是对象格式也不是数组格式";
+                Log.e(TAG, errorMsg);
                 if (callback != null) {
-                    callback.onSuccess(posts, hasMore);
+                    callback.onError(errorMsg);
                 }
-            } catch (Exception e) {
-                String errorMsg = "响应数据解析失败，既不是对象格式也不是数组格式";
-                Log.e(TAG, errorMsg, e);
+                return;
+            }
+
+            //业务逻辑判断
+            if (!page.isSuccess()) {
+                String errorMsg = "API返回错误，状态码: " + page.getResponseCode();
+                Log.e(TAG, errorMsg);
                 if (callback != null) {
                     callback.onError(errorMsg);
                 }
+                return;
+            }
+
+            List<Post> posts = page.getPosts();
+            boolean hasMore = page.hasMore();
+            Log.d(TAG, "数据解析成功（" + (page.isArrayFormat() ? "数组格式" : "对象格式") + "），获取到 "
+                    + page.getRawCount() + " 条数据，可展示 " + (posts != null ? posts.size() : 0)
+                    + " 条，hasMore: " + hasMore);
+            if (callback != null) {
+                // 只上报完整走网络的响应；缓存命中和304的耗时不代表当前链路
+                if (response.networkResponse() != null && response.cacheResponse() == null) {
+                    long elapsedMillis = System.currentTimeMillis() - response.sentRequestAtMillis();
+                    callback.onTransfer(Math.max(0, elapsedMillis), bodyBytes);
+                }
+                callback.onSuccess(posts, page.getRawCount(), hasMore);
             }
 
         } catch (Exception e) {
@@ -257,6 +744,47 @@ public class ApiService {
 
 
 
+    /**
+     * 一次Feed请求对应的OkHttp调用链
+     * STALE_WHILE_REVALIDATE会依次发出缓存读取、网络回退和后台再验证，重试和对冲也会产生多个调用；
+     * 取消时取消已发出的全部调用，之后的调用不再发出
+     */
+    private static final class ActiveCall implements FeedCall {
+        private final List<Call> calls = new ArrayList<>(2);
+        private boolean canceled;
+
+        void enqueue(Call call, Callback callback) {
+            synchronized (this) {
+                if (canceled) {
+                    return;
+                }
+                calls.add(call);
+            }
+            call.enqueue(callback);
+        }
+
+        @Override
+        public void cancel() {
+            List<Call> toCancel;
+            synchronized (this) {
+                if (canceled) {
+                    return;
+                }
+                canceled = true;
+                toCancel = new ArrayList<>(calls);
+                calls.clear();
+            }
+            for (Call call : toCancel) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            return canceled;
+        }
+    }
+
     /**
      * Feed数据回调接口
      * 异步调用，渲染UI与获取数据同步进行
@@ -264,10 +792,27 @@ public class ApiService {
     public interface FeedCallback {
         /**
          * 数据获取成功
-         * @param posts 作品列表
+         * @param posts 可展示的作品列表（已过滤不支持的片段和空作品）
+         * @param rawCount 服务端返回的原始作品数量，用于计算分页偏移
          * @param hasMore 是否还有更多数据
          */
-        void onSuccess(List<Post> posts, boolean hasMore);
+        void onSuccess(List<Post> posts, int rawCount, boolean hasMore);
+
+        /**
+         * 完整走网络的成功响应在onSuccess之前回调本次传输情况
+         * 合并的请求只回调给其中一个调用方，每次网络传输只统计一次
+         * @param elapsedMillis 从发出请求到响应体解析完成的耗时
+         * @param bodyBytes 响应体字节数（解压后）
+         */
+        default void onTransfer(long elapsedMillis, long bodyBytes) {
+        }
+
+        /**
+         * STALE_WHILE_REVALIDATE模式下，后台再验证发现内容已变化时回调新页面
+         * 默认忽略，此时更新后的页面只写入缓存，供下一次请求使用
+         */
+        default void onRevalidated(List<Post> posts, int rawCount, boolean hasMore) {
+        }
 
         /**
          * 数据获取失败
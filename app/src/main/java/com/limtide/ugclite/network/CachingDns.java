@@ -0,0 +1,77 @@
+package com.limtide.ugclite.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Dns;
+
+/**
+ * 带过期时间的DNS结果缓存
+ * 系统解析器在部分机型上每次都会发起查询；Feed接口和图片CDN的域名固定，缓存一段时间可以省掉
+ * 冷连接上的DNS耗时。只缓存成功的结果，条目超过上限时淘汰最久未使用的。
+ */
+final class CachingDns implements Dns {
+
+    interface Clock {
+        long nowMillis();
+    }
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long expiresAtMillis;
+
+        Entry(List<InetAddress> addresses, long expiresAtMillis) {
+            this.addresses = addresses;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final Dns delegate;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> cache;
+
+    CachingDns(Dns delegate, long ttlMillis, int maxEntries) {
+        this(delegate, ttlMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    CachingDns(Dns delegate, long ttlMillis, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        long now = clock.nowMillis();
+        synchronized (cache) {
+            Entry entry = cache.get(hostname);
+            if (entry != null && entry.expiresAtMillis > now) {
+                return entry.addresses;
+            }
+        }
+        // 解析在锁外进行，不同域名的解析互不阻塞
+        List<InetAddress> addresses = delegate.lookup(hostname);
+        if (!addresses.isEmpty()) {
+            synchronized (cache) {
+                cache.put(hostname, new Entry(addresses, now + ttlMillis));
+            }
+        }
+        return addresses;
+    }
+
+    void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.limtide.ugclite.network;
+
+import java.util.Locale;
+
+/**
+ * 单次HTTP调用的分阶段耗时（微秒），某阶段未发生时为-1
+ * 例如复用连接时没有DNS/连接/TLS阶段，缓存命中时只有总耗时。
+ * 响应体按流式单遍解析，BODY（读取）与PARSE（解析，包含边读边解析）在时间上是重叠的。
+ */
+public final class CallTiming {
+
+    public enum Phase {
+        DNS,
+        CONNECT,
+        TLS,
+        /** 从调用开始到收到响应头 */
+        TTFB,
+        BODY,
+        PARSE,
+        TOTAL
+    }
+
+    private final long timestampMillis;
+    private final String url;
+    private final boolean success;
+    private final boolean cacheHit;
+    private final long[] micros;
+    private final long responseBytes;
+
+    CallTiming(long timestampMillis, String url, boolean success, boolean cacheHit,
+               long[] micros, long responseBytes) {
+        this.timestampMillis = timestampMillis;
+        this.url = url;
+        this.success = success;
+        this.cacheHit = cacheHit;
+        this.micros = micros.clone();
+        this.responseBytes = responseBytes;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    /**
+     * @return 阶段耗时（微秒），未发生时为-1
+     */
+    public long getMicros(Phase phase) {
+        return micros[phase.ordinal()];
+    }
+
+    /**
+     * @return 从网络读取的响应体字节数，未读取响应体时为-1
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    String toCsv() {
+        StringBuilder line = new StringBuilder(128)
+                .append(timestampMillis).append(',')
+                .append(url).append(',')
+                .append(success).append(',')
+                .append(cacheHit);
+        for (long value : micros) {
+            line.append(',').append(value);
+        }
+        return line.append(',').append(responseBytes).toString();
+    }
+
+    static String csvHeader() {
+        StringBuilder header = new StringBuilder("timestamp_ms,url,success,cache_hit");
+        for (Phase phase : Phase.values()) {
+            header.append(',').append(phase.name().toLowerCase(Locale.ROOT)).append("_us");
+        }
+        return header.append(",response_bytes").toString();
+    }
+}
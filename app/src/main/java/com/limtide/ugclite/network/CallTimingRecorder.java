@@ -0,0 +1,137 @@
+package com.limtide.ugclite.network;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 最近若干次HTTP调用耗时的无锁环形缓冲区
+ * 写入只做一次getAndIncrement和一次数组写，不阻塞OkHttp线程；读取时拷贝快照再统计。
+ * 容量满后覆盖最旧的记录。
+ */
+public final class CallTimingRecorder {
+
+    private final AtomicReferenceArray<CallTiming> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    CallTimingRecorder(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    void record(CallTiming timing) {
+        long index = sequence.getAndIncrement();
+        slots.set((int) (index & mask), timing);
+    }
+
+    /**
+     * @return 累计记录过的调用次数（包括已被覆盖的）
+     */
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    /**
+     * 按写入顺序返回当前缓冲区中的记录
+     */
+    public List<CallTiming> snapshot() {
+        long end = sequence.get();
+        int count = (int) Math.min(end, slots.length());
+        List<CallTiming> timings = new ArrayList<>(count);
+        for (long i = end - count; i < end; i++) {
+            CallTiming timing = slots.get((int) (i & mask));
+            if (timing != null) {
+                timings.add(timing);
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * @param quantile 0到1之间的分位数
+     * @return 该阶段耗时的分位数（微秒），没有样本时返回-1
+     */
+    public long percentileMicros(CallTiming.Phase phase, double quantile) {
+        return percentile(values(snapshot(), phase), quantile);
+    }
+
+    /**
+     * 各阶段p50/p90/p99的文本摘要（毫秒）
+     */
+    public String summary() {
+        List<CallTiming> timings = snapshot();
+        StringBuilder summary = new StringBuilder("calls=").append(timings.size());
+        for (CallTiming.Phase phase : CallTiming.Phase.values()) {
+            long[] values = values(timings, phase);
+            if (values.length == 0) {
+                continue;
+            }
+            summary.append(' ').append(phase.name().toLowerCase(Locale.ROOT))
+                    .append("[p50=").append(formatMillis(percentile(values, 0.5)))
+                    .append(" p90=").append(formatMillis(percentile(values, 0.9)))
+                    .append(" p99=").append(formatMillis(percentile(values, 0.99)))
+                    .append(']');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 把当前缓冲区以CSV格式写入文件，便于现场排查
+     */
+    public void dumpTo(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("无法创建目录: " + parent);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write(CallTiming.csvHeader());
+            writer.write('\n');
+            for (CallTiming timing : snapshot()) {
+                writer.write(timing.toCsv());
+                writer.write('\n');
+            }
+            writer.write("# ");
+            writer.write(summary());
+            writer.write('\n');
+        }
+    }
+
+    private static long[] values(List<CallTiming> timings, CallTiming.Phase phase) {
+        long[] values = new long[timings.size()];
+        int size = 0;
+        for (CallTiming timing : timings) {
+            long value = timing.getMicros(phase);
+            if (value >= 0) {
+                values[size++] = value;
+            }
+        }
+        long[] result = Arrays.copyOf(values, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static String formatMillis(long micros) {
+        return String.format(Locale.US, "%.1fms", micros / 1000.0);
+    }
+}
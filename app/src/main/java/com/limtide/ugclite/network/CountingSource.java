@@ -0,0 +1,32 @@
+package com.limtide.ugclite.network;
+
+import java.io.IOException;
+
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Source;
+
+/**
+ * 统计实际读取的响应体字节数（OkHttp透明解压后的字节）
+ */
+final class CountingSource extends ForwardingSource {
+
+    private long count;
+
+    CountingSource(Source delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+        long n = super.read(sink, byteCount);
+        if (n > 0) {
+            count += n;
+        }
+        return n;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
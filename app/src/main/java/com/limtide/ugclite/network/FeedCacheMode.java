@@ -0,0 +1,17 @@
+package com.limtide.ugclite.network;
+
+/**
+ * Feed GET请求的HTTP缓存模式
+ */
+public enum FeedCacheMode {
+    /**
+     * 每次都向服务端确认：有缓存时携带ETag/If-Modified-Since条件头，304时直接使用缓存内容
+     */
+    REVALIDATE,
+
+    /**
+     * 先立即返回磁盘缓存中的页面（即使已过期），再在后台向服务端确认；
+     * 内容有变化时通过FeedCallback.onRevalidated补发新页面
+     */
+    STALE_WHILE_REVALIDATE
+}
@@ -0,0 +1,66 @@
+package com.limtide.ugclite.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Response;
+
+/**
+ * Feed HTTP缓存命中统计
+ * hit：直接使用缓存，没有网络请求；miss：没有可用缓存，完整下载；
+ * revalidate：携带条件头向服务端确认，其中notModified为服务端返回304的次数
+ */
+public final class FeedCacheStats {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    void record(Response response) {
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+        if (cacheResponse != null && networkResponse == null) {
+            hits.incrementAndGet();
+        } else if (cacheResponse != null) {
+            revalidations.incrementAndGet();
+            if (networkResponse.code() == 304) {
+                notModified.incrementAndGet();
+            }
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getRevalidateCount() {
+        return revalidations.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+        revalidations.set(0);
+        notModified.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "FeedCacheStats{" +
+                "hit=" + hits.get() +
+                ", miss=" + misses.get() +
+                ", revalidate=" + revalidations.get() +
+                ", notModified=" + notModified.get() +
+                '}';
+    }
+}
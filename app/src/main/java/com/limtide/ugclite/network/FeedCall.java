@@ -0,0 +1,16 @@
+package com.limtide.ugclite.network;
+
+/**
+ * Feed请求句柄
+ * 相同参数的并发请求共享同一个网络调用，cancel只取消当前调用方的回调，
+ * 所有调用方都取消后才会取消底层的OkHttp请求。
+ */
+public interface FeedCall {
+
+    /**
+     * 取消本次请求，取消后不再收到任何回调
+     */
+    void cancel();
+
+    boolean isCanceled();
+}
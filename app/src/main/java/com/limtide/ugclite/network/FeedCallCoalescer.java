@@ -0,0 +1,212 @@
+package com.limtide.ugclite.network;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 合并相同Key的并发Feed请求
+ * 第一个调用方发起真正的请求，之后的调用方挂到同一个进行中的请求上；
+ * 结果只解析一次，再分别回调给每个调用方（除第一个外各自拿到列表副本，Post对象共享）；
+ * 传输耗时只回调给第一个未取消的调用方。
+ * 请求完成（成功或失败）后Key即释放，之后的调用会发起新请求。
+ */
+final class FeedCallCoalescer {
+
+    /**
+     * 发起底层请求，结果回调到共享的callback
+     */
+    interface Starter {
+        FeedCall start(ApiService.FeedCallback callback);
+    }
+
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    FeedCall join(String key, ApiService.FeedCallback callback, Starter starter) {
+        InFlight shared;
+        Subscriber subscriber;
+        boolean leader = false;
+        synchronized (this) {
+            shared = inFlight.get(key);
+            if (shared == null) {
+                shared = new InFlight(key);
+                inFlight.put(key, shared);
+                leader = true;
+            }
+            subscriber = new Subscriber(shared, callback);
+            shared.subscribers.add(subscriber);
+        }
+        if (leader) {
+            shared.start(starter);
+        }
+        return subscriber;
+    }
+
+    synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    synchronized int subscriberCount(String key) {
+        InFlight shared = inFlight.get(key);
+        return shared == null ? 0 : shared.subscribers.size();
+    }
+
+    private final class InFlight implements ApiService.FeedCallback {
+        final String key;
+        final List<Subscriber> subscribers = new ArrayList<>(2);
+        private FeedCall upstream;
+        private boolean canceled;
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        void start(Starter starter) {
+            FeedCall call = starter.start(this);
+            boolean cancelNow;
+            synchronized (FeedCallCoalescer.this) {
+                cancelNow = canceled;
+                if (!cancelNow) {
+                    upstream = call;
+                }
+            }
+            // 所有调用方在请求发起前就已取消
+            if (cancelNow && call != null) {
+                call.cancel();
+            }
+        }
+
+        void remove(Subscriber subscriber) {
+            FeedCall toCancel = null;
+            synchronized (FeedCallCoalescer.this) {
+                if (!subscribers.remove(subscriber) || !subscribers.isEmpty()) {
+                    return;
+                }
+                release();
+                canceled = true;
+                toCancel = upstream;
+                upstream = null;
+            }
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        /**
+         * 从进行中的表里移除，之后相同Key的调用会发起新请求
+         */
+        private void release() {
+            if (inFlight.get(key) == this) {
+                inFlight.remove(key);
+            }
+        }
+
+        private List<Subscriber> complete() {
+            synchronized (FeedCallCoalescer.this) {
+                release();
+                return new ArrayList<>(subscribers);
+            }
+        }
+
+        private List<Subscriber> snapshot() {
+            synchronized (FeedCallCoalescer.this) {
+                return new ArrayList<>(subscribers);
+            }
+        }
+
+        @Override
+        public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+            List<Subscriber> targets = complete();
+            for (int i = 0; i < targets.size(); i++) {
+                targets.get(i).deliverSuccess(copyFor(i, posts), rawCount, hasMore);
+            }
+        }
+
+        @Override
+        public void onTransfer(long elapsedMillis, long bodyBytes) {
+            // 一次底层请求只是一个网络样本，只交给一个调用方，合并的请求不会被重复统计
+            for (Subscriber subscriber : snapshot()) {
+                if (subscriber.deliverTransfer(elapsedMillis, bodyBytes)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onRevalidated(List<Post> posts, int rawCount, boolean hasMore) {
+            // 再验证结果在主请求完成之后到达，只回调给仍未取消的调用方
+            List<Subscriber> targets = snapshot();
+            for (int i = 0; i < targets.size(); i++) {
+                targets.get(i).deliverRevalidated(copyFor(i, posts), rawCount, hasMore);
+            }
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            for (Subscriber subscriber : complete()) {
+                subscriber.deliverError(errorMessage);
+            }
+        }
+
+        private List<Post> copyFor(int index, List<Post> posts) {
+            return index == 0 || posts == null ? posts : new ArrayList<>(posts);
+        }
+    }
+
+    private static final class Subscriber implements FeedCall {
+        private final InFlight shared;
+        private final ApiService.FeedCallback callback;
+        private volatile boolean canceled;
+
+        Subscriber(InFlight shared, ApiService.FeedCallback callback) {
+            this.shared = shared;
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+            shared.remove(this);
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        void deliverSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+            if (!canceled && callback != null) {
+                callback.onSuccess(posts, rawCount, hasMore);
+            }
+        }
+
+        /**
+         * @return 是否交给了调用方
+         */
+        boolean deliverTransfer(long elapsedMillis, long bodyBytes) {
+            if (!canceled && callback != null) {
+                callback.onTransfer(elapsedMillis, bodyBytes);
+                return true;
+            }
+            return false;
+        }
+
+        void deliverRevalidated(List<Post> posts, int rawCount, boolean hasMore) {
+            if (!canceled && callback != null) {
+                callback.onRevalidated(posts, rawCount, hasMore);
+            }
+        }
+
+        void deliverError(String errorMessage) {
+            if (!canceled && callback != null) {
+                callback.onError(errorMessage);
+            }
+        }
+    }
+}
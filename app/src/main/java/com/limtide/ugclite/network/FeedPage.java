@@ -0,0 +1,83 @@
+package com.limtide.ugclite.network;
+
+import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.List;
+
+/**
+ * 单页Feed解析结果
+ * 对象格式保留业务状态码，数组格式视为成功且没有更多数据
+ * posts只包含可展示的作品，rawCount为服务端返回的原始条数，用于计算分页偏移
+ */
+public final class FeedPage {
+
+    private final List<Post> posts;
+    private final int rawCount;
+    private final boolean hasMore;
+    private final boolean arrayFormat;
+    private final boolean recognizedStatus;
+    private final boolean success;
+    private final Integer responseCode;
+
+    private FeedPage(List<Post> posts, int rawCount, boolean hasMore, boolean arrayFormat,
+                     boolean recognizedStatus, boolean success, Integer responseCode) {
+        this.posts = posts;
+        this.rawCount = rawCount;
+        this.hasMore = hasMore;
+        this.arrayFormat = arrayFormat;
+        this.recognizedStatus = recognizedStatus;
+        this.success = success;
+        this.responseCode = responseCode;
+    }
+
+    static FeedPage fromArray(List<Post> posts, int rawCount) {
+        return new FeedPage(posts, rawCount, false, true, true, true, null);
+    }
+
+    /**
+     * 已经成功取得的一页，用于把回调结果转换为Single
+     */
+    public static FeedPage of(List<Post> posts, int rawCount, boolean hasMore) {
+        return new FeedPage(posts, rawCount, hasMore, false, true, true, null);
+    }
+
+    static FeedPage fromResponse(FeedResponse response, int rawCount) {
+        return new FeedPage(
+                response.getPosts(),
+                rawCount,
+                response.hasMoreData(),
+                false,
+                response.hasRecognizedStatus(),
+                response.isSuccess(),
+                response.code != null ? response.code : response.statusCode);
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public int getRawCount() {
+        return rawCount;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isArrayFormat() {
+        return arrayFormat;
+    }
+
+    public boolean hasRecognizedStatus() {
+        return recognizedStatus;
+    }
+
+    public boolean isSuccess() {
+        return recognizedStatus && success;
+    }
+
+    public Integer getResponseCode() {
+        return responseCode;
+    }
+}
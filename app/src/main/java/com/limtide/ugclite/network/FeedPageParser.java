@@ -0,0 +1,128 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.Post;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单遍流式解析Feed响应
+ * 根据第一个token判断对象/数组格式，不缓存完整响应字符串，也不做二次解析。
+ * 解析时直接丢弃null作品和没有可展示片段的作品（片段由Post的TypeAdapter按可见性策略过滤），
+ * 同时记录原始条数供分页偏移使用。
+ */
+final class FeedPageParser {
+
+    private final TypeAdapter<Post> postAdapter;
+
+    FeedPageParser(Gson gson) {
+        this.postAdapter = gson.getAdapter(Post.class);
+    }
+
+    FeedPage parse(Reader body) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        reader.setLenient(true);
+
+        JsonToken first;
+        try {
+            first = reader.peek();
+        } catch (EOFException emptyBody) {
+            // 空响应体与旧实现保持一致：按数组格式的空页面处理
+            return FeedPage.fromArray(new ArrayList<>(), 0);
+        }
+
+        FeedPage page;
+        if (first == JsonToken.BEGIN_ARRAY) {
+            PostBatch batch = readPosts(reader);
+            page = FeedPage.fromArray(batch.visiblePosts, batch.rawCount);
+        } else if (first == JsonToken.BEGIN_OBJECT) {
+            page = readResponse(reader);
+        } else {
+            throw new JsonParseException("Unexpected feed root token: " + first);
+        }
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonParseException("Feed response has trailing content");
+        }
+        return page;
+    }
+
+    private FeedPage readResponse(JsonReader reader) throws IOException {
+        FeedResponse response = new FeedResponse();
+        int postListRawCount = 0;
+        int dataRawCount = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "status_code":
+                    response.statusCode = reader.nextInt();
+                    break;
+                case "code":
+                    response.code = reader.nextInt();
+                    break;
+                case "message":
+                    response.message = reader.nextString();
+                    break;
+                case "has_more":
+                    response.hasMore = readFlag(reader);
+                    break;
+                case "post_list":
+                    PostBatch postList = readPosts(reader);
+                    response.postList = postList.visiblePosts;
+                    postListRawCount = postList.rawCount;
+                    break;
+                case "data":
+                    PostBatch data = readPosts(reader);
+                    response.data = data.visiblePosts;
+                    dataRawCount = data.rawCount;
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return FeedPage.fromResponse(response,
+                response.data != null ? dataRawCount : postListRawCount);
+    }
+
+    private PostBatch readPosts(JsonReader reader) throws IOException {
+        PostBatch batch = new PostBatch();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Post post = postAdapter.read(reader);
+            batch.rawCount++;
+            if (post != null && post.clips != null && !post.clips.isEmpty()) {
+                batch.visiblePosts.add(post);
+            }
+        }
+        reader.endArray();
+        return batch;
+    }
+
+    private static final class PostBatch {
+        final List<Post> visiblePosts = new ArrayList<>();
+        int rawCount;
+    }
+
+    private static int readFlag(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean() ? 1 : 0;
+        }
+        return reader.nextInt();
+    }
+}
@@ -0,0 +1,418 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.limtide.ugclite.data.model.ClipVisibilityPolicy;
+import com.limtide.ugclite.data.model.Post;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Post及其嵌套类型的手写TypeAdapter
+ * 避免Gson反射解析，字段语义与@SerializedName保持一致：
+ * 缺失字段保留构造函数默认值，显式null覆盖对象字段，未知字段跳过。
+ * 指定片段可见性策略时，在解析过程中直接丢弃null和不支持的片段。
+ */
+final class FeedTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final int STRING_POOL_CAPACITY = 512;
+
+    private final AuthorAdapter authorAdapter;
+    private final HashtagAdapter hashtagAdapter = new HashtagAdapter();
+    private final ClipAdapter clipAdapter = new ClipAdapter();
+    private final MusicAdapter musicAdapter;
+    private final PostAdapter postAdapter;
+
+    FeedTypeAdapterFactory() {
+        this(null);
+    }
+
+    FeedTypeAdapterFactory(ClipVisibilityPolicy clipVisibility) {
+        StringPool stringPool = new StringPool(STRING_POOL_CAPACITY);
+        authorAdapter = new AuthorAdapter(stringPool);
+        musicAdapter = new MusicAdapter(stringPool);
+        postAdapter = new PostAdapter(
+                authorAdapter, hashtagAdapter, clipAdapter, musicAdapter, clipVisibility);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Post.class) {
+            return (TypeAdapter<T>) postAdapter;
+        }
+        if (rawType == Post.Author.class) {
+            return (TypeAdapter<T>) authorAdapter;
+        }
+        if (rawType == Post.Hashtag.class) {
+            return (TypeAdapter<T>) hashtagAdapter;
+        }
+        if (rawType == Post.Clip.class) {
+            return (TypeAdapter<T>) clipAdapter;
+        }
+        if (rawType == Post.Music.class) {
+            return (TypeAdapter<T>) musicAdapter;
+        }
+        return null;
+    }
+
+    static final class PostAdapter extends TypeAdapter<Post> {
+        private final AuthorAdapter authorAdapter;
+        private final HashtagAdapter hashtagAdapter;
+        private final ClipAdapter clipAdapter;
+        private final MusicAdapter musicAdapter;
+        private final ClipVisibilityPolicy clipVisibility;
+
+        PostAdapter(AuthorAdapter authorAdapter, HashtagAdapter hashtagAdapter,
+                    ClipAdapter clipAdapter, MusicAdapter musicAdapter,
+                    ClipVisibilityPolicy clipVisibility) {
+            this.authorAdapter = authorAdapter;
+            this.hashtagAdapter = hashtagAdapter;
+            this.clipAdapter = clipAdapter;
+            this.musicAdapter = musicAdapter;
+            this.clipVisibility = clipVisibility;
+        }
+
+        @Override
+        public Post read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post post = new Post();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "post_id":
+                        post.postId = readString(in);
+                        break;
+                    case "title":
+                        post.title = readString(in);
+                        break;
+                    case "content":
+                        post.content = readString(in);
+                        break;
+                    case "create_time":
+                        if (!skipNull(in)) {
+                            post.createTime = in.nextLong();
+                        }
+                        break;
+                    case "author":
+                        post.author = authorAdapter.read(in);
+                        break;
+                    case "hashtag":
+                        post.hashtags = readHashtags(in);
+                        break;
+                    case "clips":
+                        post.clips = clipVisibility == null
+                                ? readList(in, clipAdapter)
+                                : readVisibleClips(in);
+                        break;
+                    case "music":
+                        post.music = musicAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return post;
+        }
+
+        private List<Post.Clip> readVisibleClips(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            List<Post.Clip> clips = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                Post.Clip clip = clipAdapter.read(in);
+                if (clip != null && clipVisibility.isVisible(clip.type)) {
+                    clips.add(clip);
+                }
+            }
+            in.endArray();
+            return clips;
+        }
+
+        private List<Post.Hashtag> readHashtags(JsonReader in) throws IOException {
+            // 兼容hashtag为单个对象的情况，与Post.setHashtagFromObject语义一致
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                List<Post.Hashtag> hashtags = new ArrayList<>(1);
+                hashtags.add(hashtagAdapter.read(in));
+                return hashtags;
+            }
+            return readList(in, hashtagAdapter);
+        }
+
+        @Override
+        public void write(JsonWriter out, Post post) throws IOException {
+            if (post == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("post_id").value(post.postId);
+            out.name("title").value(post.title);
+            out.name("content").value(post.content);
+            out.name("create_time").value(post.createTime);
+            out.name("author");
+            authorAdapter.write(out, post.author);
+            out.name("hashtag");
+            writeList(out, post.hashtags, hashtagAdapter);
+            out.name("clips");
+            writeList(out, post.clips, clipAdapter);
+            out.name("music");
+            musicAdapter.write(out, post.music);
+            out.endObject();
+        }
+    }
+
+    static final class AuthorAdapter extends TypeAdapter<Post.Author> {
+        private final StringPool stringPool;
+
+        AuthorAdapter(StringPool stringPool) {
+            this.stringPool = stringPool;
+        }
+
+        @Override
+        public Post.Author read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post.Author author = new Post.Author();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "user_id":
+                        author.userId = stringPool.intern(readString(in));
+                        break;
+                    case "nickname":
+                        author.nickname = stringPool.intern(readString(in));
+                        break;
+                    case "avatar":
+                        author.avatarUrl = stringPool.intern(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return author;
+        }
+
+        @Override
+        public void write(JsonWriter out, Post.Author author) throws IOException {
+            if (author == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("user_id").value(author.userId);
+            out.name("nickname").value(author.nickname);
+            out.name("avatar").value(author.avatarUrl);
+            out.endObject();
+        }
+    }
+
+    static final class HashtagAdapter extends TypeAdapter<Post.Hashtag> {
+        @Override
+        public Post.Hashtag read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post.Hashtag hashtag = new Post.Hashtag();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "start":
+                        if (!skipNull(in)) {
+                            hashtag.start = in.nextInt();
+                        }
+                        break;
+                    case "end":
+                        if (!skipNull(in)) {
+                            hashtag.end = in.nextInt();
+                        }
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return hashtag;
+        }
+
+        @Override
+        public void write(JsonWriter out, Post.Hashtag hashtag) throws IOException {
+            if (hashtag == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("start").value(hashtag.start);
+            out.name("end").value(hashtag.end);
+            out.endObject();
+        }
+    }
+
+    static final class ClipAdapter extends TypeAdapter<Post.Clip> {
+        @Override
+        public Post.Clip read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post.Clip clip = new Post.Clip();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        if (!skipNull(in)) {
+                            clip.type = in.nextInt();
+                        }
+                        break;
+                    case "width":
+                        if (!skipNull(in)) {
+                            clip.width = in.nextInt();
+                        }
+                        break;
+                    case "height":
+                        if (!skipNull(in)) {
+                            clip.height = in.nextInt();
+                        }
+                        break;
+                    case "url":
+                        clip.url = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return clip;
+        }
+
+        @Override
+        public void write(JsonWriter out, Post.Clip clip) throws IOException {
+            if (clip == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("type").value(clip.type);
+            out.name("width").value(clip.width);
+            out.name("height").value(clip.height);
+            out.name("url").value(clip.url);
+            out.endObject();
+        }
+    }
+
+    static final class MusicAdapter extends TypeAdapter<Post.Music> {
+        private final StringPool stringPool;
+
+        MusicAdapter(StringPool stringPool) {
+            this.stringPool = stringPool;
+        }
+
+        @Override
+        public Post.Music read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post.Music music = new Post.Music();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "volume":
+                        if (!skipNull(in)) {
+                            music.volume = in.nextInt();
+                        }
+                        break;
+                    case "seek_time":
+                        if (!skipNull(in)) {
+                            music.seekTime = in.nextInt();
+                        }
+                        break;
+                    case "url":
+                        music.url = stringPool.intern(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return music;
+        }
+
+        @Override
+        public void write(JsonWriter out, Post.Music music) throws IOException {
+            if (music == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("volume").value(music.volume);
+            out.name("seek_time").value(music.seekTime);
+            out.name("url").value(music.url);
+            out.endObject();
+        }
+    }
+
+    private static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter) throws IOException {
+        if (skipNull(in)) {
+            return null;
+        }
+        List<T> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(elementAdapter.read(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> values, TypeAdapter<T> elementAdapter)
+            throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T value : values) {
+            elementAdapter.write(out, value);
+        }
+        out.endArray();
+    }
+}
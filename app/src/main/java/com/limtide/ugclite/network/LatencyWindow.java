@@ -0,0 +1,45 @@
+package com.limtide.ugclite.network;
+
+import java.util.Arrays;
+
+/**
+ * 最近capacity次请求耗时的滑动窗口，用于计算对冲阈值
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int size;
+
+    LatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[Math.max(1, capacity)];
+        this.minSamples = Math.max(1, Math.min(minSamples, samples.length));
+    }
+
+    synchronized void record(long millis) {
+        samples[next] = Math.max(0, millis);
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @param quantile 0到1之间的分位数
+     * @return 样本不足minSamples时返回-1
+     */
+    synchronized long percentile(double quantile) {
+        if (size < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
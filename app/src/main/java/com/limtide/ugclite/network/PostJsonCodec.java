@@ -0,0 +1,32 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.limtide.ugclite.data.model.Post;
+
+/**
+ * 作品与JSON互转，用于本地持久化
+ * 与Feed接口使用同一套手写TypeAdapter，字段名与接口一致；片段在接口解析时已经过滤，这里不再过滤。
+ */
+public final class PostJsonCodec {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new FeedTypeAdapterFactory())
+            .create();
+
+    public String encode(Post post) {
+        return gson.toJson(post, Post.class);
+    }
+
+    /**
+     * @throws JsonParseException 内容不是合法的作品JSON
+     */
+    public Post decode(String json) {
+        Post post = gson.fromJson(json, Post.class);
+        if (post == null) {
+            throw new JsonParseException("空的作品JSON");
+        }
+        return post;
+    }
+}
@@ -0,0 +1,35 @@
+package com.limtide.ugclite.network;
+
+/**
+ * 重试令牌桶，防止服务端故障时重试放大流量
+ * 每次重试或对冲消耗1个令牌，每次成功返还tokenRatio个；
+ * 令牌低于上限一半时不再重试，直到成功的请求把令牌补回来。
+ */
+final class RetryBudget {
+
+    private final double maxTokens;
+    private final double tokenRatio;
+    private double tokens;
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = Math.max(1, maxTokens);
+        this.tokenRatio = Math.max(0, tokenRatio);
+        this.tokens = this.maxTokens;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (tokens <= maxTokens / 2) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        tokens = Math.min(maxTokens, tokens + tokenRatio);
+    }
+
+    synchronized double getTokens() {
+        return tokens;
+    }
+}
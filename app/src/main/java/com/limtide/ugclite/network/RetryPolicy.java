@@ -0,0 +1,73 @@
+package com.limtide.ugclite.network;
+
+import java.util.Random;
+
+/**
+ * Feed GET请求的重试策略
+ * 指数退避 + 全抖动（每次等待[0, min(maxDelay, baseDelay * 2^(n-1))]内的随机时长），
+ * 可选对冲请求：首个请求超过近期p95耗时仍未返回时再发一个相同请求，取先返回的结果。
+ * 只用于幂等的GET请求，POST不重试。
+ */
+public final class RetryPolicy {
+
+    /** 不重试也不对冲 */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, false);
+
+    /** 默认最多3次尝试，退避200ms起、上限2秒，不对冲 */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, 200, 2000, false);
+
+    /**
+     * 在DEFAULT基础上开启对冲，需要显式选用：约5%的请求（超过p95的那部分）会多发一次，
+     * 服务端负载相应增加，对冲请求同样受重试预算限制
+     */
+    public static final RetryPolicy HEDGED = new RetryPolicy(3, 200, 2000, true);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean hedging;
+
+    /**
+     * @param maxAttempts 最多尝试次数（包括第一次），至少为1
+     * @param baseDelayMillis 第一次重试的退避上限
+     * @param maxDelayMillis 单次退避的上限
+     * @param hedging 是否在p95耗时后发出对冲请求
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, boolean hedging) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+        this.hedging = hedging;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * 第retry次重试前的等待时长
+     * @param retry 从1开始的重试序号
+     */
+    long backoffMillis(int retry, Random random) {
+        if (baseDelayMillis == 0) {
+            return 0;
+        }
+        int shift = Math.min(30, Math.max(0, retry - 1));
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        return (long) (random.nextDouble() * (ceiling + 1));
+    }
+
+    /**
+     * 超时、限流和服务端临时错误可以重试；其他4xx和业务错误重试也不会成功
+     */
+    static boolean isRetryableStatus(int code) {
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+}
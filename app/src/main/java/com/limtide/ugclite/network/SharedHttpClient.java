@@ -0,0 +1,60 @@
+package com.limtide.ugclite.network;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * 全应用共享的OkHttpClient
+ * Feed接口、音乐下载和Glide图片加载都从这里派生（newBuilder），共享连接池、DNS缓存和TLS会话，
+ * 避免各自建立连接；派生的客户端只按需调整超时、缓存等配置。
+ */
+public final class SharedHttpClient {
+
+    private static final int CONNECT_TIMEOUT = 15;       // 连接超时15秒
+    private static final int READ_TIMEOUT = 30;          // 读取超时30秒
+    private static final int MAX_IDLE_CONNECTIONS = 8;   // 图片CDN并发较多，多保留几个空闲连接
+    private static final int KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 64;
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+    private static final long DNS_TTL_MILLIS = 60_000;   // DNS结果缓存60秒
+    private static final int DNS_CACHE_ENTRIES = 32;
+
+    private static volatile OkHttpClient client;
+
+    private SharedHttpClient() {
+    }
+
+    public static OkHttpClient get() {
+        if (client == null) {
+            synchronized (SharedHttpClient.class) {
+                if (client == null) {
+                    client = build();
+                }
+            }
+        }
+        return client;
+    }
+
+    private static OkHttpClient build() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                // 优先HTTP/2，同一域名的请求复用一条连接
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .dns(new CachingDns(Dns.SYSTEM, DNS_TTL_MILLIS, DNS_CACHE_ENTRIES))
+                .build();
+    }
+}
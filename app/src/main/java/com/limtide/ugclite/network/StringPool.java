@@ -0,0 +1,32 @@
+package com.limtide.ugclite.network;
+
+/**
+ * 固定容量的字符串驻留池
+ * 作者ID、头像等字段在每页中大量重复，解析后替换为同一个实例以减少常驻内存。
+ * 槽位按哈希直接映射，冲突时覆盖；String不可变，并发下的竞争写入是无害的。
+ */
+final class StringPool {
+
+    private final String[] slots;
+    private final int mask;
+
+    StringPool(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new String[size];
+        mask = size - 1;
+    }
+
+    String intern(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String cached = slots[index];
+        if (cached != null && cached.equals(value)) {
+            return cached;
+        }
+        slots[index] = value;
+        return value;
+    }
+}
@@ -0,0 +1,200 @@
+package com.limtide.ugclite.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * 记录单次调用各阶段时间点，调用结束时生成CallTiming写入记录器
+ * 解析耗时由ApiService.handleResponse通过Factory.forCall(call)补充。流式解析读到响应体末尾时
+ * OkHttp就会callEnd，此时解析可能还没结束，所以解析期间到达的callEnd会推迟到endParse再记录。
+ */
+final class TimingEventListener extends EventListener {
+
+    private static final long NOT_SET = Long.MIN_VALUE;
+
+    static final class Factory implements EventListener.Factory {
+        private final CallTimingRecorder recorder;
+        private final Map<Call, TimingEventListener> live = new ConcurrentHashMap<>();
+
+        Factory(CallTimingRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            TimingEventListener listener = new TimingEventListener(this, call);
+            live.put(call, listener);
+            return listener;
+        }
+
+        /**
+         * @return 进行中调用的监听器，调用已结束或不是本客户端发出的返回null
+         */
+        TimingEventListener forCall(Call call) {
+            return live.get(call);
+        }
+
+        int liveCount() {
+            return live.size();
+        }
+
+        private void finish(Call call, CallTiming timing) {
+            live.remove(call);
+            recorder.record(timing);
+        }
+    }
+
+    private final Factory factory;
+    private final String url;
+
+    private long callStart = NOT_SET;
+    private long dnsStart = NOT_SET;
+    private long dnsEnd = NOT_SET;
+    private long connectStart = NOT_SET;
+    private long connectEnd = NOT_SET;
+    private long secureConnectStart = NOT_SET;
+    private long secureConnectEnd = NOT_SET;
+    private long responseHeadersStart = NOT_SET;
+    private long responseBodyStart = NOT_SET;
+    private long responseBodyEnd = NOT_SET;
+    private long callEnd = NOT_SET;
+    private long parseNanos = -1;
+    private long responseBytes = -1;
+    private boolean cacheHit;
+    private boolean parsing;
+    private boolean ended;
+    private boolean success;
+
+    private TimingEventListener(Factory factory, Call call) {
+        this.factory = factory;
+        this.url = call.request().url().encodedPath();
+    }
+
+    synchronized void beginParse() {
+        parsing = true;
+    }
+
+    /**
+     * @param nanos 解析耗时，解析失败时传-1
+     */
+    void endParse(Call call, long nanos) {
+        synchronized (this) {
+            parsing = false;
+            parseNanos = nanos;
+            if (!ended) {
+                return;
+            }
+        }
+        record(call);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        // 连接失败后会换地址重连，只保留最后一次
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseHeadersStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBodyEnd = System.nanoTime();
+        responseBytes = byteCount;
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        cacheHit = true;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(call, true);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        finish(call, false);
+    }
+
+    private void finish(Call call, boolean success) {
+        synchronized (this) {
+            callEnd = System.nanoTime();
+            this.success = success;
+            ended = true;
+            if (parsing) {
+                return;
+            }
+        }
+        record(call);
+    }
+
+    private synchronized void record(Call call) {
+        long[] micros = new long[CallTiming.Phase.values().length];
+        micros[CallTiming.Phase.DNS.ordinal()] = span(dnsStart, dnsEnd);
+        micros[CallTiming.Phase.CONNECT.ordinal()] = span(connectStart, connectEnd);
+        micros[CallTiming.Phase.TLS.ordinal()] = span(secureConnectStart, secureConnectEnd);
+        micros[CallTiming.Phase.TTFB.ordinal()] = span(callStart, responseHeadersStart);
+        micros[CallTiming.Phase.BODY.ordinal()] = span(responseBodyStart, responseBodyEnd);
+        micros[CallTiming.Phase.PARSE.ordinal()] = parseNanos >= 0 ? parseNanos / 1000 : -1;
+        micros[CallTiming.Phase.TOTAL.ordinal()] = span(callStart, callEnd);
+        factory.finish(call, new CallTiming(
+                System.currentTimeMillis(), url, success, cacheHit, micros, responseBytes));
+    }
+
+    private static long span(long start, long end) {
+        if (start == NOT_SET || end == NOT_SET || end < start) {
+            return -1;
+        }
+        return (end - start) / 1000;
+    }
+}
@@ -1,18 +1,43 @@
 package com.limtide.ugclite.ui.activity;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.widget.Toast;
 
+import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.ActivityHashtagBinding;
+import com.limtide.ugclite.ui.adapter.NoteCardAdapter;
+import com.limtide.ugclite.ui.component.LoadMoreScrollListener;
+import com.limtide.ugclite.ui.viewmodel.FeedUiState;
+import com.limtide.ugclite.ui.viewmodel.FeedViewModel;
 import com.limtide.ugclite.utils.AuthenticationGate;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+import java.io.Serializable;
+import java.util.List;
 
 /**
- * 话题词页面 - 简洁设计
+ * 话题词页面 - 展示带有该话题的作品
+ * 作品来自FeedRepository中该话题独立的Feed，与首页的分页状态互不影响。
  */
 public class HashtagActivity extends AppCompatActivity {
 
+    private static final String TAG = "HashtagActivity";
+
     // ViewBinding
     private ActivityHashtagBinding binding;
+    private NoteCardAdapter notecardAdapter;
+    private FeedViewModel feedViewModel;
+    private LoadMoreScrollListener loadMoreListener;
+    // 可见位置缓冲，滚动时复用
+    private int[] firstVisiblePositions = new int[0];
+    private int[] lastVisiblePositions = new int[0];
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,12 +65,120 @@ public class HashtagActivity extends AppCompatActivity {
     }
 
     private void handleIntent() {
-        String hashtag = getIntent().getStringExtra("hashtag");
-        if (hashtag != null) {
-            // 去掉#号，如果有重复的话
-            String cleanHashtag = hashtag.replace("#", "").trim();
-            binding.titleText.setText("#" + cleanHashtag);
-            binding.hashtagText.setText("这是话题 " + cleanHashtag + " 的内容页面\n\n这里可以展示与该话题相关的所有作品和讨论。");
+        String hashtag = getIntent().getStringExtra(FeedViewModel.ARG_HASHTAG);
+        if (hashtag == null) {
+            Log.w(TAG, "缺少话题词，关闭页面");
+            finish();
+            return;
+        }
+        // 去掉#号，如果有重复的话
+        String cleanHashtag = hashtag.replace("#", "").trim();
+        binding.titleText.setText("#" + cleanHashtag);
+
+        // Intent extras作为ViewModel的页面参数，按ARG_HASHTAG选择话题Feed
+        feedViewModel = new ViewModelProvider(this).get(FeedViewModel.class);
+        setupFeed();
+    }
+
+    private void setupFeed() {
+        notecardAdapter = new NoteCardAdapter(this);
+        binding.recyclerView.setAdapter(notecardAdapter);
+        notecardAdapter.setOnItemClickListener((post, position) -> navigateToDetail(post));
+
+        loadMoreListener = new LoadMoreScrollListener(new LoadMoreScrollListener.Callback() {
+            @Override
+            public boolean canLoadMore() {
+                FeedUiState state = feedViewModel.getUiState().getValue();
+                return state != null && state.hasMore() && !state.isLoading();
+            }
+
+            @Override
+            public void onLoadMore() {
+                feedViewModel.loadMoreFeed();
+            }
+        });
+        loadMoreListener.attachTo(binding.recyclerView);
+
+        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                updateVisibleRange();
+            }
+        });
+
+        binding.swipeRefreshLayout.setOnRefreshListener(() -> feedViewModel.refreshFeed());
+        feedViewModel.getUiState().observe(this, this::render);
+        feedViewModel.loadFeed();
+    }
+
+    private void render(FeedUiState state) {
+        List<Post> posts = state.getPosts();
+        notecardAdapter.setPosts(posts);
+        binding.swipeRefreshLayout.setRefreshing(state.isLoading());
+
+        String errorMsg = state.getErrorMessage();
+        if (errorMsg != null && !errorMsg.isEmpty()) {
+            if (posts.isEmpty()) {
+                showEmptyState(errorMsg);
+            } else {
+                Toast.makeText(this, errorMsg, Toast.LENGTH_SHORT).show();
+            }
+            feedViewModel.clearErrorMessage();
+        } else if (state.isEmptyState()) {
+            showEmptyState("暂时没有该话题的作品");
+        } else {
+            binding.hashtagText.setVisibility(View.GONE);
+        }
+    }
+
+    /**
+     * 把可见范围告诉ViewModel，由它换出远离视口的分页
+     */
+    private void updateVisibleRange() {
+        StaggeredGridLayoutManager layoutManager =
+                (StaggeredGridLayoutManager) binding.recyclerView.getLayoutManager();
+        if (layoutManager == null) {
+            return;
+        }
+        int spans = layoutManager.getSpanCount();
+        if (lastVisiblePositions.length != spans) {
+            firstVisiblePositions = new int[spans];
+            lastVisiblePositions = new int[spans];
+        }
+        int first = Integer.MAX_VALUE;
+        for (int pos : layoutManager.findFirstVisibleItemPositions(firstVisiblePositions)) {
+            if (pos != RecyclerView.NO_POSITION && pos < first) {
+                first = pos;
+            }
+        }
+        int last = RecyclerView.NO_POSITION;
+        for (int pos : layoutManager.findLastVisibleItemPositions(lastVisiblePositions)) {
+            if (pos > last) {
+                last = pos;
+            }
+        }
+        if (first != Integer.MAX_VALUE && last != RecyclerView.NO_POSITION) {
+            feedViewModel.onVisibleRangeChanged(first, last);
+        }
+    }
+
+    private void showEmptyState(String message) {
+        binding.hashtagText.setText(message);
+        binding.hashtagText.setVisibility(View.VISIBLE);
+    }
+
+    private void navigateToDetail(Post post) {
+        Intent intent = new Intent(this, PostDetailActivity.class);
+        intent.putExtra("post", (Serializable) post);
+        startActivity(intent);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (loadMoreListener != null && binding != null) {
+            loadMoreListener.detachFrom(binding.recyclerView);
+            loadMoreListener = null;
         }
     }
-}
\ No newline at end of file
+}
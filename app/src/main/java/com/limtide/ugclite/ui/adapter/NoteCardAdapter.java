@@ -2,6 +2,9 @@ package com.limtide.ugclite.ui.adapter;
 
 import android.content.Context;
 import android.content.Intent;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -12,11 +15,19 @@ import java.io.Serializable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.request.target.Target;
 import com.limtide.ugclite.R;
+import com.limtide.ugclite.UGCGlideModule;
 import com.limtide.ugclite.ui.activity.PostDetailActivity;
+import com.limtide.ugclite.data.model.CardLayoutSpec;
+import com.limtide.ugclite.data.model.FeedList;
 import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.NoteCardBinding;
 import com.limtide.ugclite.utils.LikeManager;
@@ -28,25 +39,37 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 瀑布流适配器 - 用于展示note_card内容
  *
  * @线程安全说明:
- * - 使用ReentrantReadWriteLock保护集合操作
- * - 使用Collections.synchronizedList保证List操作线程安全
- * - 所有数据修改操作都在写锁保护下进行
- * - 所有数据读取操作都在读锁保护下进行
+ * - 数据是不可变的列表快照，通过volatile引用发布，读取不加锁
+ * - 所有修改都在主线程经apply替换快照，再通知RecyclerView
  */
     public class NoteCardAdapter extends RecyclerView.Adapter<NoteCardAdapter.ViewHolder> {
 
     private static final String TAG = "WaterfallAdapter";
-    private final List<Post> postList;
-    private final ReentrantReadWriteLock dataLock = new ReentrantReadWriteLock();
+    private static final float AVATAR_SIZE_DP = 16f;
+    // 当前展示的不可变快照，只在主线程经apply替换
+    private volatile List<Post> posts = Collections.emptyList();
+    // posts对应的FeedList版本，-1表示不是来自FeedList
+    private long appliedVersion = -1;
+    // 后台差异计算，只在主线程读写
+    private static final ExecutorService DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private int diffGeneration;
+    private boolean diffPending;
     private Context context;
     private OnItemClickListener onItemClickListener;
     private LikeManager likeManager;
+    // 头像的解码尺寸，与UserAvatarStyle的16dp一致
+    private final int avatarSizePx;
+    // 快速滑动期间为true，只在主线程访问
+    private boolean deferImageLoads;
+    private RecyclerView recyclerView;
 
     public interface OnItemClickListener {
         void onItemClick(Post post, int position);
@@ -55,10 +78,11 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
     public NoteCardAdapter(Context context) {
         Log.d(TAG, "NoteCardAdapter constructor called - Context: " + (context != null ? context.getClass().getSimpleName() : "null"));
         this.context = context;
-        // 使用线程安全的List实现
-        this.postList = Collections.synchronizedList(new ArrayList<>());
         this.likeManager = LikeManager.getInstance(context);
-        Log.d(TAG, "NoteCardAdapter initialized successfully with thread-safe list - LikeManager: " + (likeManager != null ? "initialized" : "failed"));
+        this.avatarSizePx = (int) (AVATAR_SIZE_DP * context.getResources().getDisplayMetrics().density + 0.5f);
+        // 稳定ID由postId得出，刷新时同一作品的卡片可以被复用而不是重建
+        setHasStableIds(true);
+        Log.d(TAG, "NoteCardAdapter initialized successfully - LikeManager: " + (likeManager != null ? "initialized" : "failed"));
     }
 
     @NonNull
@@ -70,103 +94,58 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        // 使用读锁保护数据访问
-        dataLock.readLock().lock();
-        final Post post;
-        try {
-            // 检查位置有效性，避免IndexOutOfBoundsException
-            if (position < 0 || position >= postList.size()) {
-                Log.w(TAG, "Invalid position in onBindViewHolder: " + position + ", list size: " + postList.size());
-                return;
-            }
-            post = postList.get(position);
-        } finally {
-            dataLock.readLock().unlock();
+        List<Post> current = posts;
+        // 检查位置有效性，避免IndexOutOfBoundsException
+        if (position < 0 || position >= current.size()) {
+            Log.w(TAG, "Invalid position in onBindViewHolder: " + position + ", list size: " + current.size());
+            return;
         }
+        final Post post = current.get(position);
 
         NoteCardBinding binding = holder.getBinding();
 
-        // 如果post为null，设置默认值并返回
-        if (post == null) {
-            Log.w(TAG, "Post is null at position: " + position);
+        // 如果post为null或是换出内存的占位，设置默认值并返回
+        if (post == null || post.isPlaceholder()) {
+            if (post == null) {
+                Log.w(TAG, "Post is null at position: " + position);
+            }
+            // 取消复用卡片上未完成的请求，避免旧图片落到占位卡片上
+            Glide.with(context).clear(binding.coverImage);
+            Glide.with(context).clear(binding.userAvatar);
             binding.coverImage.setImageResource(R.drawable.ic_empty_state);
-            binding.videoTitle.setText("加载中...");
             binding.userAvatar.setImageResource(R.drawable.ic_user);
             binding.userName.setText("未知作者");
-            return;
-        }
-
-        // 设置封面图片 - 显示图片或视频类型的第一个clip作为封面
-        if (post.clips != null && !post.clips.isEmpty()) {
-            // 查找第一个图片或视频类型的clip
-            for (Post.Clip clip : post.clips) {
-                if (clip.type == 0 || clip.type == 1) {
-                    // 图片类型(type=0)或视频类型(type=1)
-                    if (clip.type == 0) {
-                        // 图片类型，直接加载图片
-                        Glide.with(context)
-                                .load(clip.url)
-                                .placeholder(R.drawable.ic_empty_state)
-                                .error(R.drawable.ic_empty_state)
-                                .into(binding.coverImage);
-                        Log.d(TAG, "加载图片封面: " + clip.url);
-                    } else {
-                        // 视频类型，使用VideoThumbnailUtil生成缩略图
-                        loadVideoThumbnailForCard(binding, clip.url);
-                        Log.d(TAG, "加载视频封面: " + clip.url);
-                    }
-
-                    // 动态调整封面容器高度，支持3:4到4:3的宽高比
-                    adjustCoverHeight(binding.coverContainer, clip);
-                    break; // 找到第一个图片或视频就停止
-                }
+            holder.imagesDeferred = false;
+            // 复用卡片上的点赞状态和点击事件属于上一个作品，占位卡片不显示也不响应点赞
+            binding.likeIcon.setImageResource(R.drawable.ic_like);
+            binding.likeCount.setText("");
+            binding.likeIcon.setOnClickListener(null);
+            binding.likeCount.setOnClickListener(null);
+            // 占位保留原卡片的布局信息，封面和标题高度不变，换出分页时瀑布流不会重新排列
+            CardLayoutSpec placeholderSpec = post != null ? post.getLayoutSpec() : null;
+            if (placeholderSpec != null) {
+                applyCoverHeight(binding.coverContainer, placeholderSpec.getCoverHeightPx());
+                binding.videoTitle.setText(placeholderSpec.getDisplayText());
+            } else {
+                binding.videoTitle.setText("加载中...");
             }
-        } else {
-            // 默认封面
-            binding.coverImage.setImageResource(R.drawable.ic_empty_state);
-            // 使用默认比例1:1
-            adjustCoverHeight(binding.coverContainer, null);
-        }
-
-        // 设置标题 - 优先展示标题，没有标题时展示正文
-        String displayText = "";
-        if (post.title != null && !post.title.trim().isEmpty()) {
-            displayText = post.title.trim();
-        } else if (post.content != null && !post.content.trim().isEmpty()) {
-            displayText = post.content.trim();
+            return;
         }
 
-        // 设置标题文本，TextView会自动处理行数和省略号
-        binding.videoTitle.setText(displayText);
-
-        // 强制TextView重新测量，以确保高度正确调整
-        binding.videoTitle.post(() -> {
-            binding.videoTitle.requestLayout();
-            // 同时请求父容器重新布局
-            if (binding.getRoot() != null) {
-                binding.getRoot().requestLayout();
-            }
-        });
+        // 布局信息通常已在仓库工作线程算好，这里只应用
+        CardLayoutSpec spec = layoutSpecOf(post);
 
-        Log.d(TAG, "Title display - Post: " + post.title +
-                  ", DisplayText: " + displayText.substring(0, Math.min(displayText.length(), 20)) + "...");
+        // 快速滑动时只取缓存，停下后仍在屏幕上的卡片再正常加载
+        holder.imagesDeferred = deferImageLoads;
+        bindImages(binding, post, spec, deferImageLoads);
+        applyCoverHeight(binding.coverContainer, spec.getCoverHeightPx());
 
+        // 设置标题文本，TextView会自动处理行数和省略号；绑定发生在布局过程中，无需再请求布局
+        binding.videoTitle.setText(spec.getDisplayText());
 
         // 设置用户信息
         if (post.author != null) {
             binding.userName.setText(post.author.nickname != null ? post.author.nickname : "");
-
-            // 设置用户头像
-            if (!TextUtils.isEmpty(post.author.avatarUrl)) {
-                Glide.with(context)
-                        .load(post.author.avatarUrl)
-                        .placeholder(R.drawable.ic_user)
-                        .error(R.drawable.ic_user)
-                        .circleCrop()
-                        .into(binding.userAvatar);
-            } else {
-                binding.userAvatar.setImageResource(R.drawable.ic_user);
-            }
         }
 
         // 设置点赞状态和数量
@@ -178,7 +157,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         binding.likeIcon.setOnClickListener(v -> {
             Log.d(TAG, "Like icon clicked");
             int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
+            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? getPost(clickedPosition) : post;
 
             if (clickedPost != null) {
                 Log.d(TAG, "Like icon clicked - Post: " + clickedPost.title +
@@ -193,7 +172,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         binding.likeCount.setOnClickListener(v -> {
             Log.d(TAG, "Like count clicked");
             int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
+            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? getPost(clickedPosition) : post;
 
             if (clickedPost != null) {
                 Log.d(TAG, "Like count clicked - Post: " + clickedPost.title +
@@ -209,9 +188,9 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         holder.itemView.setOnClickListener(v -> {
             Log.d(TAG, "Card main area clicked");
             int clickedPosition = holder.getAdapterPosition();
-            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? postList.get(clickedPosition) : post;
+            Post clickedPost = clickedPosition != RecyclerView.NO_POSITION ? getPost(clickedPosition) : post;
 
-            if (clickedPost != null) {
+            if (clickedPost != null && !clickedPost.isPlaceholder()) {
                 Log.d(TAG, "Card main area clicked - Post: " + clickedPost.title +
                           ", Position: " + clickedPosition +
                           ", PostId: " + clickedPost.postId +
@@ -235,7 +214,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         binding.getRoot().setOnLongClickListener(v -> {
             Log.d(TAG, "Card long pressed");
             int longPressedPosition = holder.getAdapterPosition();
-            Post longPressedPost = longPressedPosition != RecyclerView.NO_POSITION ? postList.get(longPressedPosition) : post;
+            Post longPressedPost = longPressedPosition != RecyclerView.NO_POSITION ? getPost(longPressedPosition) : post;
 
             if (longPressedPost != null) {
                 Log.d(TAG, "Card long pressed - Post: " + longPressedPost.title +
@@ -269,8 +248,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         int iconResource = isLiked ? R.drawable.ic_like_filled : R.drawable.ic_like;
         binding.likeIcon.setImageResource(iconResource);
 
-        // 设置点赞数量 - 格式化大数字显示
-        String likeCountStr = formatLikeCount(likeCount);
+        // 设置点赞数量 - 格式化大数字显示，常见的两种数量已预先格式化
+        String likeCountStr = layoutSpecOf(post).likeCountText(likeCount);
         binding.likeCount.setText(likeCountStr);
 
         Log.d(TAG, "Like display updated - Post: " + post.title +
@@ -356,17 +335,11 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
     @Override
     public int getItemCount() {
-        // 使用读锁保护大小读取
-        dataLock.readLock().lock();
-        try {
-            return postList.size();
-        } finally {
-            dataLock.readLock().unlock();
-        }
+        return posts.size();
     }
 
     /**
-     * 添加新的数据 - 线程安全
+     * 添加新的数据，需要在主线程调用
      */
     public void addPosts(List<Post> newPosts) {
         if (newPosts == null || newPosts.isEmpty()) {
@@ -374,71 +347,150 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
             return;
         }
 
-        // 使用写锁保护添加操作
-        dataLock.writeLock().lock();
-        try {
-            int oldSize = postList.size();
-            int newItemsCount = newPosts.size();
+        List<Post> current = posts;
+        List<Post> combined = new ArrayList<>(current.size() + newPosts.size());
+        combined.addAll(current);
+        combined.addAll(newPosts);
+        cancelPendingDiff();
+        apply(Collections.unmodifiableList(combined), -1);
 
-            // 创建副本避免并发修改
-            List<Post> newPostsCopy = new ArrayList<>(newPosts);
-            postList.addAll(newPostsCopy);
+        Log.d(TAG, "Added " + newPosts.size() + " new posts, old size: " + current.size()
+                + ", new size: " + combined.size());
+        notifyItemRangeInserted(current.size(), newPosts.size());
+    }
 
-            Log.d(TAG, "Thread-safe added " + newItemsCount + " new posts, old size: " + oldSize + ", new size: " + postList.size());
+    /**
+     * 设置新数据，需要在主线程调用
+     * 紧接上一版本的FeedList只应用记录的变化；纯追加或占位替换直接通知对应区间；
+     * 其它情况（如下拉刷新）在后台线程按postId计算差异后再分发，内容未变的卡片不会重新绑定。
+     */
+    public void setPosts(List<Post> newPosts) {
+        List<Post> safePosts = newPosts == null ? Collections.emptyList() : newPosts;
+        FeedList feedList = safePosts instanceof FeedList ? (FeedList) safePosts : null;
+        long newVersion = feedList != null ? feedList.version() : -1;
+        // FeedList本身不可变，直接作为快照；其它列表复制一份
+        List<Post> next = feedList != null ? feedList : Collections.unmodifiableList(new ArrayList<>(safePosts));
+        List<Post> current = posts;
+
+        if (diffPending) {
+            // 还有差异在计算，后续更新都排在它后面，以最新的一次为准
+            submitDiff(current, next, newVersion);
+            return;
+        }
+        if (feedList != null && newVersion == appliedVersion) {
+            return;
+        }
 
-            // 在锁保护下进行通知，确保状态一致性
-            notifyItemRangeInserted(oldSize, newItemsCount);
+        if (feedList != null && appliedVersion >= 0 && feedList.baseVersion() == appliedVersion) {
+            // 紧接着上一个版本：只应用这一版的变化，不再比对整个列表
+            apply(next, newVersion);
+            if (feedList.change() == FeedList.Change.APPEND) {
+                notifyAppended(feedList.changeStart(), feedList.changeCount());
+            } else {
+                notifySwapped(feedList.changeStart(), feedList.changeStart() + feedList.changeCount());
+            }
+            return;
+        }
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error in addPosts: " + e.getMessage(), e);
-        } finally {
-            dataLock.writeLock().unlock();
+        int appendStart = AppendOnlyListUpdate.appendStart(current, safePosts);
+        if (appendStart >= 0) {
+            apply(next, newVersion);
+            notifyAppended(appendStart, next.size() - appendStart);
+            return;
         }
+
+        int[] swapped = PlaceholderSwap.changedRange(current, safePosts);
+        if (swapped != null) {
+            // 分页换出/换回：同位置替换，不影响滚动位置
+            apply(next, newVersion);
+            notifySwapped(swapped[0], swapped[1]);
+            return;
+        }
+
+        submitDiff(current, next, newVersion);
     }
 
     /**
-     * 设置新数据（替换所有数据） - 线程安全
+     * 替换快照；唯一的修改入口，只在主线程调用，随后再通知RecyclerView
      */
-    public void setPosts(List<Post> posts) {
-        List<Post> safePosts = posts == null ? Collections.emptyList() : posts;
-        int appendStart;
-        int insertedCount = 0;
-        boolean replaced = false;
+    private void apply(List<Post> next, long version) {
+        posts = next;
+        appliedVersion = version;
+    }
 
-        dataLock.writeLock().lock();
-        try {
-            appendStart = AppendOnlyListUpdate.appendStart(postList, safePosts);
-            if (appendStart >= 0) {
-                insertedCount = safePosts.size() - appendStart;
-                if (insertedCount > 0) {
-                    postList.addAll(new ArrayList<>(
-                            safePosts.subList(appendStart, safePosts.size())));
-                }
-            } else {
-                postList.clear();
-                postList.addAll(new ArrayList<>(safePosts));
-                replaced = true;
-            }
-        } finally {
-            dataLock.writeLock().unlock();
+    private void notifyAppended(int start, int count) {
+        if (count > 0) {
+            notifyItemRangeInserted(start, count);
+            Log.d(TAG, "Feed page appended, start: " + start + ", count: " + count);
         }
+    }
 
-        if (replaced) {
-            notifyDataSetChanged();
-            Log.d(TAG, "Feed data replaced, total: " + safePosts.size());
-        } else if (insertedCount > 0) {
-            notifyItemRangeInserted(appendStart, insertedCount);
-            Log.d(TAG, "Feed page appended, start: " + appendStart
-                    + ", count: " + insertedCount);
+    private void notifySwapped(int start, int end) {
+        if (end > start) {
+            notifyItemRangeChanged(start, end - start);
+            Log.d(TAG, "Feed page swapped, start: " + start + ", count: " + (end - start));
         }
     }
 
+    private void cancelPendingDiff() {
+        diffGeneration++;
+        diffPending = false;
+    }
+
+    private void submitDiff(List<Post> oldPosts, List<Post> newPosts, long newVersion) {
+        int generation = ++diffGeneration;
+        diffPending = true;
+        DIFF_EXECUTOR.execute(() -> {
+            DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldPosts.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return newPosts.size();
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                    return PostDiff.sameItem(oldPosts.get(oldItemPosition), newPosts.get(newItemPosition));
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                    return PostDiff.sameContent(oldPosts.get(oldItemPosition), newPosts.get(newItemPosition));
+                }
+            });
+            mainHandler.post(() -> {
+                if (generation != diffGeneration) {
+                    // 计算期间又有新数据，丢弃过期的结果
+                    return;
+                }
+                diffPending = false;
+                apply(newPosts, newVersion);
+                result.dispatchUpdatesTo(NoteCardAdapter.this);
+                Log.d(TAG, "Feed data diffed, old: " + oldPosts.size() + ", new: " + newPosts.size());
+            });
+        });
+    }
+
+    @Override
+    public long getItemId(int position) {
+        List<Post> current = posts;
+        if (position < 0 || position >= current.size()) {
+            return RecyclerView.NO_ID;
+        }
+        return PostDiff.stableId(current.get(position));
+    }
+
     /**
      * 清空数据
      */
     public void clearPosts() {
-        int oldSize = postList.size();
-        postList.clear();
+        int oldSize = posts.size();
+        cancelPendingDiff();
+        apply(Collections.emptyList(), -1);
         notifyItemRangeRemoved(0, oldSize);
         Log.d(TAG, "Cleared all posts");
     }
@@ -465,76 +517,27 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
     }
 
     /**
-     * 调整封面容器高度，支持3:4到4:3的宽高比
+     * 作品的卡片布局信息；仓库没有预先计算时（如从Parcel恢复的作品）在这里计算一次并缓存
      */
-    private void adjustCoverHeight(android.view.View coverContainer, Post.Clip clip) {
-        if (coverContainer == null) {
-            return;
-        }
-
-        // 固定宽度189dp
-        final float containerWidth = 189f; // dp
-        float targetHeight;
-
-        if (clip != null && clip.width > 0 && clip.height > 0) {
-            // 计算原始宽高比
-            float originalAspectRatio = (float) clip.width / clip.height;
-            float finalAspectRatio;
-
-            // 检查原始比例是否在3:4到4:3范围内
-            // 3:4 = 0.75, 4:3 = 1.333...
-            if (originalAspectRatio >= 0.75f && originalAspectRatio <= 1.333f) {
-                // 在范围内，直接使用原始比例
-                finalAspectRatio = originalAspectRatio;
-                Log.d(TAG, "Using original aspect ratio: " + originalAspectRatio);
-            } else {
-                // 超出范围，使用最接近的限制值
-                if (originalAspectRatio < 0.75f) {
-                    // 太窄，使用最小比例3:4
-                    finalAspectRatio = 0.75f;
-                    Log.d(TAG, "Image too narrow (" + originalAspectRatio + "), using min ratio 3:4");
-                } else {
-                    // 太宽，使用最大比例4:3
-                    finalAspectRatio = 1.333f;
-                    Log.d(TAG, "Image too wide (" + originalAspectRatio + "), using max ratio 4:3");
-                }
-            }
-
-            // 根据宽度和最终宽高比计算高度
-            targetHeight = containerWidth / finalAspectRatio;
-
-            Log.d(TAG, "Cover height adjusted - Clip: " + clip.width + "x" + clip.height +
-                      ", OriginalRatio: " + originalAspectRatio +
-                      ", FinalRatio: " + finalAspectRatio +
-                      ", TargetHeight: " + targetHeight + "dp");
-        } else {
-            // 没有尺寸信息时，使用默认的3:4比例（常见的照片比例）
-            targetHeight = containerWidth / 0.75f;
-            Log.d(TAG, "No size info, using default 3:4 ratio - TargetHeight: " + targetHeight + "dp");
-        }
-
-        // 设置布局参数
-        android.view.ViewGroup.LayoutParams params = coverContainer.getLayoutParams();
-        if (params != null) {
-            // 将dp转换为px
-            final float scale = coverContainer.getContext().getResources().getDisplayMetrics().density;
-            params.height = (int) (targetHeight * scale + 0.5f);
-            coverContainer.setLayoutParams(params);
+    private CardLayoutSpec layoutSpecOf(Post post) {
+        CardLayoutSpec spec = post.getLayoutSpec();
+        if (spec == null) {
+            spec = CardLayoutSpec.compute(post,
+                    context.getResources().getDisplayMetrics().density,
+                    likeManager.getBaseLikeCount());
+            post.setLayoutSpec(spec);
         }
+        return spec;
     }
 
     /**
-     * 格式化点赞数量显示
+     * 设置封面容器高度（3:4到4:3的宽高比已在CardLayoutSpec中算好），高度不变时不修改布局参数
      */
-    private String formatLikeCount(int count) {
-        if (count < 1000) {
-            return String.valueOf(count);
-        } else if (count < 10000) {
-            return String.format("%.1fK", count / 1000.0);
-        } else if (count < 1000000) {
-            return String.format("%dK", count / 1000);
-        } else {
-            return String.format("%.1fM", count / 1000000.0);
+    private void applyCoverHeight(android.view.View coverContainer, int heightPx) {
+        android.view.ViewGroup.LayoutParams params = coverContainer.getLayoutParams();
+        if (params != null && params.height != heightPx) {
+            params.height = heightPx;
+            coverContainer.setLayoutParams(params);
         }
     }
 
@@ -543,6 +546,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
      */
     public static class ViewHolder extends RecyclerView.ViewHolder {
         private final NoteCardBinding binding;
+        // 快速滑动时绑定，图片只取了缓存
+        boolean imagesDeferred;
 
         public ViewHolder(@NonNull NoteCardBinding binding) {
             super(binding.getRoot());
@@ -555,40 +560,160 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
     }
 
     /**
-     * 获取指定位置的Post - 线程安全
+     * 获取指定位置的Post，可在任意线程调用
      * @param position 位置索引
      * @return Post对象，如果位置无效返回null
      */
     public Post getPost(int position) {
-        dataLock.readLock().lock();
-        try {
-            if (position < 0 || position >= postList.size()) {
-                Log.w(TAG, "Invalid position in getPost: " + position + ", list size: " + postList.size());
-                return null;
-            }
-            return postList.get(position);
-        } finally {
-            dataLock.readLock().unlock();
+        List<Post> current = posts;
+        if (position < 0 || position >= current.size()) {
+            Log.w(TAG, "Invalid position in getPost: " + position + ", list size: " + current.size());
+            return null;
         }
+        return current.get(position);
     }
 
     /**
-     * 获取所有Post的快照 - 线程安全
-     * @return Post列表的副本，避免并发修改
+     * 获取所有Post的快照，可在任意线程调用
+     * @return 当前不可变的列表快照
      */
     public List<Post> getPostsSnapshot() {
-        dataLock.readLock().lock();
-        try {
-            return new ArrayList<>(postList);
-        } finally {
-            dataLock.readLock().unlock();
+        return posts;
+    }
+
+    /**
+     * 预加载指定位置卡片的封面和头像，请求与onBindViewHolder中的一致，绑定时可直接命中内存缓存
+     * 预加载使用低优先级，解码线程优先处理屏幕上卡片的请求（优先级不影响缓存key）
+     * 没有本地缩略图的视频需要拉流抽帧，代价太高，不预加载
+     */
+    public void preloadImages(int position, @NonNull List<Target<?>> targets) {
+        List<Post> current = posts;
+        if (position < 0 || position >= current.size()) {
+            return;
+        }
+        Post post = current.get(position);
+        if (post == null || post.isPlaceholder()) {
+            return;
+        }
+        CardLayoutSpec spec = layoutSpecOf(post);
+        RequestManager glide = Glide.with(context);
+        Post.Clip cover = spec.getCoverClip();
+        if (cover != null && !TextUtils.isEmpty(cover.url)) {
+            String source = cover.type == 0
+                    ? cover.url
+                    : VideoThumbnailUtil.getCachedThumbnail(context, cover.url);
+            if (source != null) {
+                targets.add(coverRequest(glide, source, spec)
+                        .priority(Priority.LOW)
+                        .addListener(UGCGlideModule.decodeMetric(cover.width, cover.height))
+                        .preload(spec.getCoverWidthPx(), spec.getCoverHeightPx()));
+            }
+        }
+        if (post.author != null && !TextUtils.isEmpty(post.author.avatarUrl)) {
+            targets.add(avatarRequest(glide, post.author.avatarUrl)
+                    .priority(Priority.LOW)
+                    .addListener(UGCGlideModule.decodeMetric(0, 0))
+                    .preload(avatarSizePx, avatarSizePx));
         }
     }
 
+    /**
+     * 绑定封面和头像
+     * @param cacheOnly 只从内存和磁盘缓存取，不发起网络请求和视频抽帧
+     */
+    private void bindImages(NoteCardBinding binding, Post post, CardLayoutSpec spec, boolean cacheOnly) {
+        // 设置封面图片 - 显示图片或视频类型的第一个clip作为封面
+        Post.Clip cover = spec.getCoverClip();
+        if (cover == null) {
+            binding.coverImage.setImageResource(R.drawable.ic_empty_state);
+        } else if (cover.type == 0) {
+            // 图片类型，按卡片上的封面尺寸解码
+            coverRequest(Glide.with(context), cover.url, spec)
+                    .onlyRetrieveFromCache(cacheOnly)
+                    .priority(Priority.HIGH)
+                    .placeholder(R.drawable.ic_empty_state)
+                    .error(R.drawable.ic_empty_state)
+                    .addListener(UGCGlideModule.decodeMetric(cover.width, cover.height))
+                    .into(binding.coverImage);
+        } else {
+            // 视频类型，使用VideoThumbnailUtil生成缩略图
+            loadVideoThumbnailForCard(binding, spec, cacheOnly);
+        }
+
+        // 设置用户头像
+        if (post.author != null && !TextUtils.isEmpty(post.author.avatarUrl)) {
+            avatarRequest(Glide.with(context), post.author.avatarUrl)
+                    .onlyRetrieveFromCache(cacheOnly)
+                    .priority(Priority.HIGH)
+                    .placeholder(R.drawable.ic_user)
+                    .error(R.drawable.ic_user)
+                    .addListener(UGCGlideModule.decodeMetric(0, 0))
+                    .into(binding.userAvatar);
+        } else if (post.author != null) {
+            binding.userAvatar.setImageResource(R.drawable.ic_user);
+        }
+    }
+
+    /**
+     * 快速滑动期间绑定的卡片只从缓存取图，一闪而过的卡片不占用网络和解码线程；
+     * 屏幕上已经在加载的卡片不受影响。恢复时补齐仍在屏幕上的卡片的图片。
+     */
+    public void setDeferImageLoads(boolean defer) {
+        if (deferImageLoads == defer) {
+            return;
+        }
+        deferImageLoads = defer;
+        if (defer || recyclerView == null) {
+            return;
+        }
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            RecyclerView.ViewHolder child = recyclerView.getChildViewHolder(recyclerView.getChildAt(i));
+            if (!(child instanceof ViewHolder) || !((ViewHolder) child).imagesDeferred) {
+                continue;
+            }
+            ViewHolder holder = (ViewHolder) child;
+            holder.imagesDeferred = false;
+            int position = holder.getAdapterPosition();
+            Post post = position != RecyclerView.NO_POSITION ? getPost(position) : null;
+            if (post != null && !post.isPlaceholder()) {
+                bindImages(holder.getBinding(), post, layoutSpecOf(post), false);
+            }
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.recyclerView = recyclerView;
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        this.recyclerView = null;
+    }
+
+    /**
+     * 封面请求，绑定和预加载共用，保证内存缓存的key一致
+     */
+    private RequestBuilder<Drawable> coverRequest(RequestManager glide, String url, CardLayoutSpec spec) {
+        return glide.load(url)
+                .apply(UGCGlideModule.coverOptions(spec.getCoverWidthPx(), spec.getCoverHeightPx()));
+    }
+
+    /**
+     * 头像请求，绑定和预加载共用
+     */
+    private RequestBuilder<Drawable> avatarRequest(RequestManager glide, String url) {
+        return glide.load(url).apply(UGCGlideModule.avatarOptions(avatarSizePx));
+    }
+
     /**
      * 为NoteCard加载视频缩略图
      */
-    private void loadVideoThumbnailForCard(NoteCardBinding binding, String videoUrl) {
+    private void loadVideoThumbnailForCard(NoteCardBinding binding, CardLayoutSpec spec, boolean cacheOnly) {
+        Post.Clip cover = spec.getCoverClip();
+        String videoUrl = cover.url;
         if (videoUrl == null || videoUrl.isEmpty()) {
             binding.coverImage.setImageResource(R.drawable.ic_empty_state);
             return;
@@ -600,25 +725,37 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
         String cachedPath = VideoThumbnailUtil.getCachedThumbnail(context, videoUrl);
         if (cachedPath != null) {
             Log.d(TAG, "使用缓存的视频封面: " + cachedPath);
-            Glide.with(context)
-                    .load(cachedPath)
+            coverRequest(Glide.with(context), cachedPath, spec)
+                    .onlyRetrieveFromCache(cacheOnly)
+                    .priority(Priority.HIGH)
                     .placeholder(R.drawable.ic_empty_state)
                     .error(R.drawable.ic_empty_state)
+                    .addListener(UGCGlideModule.decodeMetric(cover.width, cover.height))
                     .into(binding.coverImage);
             return;
         }
 
+        if (cacheOnly) {
+            // 拉流抽帧代价太高，快速滑动时先显示占位
+            Glide.with(context).clear(binding.coverImage);
+            binding.coverImage.setImageResource(R.drawable.ic_empty_state);
+            return;
+        }
+
         // 没有缓存，使用Glide直接从视频提取第一帧
         Glide.with(context)
                 .load(videoUrl)
                 .apply(new com.bumptech.glide.request.RequestOptions().frame(1000000)) // 提取第一帧
+                .apply(UGCGlideModule.coverOptions(spec.getCoverWidthPx(), spec.getCoverHeightPx()))
+                .priority(Priority.HIGH)
                 .placeholder(R.drawable.ic_empty_state)
                 .error(R.drawable.ic_empty_state)
-                .listener(new com.bumptech.glide.request.RequestListener<android.graphics.drawable.Drawable>() {
+                .addListener(UGCGlideModule.decodeMetric(cover.width, cover.height))
+                .addListener(new com.bumptech.glide.request.RequestListener<android.graphics.drawable.Drawable>() {
                     @Override
                     public boolean onLoadFailed(@Nullable com.bumptech.glide.load.engine.GlideException e,
                                               Object model,
-                                              com.bumptech.glide.request.target.Target<android.graphics.drawable.Drawable> target,
+                                              Target<android.graphics.drawable.Drawable> target,
                                               boolean isFirstResource) {
                         Log.w(TAG, "视频封面加载失败: " + videoUrl);
                         return false;
@@ -627,7 +764,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
                     @Override
                     public boolean onResourceReady(android.graphics.drawable.Drawable resource,
                                                  Object model,
-                                                 com.bumptech.glide.request.target.Target<android.graphics.drawable.Drawable> target,
+                                                 Target<android.graphics.drawable.Drawable> target,
                                                  com.bumptech.glide.load.DataSource dataSource,
                                                  boolean isFirstResource) {
                         Log.d(TAG, "视频封面加载成功: " + videoUrl);
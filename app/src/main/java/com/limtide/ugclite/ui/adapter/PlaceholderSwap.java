@@ -0,0 +1,41 @@
+package com.limtide.ugclite.ui.adapter;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.List;
+
+/**
+ * 判断新列表是否只是把部分作品换成了同一postId的占位（或反过来）
+ * 这种更新位置和身份都不变，只需刷新变化的区间，滚动位置保持不动。
+ */
+final class PlaceholderSwap {
+    private PlaceholderSwap() {
+    }
+
+    /**
+     * @return 变化区间[start, end)；列表相同时返回长度为0的区间；不是同位置替换时返回null
+     */
+    static int[] changedRange(List<Post> current, List<Post> incoming) {
+        if (incoming == null || incoming.size() != current.size()) {
+            return null;
+        }
+        int start = -1;
+        int end = -1;
+        for (int index = 0; index < current.size(); index++) {
+            Post before = current.get(index);
+            Post after = incoming.get(index);
+            if (before == after) {
+                continue;
+            }
+            if (before == null || after == null || before.postId == null
+                    || !before.postId.equals(after.postId)) {
+                return null;
+            }
+            if (start < 0) {
+                start = index;
+            }
+            end = index + 1;
+        }
+        return start < 0 ? new int[] {0, 0} : new int[] {start, end};
+    }
+}
@@ -0,0 +1,105 @@
+package com.limtide.ugclite.ui.adapter;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.Objects;
+
+/**
+ * 基于postId的作品比对规则，供DiffUtil和稳定ID使用
+ */
+final class PostDiff {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PostDiff() {
+    }
+
+    /**
+     * 由postId得到的稳定ID（64位FNV-1a），占位与原作品ID相同；没有postId时按对象区分
+     */
+    static long stableId(Post post) {
+        if (post == null) {
+            return Long.MIN_VALUE;
+        }
+        if (post.postId == null || post.postId.isEmpty()) {
+            // 最高位置1，与postId哈希区分开
+            return Long.MIN_VALUE | System.identityHashCode(post);
+        }
+        // 逐个UTF-16字符计算，布局时频繁调用，不分配对象
+        long hash = FNV_OFFSET;
+        String postId = post.postId;
+        for (int i = 0; i < postId.length(); i++) {
+            hash ^= postId.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash & Long.MAX_VALUE;
+    }
+
+    static boolean sameItem(Post oldPost, Post newPost) {
+        if (oldPost == newPost) {
+            return true;
+        }
+        if (oldPost == null || newPost == null) {
+            return false;
+        }
+        if (oldPost.postId == null || oldPost.postId.isEmpty()) {
+            return false;
+        }
+        return oldPost.postId.equals(newPost.postId);
+    }
+
+    /**
+     * 卡片上展示的内容是否相同；相同则刷新时不重新绑定
+     */
+    static boolean sameContent(Post oldPost, Post newPost) {
+        if (oldPost == newPost) {
+            return true;
+        }
+        if (oldPost == null || newPost == null || oldPost.isPlaceholder() || newPost.isPlaceholder()) {
+            return false;
+        }
+        return Objects.equals(oldPost.title, newPost.title)
+                && Objects.equals(oldPost.content, newPost.content)
+                && sameAuthor(oldPost.author, newPost.author)
+                && sameCover(oldPost, newPost);
+    }
+
+    private static boolean sameAuthor(Post.Author a, Post.Author b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        return Objects.equals(a.nickname, b.nickname) && Objects.equals(a.avatarUrl, b.avatarUrl);
+    }
+
+    private static boolean sameCover(Post a, Post b) {
+        Post.Clip coverA = cover(a);
+        Post.Clip coverB = cover(b);
+        if (coverA == coverB) {
+            return true;
+        }
+        if (coverA == null || coverB == null) {
+            return false;
+        }
+        return coverA.type == coverB.type
+                && coverA.width == coverB.width
+                && coverA.height == coverB.height
+                && Objects.equals(coverA.url, coverB.url);
+    }
+
+    // 与onBindViewHolder一致：第一个图片或视频片段作为封面
+    private static Post.Clip cover(Post post) {
+        if (post.clips == null) {
+            return null;
+        }
+        for (Post.Clip clip : post.clips) {
+            if (clip != null && (clip.type == 0 || clip.type == 1)) {
+                return clip;
+            }
+        }
+        return null;
+    }
+}
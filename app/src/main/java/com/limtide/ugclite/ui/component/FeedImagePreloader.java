@@ -0,0 +1,162 @@
+package com.limtide.ugclite.ui.component;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.request.target.Target;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 滚动方向上的图片预加载，支持LinearLayoutManager和StaggeredGridLayoutManager
+ * 按滚动速度把即将进入屏幕的卡片图片提前载入Glide内存缓存；滚动方向反转时取消还未完成的请求。
+ * 具体请求由Source发出，需要与绑定时的请求选项完全一致，否则内存缓存的key对不上。
+ */
+public class FeedImagePreloader extends RecyclerView.OnScrollListener {
+
+    private static final String TAG = "FeedImagePreloader";
+    private static final int DEFAULT_MIN_ITEMS = 4;
+    private static final int DEFAULT_MAX_ITEMS = 16;
+
+    public interface Source {
+        /**
+         * 预加载指定位置卡片的图片，把发出的请求加入targets以便之后取消
+         */
+        void preloadImages(int position, @NonNull List<Target<?>> targets);
+    }
+
+    private final RequestManager requestManager;
+    private final Source source;
+    private final PreloadWindow window;
+    // 最近发出的请求，超过上限时清除并丢弃最早的
+    private final List<Target<?>> targets = new ArrayList<>();
+    private final int maxTargets;
+    private int[] firstPositions = new int[0];
+    private int[] lastPositions = new int[0];
+    private boolean paused;
+
+    public FeedImagePreloader(RequestManager requestManager, Source source) {
+        this(requestManager, source, DEFAULT_MIN_ITEMS, DEFAULT_MAX_ITEMS);
+    }
+
+    /**
+     * @param minItems 慢速滚动时预加载多少条
+     * @param maxItems 快速滚动时最多预加载多少条
+     */
+    public FeedImagePreloader(RequestManager requestManager, Source source, int minItems, int maxItems) {
+        this.requestManager = requestManager;
+        this.source = source;
+        this.window = new PreloadWindow(minItems, maxItems);
+        // 每张卡片有封面和头像两个请求
+        this.maxTargets = Math.max(minItems, maxItems) * 2;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0 || paused) {
+            return;
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager == null) {
+            return;
+        }
+        int first;
+        int last;
+        int spans;
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            StaggeredGridLayoutManager grid = (StaggeredGridLayoutManager) layoutManager;
+            spans = grid.getSpanCount();
+            if (lastPositions.length != spans) {
+                firstPositions = new int[spans];
+                lastPositions = new int[spans];
+            }
+            grid.findFirstVisibleItemPositions(firstPositions);
+            grid.findLastVisibleItemPositions(lastPositions);
+            // 两列高度不同，较短的一列之后的条目最先露出来
+            first = max(firstPositions);
+            last = min(lastPositions);
+        } else if (layoutManager instanceof LinearLayoutManager) {
+            LinearLayoutManager linear = (LinearLayoutManager) layoutManager;
+            spans = 1;
+            first = linear.findFirstVisibleItemPosition();
+            last = linear.findLastVisibleItemPosition();
+        } else {
+            return;
+        }
+
+        int height = recyclerView.getHeight();
+        int visible = last - first + 1;
+        double itemsPerPx = height > 0 && visible > 0 ? (double) visible / height : 0;
+        if (window.update(dy, first, last, layoutManager.getItemCount(), spans, itemsPerPx)) {
+            Log.d(TAG, "滚动方向反转，取消预加载请求: " + targets.size());
+            clearTargets();
+        }
+        for (int position = window.from(); position < window.to(); position++) {
+            source.preloadImages(position, targets);
+        }
+        int excess = targets.size() - maxTargets;
+        if (excess > 0) {
+            // 丢弃的请求可能还在进行，先清除，否则它们会一直占用解码线程且无法再取消
+            List<Target<?>> dropped = targets.subList(0, excess);
+            for (int i = 0; i < dropped.size(); i++) {
+                requestManager.clear(dropped.get(i));
+            }
+            dropped.clear();
+        }
+    }
+
+    /**
+     * 快速滑动时暂停预加载：此时窗口跟不上滚动，发出的请求多半用不上，
+     * 取消已发出的请求，恢复后从新的位置重新计算窗口
+     */
+    public void setPaused(boolean paused) {
+        if (this.paused == paused) {
+            return;
+        }
+        this.paused = paused;
+        if (paused) {
+            cancelAll();
+        }
+    }
+
+    /**
+     * 取消所有未完成的预加载请求，页面销毁时调用
+     */
+    public void cancelAll() {
+        clearTargets();
+        window.reset();
+    }
+
+    private void clearTargets() {
+        for (int i = 0; i < targets.size(); i++) {
+            requestManager.clear(targets.get(i));
+        }
+        targets.clear();
+    }
+
+    private static int min(int[] positions) {
+        int result = RecyclerView.NO_POSITION;
+        for (int pos : positions) {
+            if (pos != RecyclerView.NO_POSITION && (result == RecyclerView.NO_POSITION || pos < result)) {
+                result = pos;
+            }
+        }
+        return result;
+    }
+
+    private static int max(int[] positions) {
+        int result = RecyclerView.NO_POSITION;
+        for (int pos : positions) {
+            if (pos > result) {
+                result = pos;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+package com.limtide.ugclite.ui.component;
+
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.Display;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Locale;
+
+/**
+ * 按滚动状态调度图片请求
+ * 快速惯性滑动时通知监听方推迟新绑定卡片的图片加载（只取缓存），一闪而过的卡片不再占用解码线程和网络；
+ * 屏幕上已经开始加载的请求不受影响。滑动停下或被手指按住时恢复，留在屏幕上的卡片再补齐图片。
+ * 不暂停RequestManager：它跟随Activity生命周期，onStart时会被Glide自动恢复，且会连同可见卡片一起暂停。
+ * 同时统计滚动期间的帧间隔，推迟策略开启和关闭时分开记录，用于对比卡顿情况。
+ */
+public class FlingImageScheduler extends RecyclerView.OnScrollListener {
+
+    private static final String TAG = "FlingImageScheduler";
+    // 暂停和恢复的速度阈值，单位dp/ms
+    private static final float DEFAULT_PAUSE_VELOCITY_DP = 2.0f;
+    private static final float DEFAULT_RESUME_VELOCITY_DP = 0.75f;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    public interface Listener {
+        /**
+         * 开始或结束推迟图片加载
+         */
+        void onPauseChanged(boolean paused);
+    }
+
+    private final Listener listener;
+    private final FlingPolicy policy;
+    private final FrameJankStats pausingStats = new FrameJankStats();
+    private final FrameJankStats baselineStats = new FrameJankStats();
+    private final FrameJankStats sessionStats = new FrameJankStats();
+    private boolean pauseOnFling = true;
+    private boolean requestsPaused;
+    private boolean monitoring;
+    private long lastFrameNanos;
+    private long expectedFrameNanos;
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!monitoring) {
+                return;
+            }
+            if (lastFrameNanos > 0) {
+                long interval = frameTimeNanos - lastFrameNanos;
+                sessionStats.record(interval, expectedFrameNanos);
+                (pauseOnFling ? pausingStats : baselineStats).record(interval, expectedFrameNanos);
+            }
+            lastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    /**
+     * @param density 屏幕密度，用于换算速度阈值
+     * @param listener 推迟状态变化时回调
+     */
+    public FlingImageScheduler(float density, Listener listener) {
+        this(listener, DEFAULT_PAUSE_VELOCITY_DP * density, DEFAULT_RESUME_VELOCITY_DP * density);
+    }
+
+    /**
+     * @param pauseVelocity 惯性滑动速度高于它（px/ms）时暂停
+     * @param resumeVelocity 速度低于它（px/ms）时恢复
+     */
+    public FlingImageScheduler(Listener listener, double pauseVelocity, double resumeVelocity) {
+        this.listener = listener;
+        this.policy = new FlingPolicy(pauseVelocity, resumeVelocity);
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) {
+            return;
+        }
+        boolean settling = recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING;
+        if (policy.onScrolled(dy, settling, SystemClock.uptimeMillis())) {
+            updateRequests();
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            stopMonitoring();
+            if (policy.onIdle()) {
+                updateRequests();
+            }
+        } else {
+            startMonitoring(recyclerView);
+            if (newState == RecyclerView.SCROLL_STATE_DRAGGING && policy.onDragging()) {
+                updateRequests();
+            }
+        }
+    }
+
+    /**
+     * 开关快速滑动时的推迟策略，关闭时仍统计帧数据作为对照
+     */
+    public void setPauseOnFling(boolean enabled) {
+        pauseOnFling = enabled;
+        updateRequests();
+    }
+
+    /**
+     * 停止统计并结束推迟，页面销毁时调用
+     */
+    public void cancel() {
+        stopMonitoring();
+        policy.onIdle();
+        updateRequests();
+    }
+
+    /**
+     * 推迟策略开启时的帧统计
+     */
+    public FrameJankStats getPausingStats() {
+        return pausingStats;
+    }
+
+    /**
+     * 推迟策略关闭时的帧统计
+     */
+    public FrameJankStats getBaselineStats() {
+        return baselineStats;
+    }
+
+    private void updateRequests() {
+        boolean pause = pauseOnFling && policy.isPaused();
+        if (pause == requestsPaused) {
+            return;
+        }
+        requestsPaused = pause;
+        Log.d(TAG, (pause ? "快速滑动，推迟图片加载" : "恢复图片加载")
+                + ", 速度: " + String.format(Locale.US, "%.2f", policy.velocityPxPerMs()) + "px/ms");
+        listener.onPauseChanged(pause);
+    }
+
+    private void startMonitoring(RecyclerView recyclerView) {
+        if (monitoring) {
+            return;
+        }
+        Display display = recyclerView.getDisplay();
+        float refreshRate = display != null && display.getRefreshRate() > 0
+                ? display.getRefreshRate() : DEFAULT_REFRESH_RATE;
+        expectedFrameNanos = (long) (1_000_000_000L / refreshRate);
+        lastFrameNanos = 0;
+        sessionStats.reset();
+        monitoring = true;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+
+    private void stopMonitoring() {
+        if (!monitoring) {
+            return;
+        }
+        monitoring = false;
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        if (sessionStats.getFrameCount() > 0) {
+            Log.d(TAG, "本次滚动" + (pauseOnFling ? "（推迟策略开启）" : "（推迟策略关闭）") + ": " + sessionStats
+                    + ", 累计开启: " + pausingStats + ", 累计关闭: " + baselineStats);
+        }
+    }
+}
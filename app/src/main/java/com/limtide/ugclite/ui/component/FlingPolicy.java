@@ -0,0 +1,83 @@
+package com.limtide.ugclite.ui.component;
+
+/**
+ * 惯性滑动时是否暂停图片请求的判断
+ * 只在惯性滑动（手指已离开）且速度高于暂停阈值时暂停，速度降到恢复阈值以下、
+ * 手指重新按住或滚动停止时恢复；两个阈值之间留有回差，避免在临界速度附近反复切换。
+ * 只在主线程使用，不分配对象。
+ */
+final class FlingPolicy {
+
+    private static final double SMOOTHING = 0.3;
+    // 两次onScrolled间隔超过它视为新的手势，不计算速度
+    private static final long GESTURE_GAP_MILLIS = 100;
+
+    private final double pauseVelocity;
+    private final double resumeVelocity;
+
+    private double velocityPxPerMs;
+    private long lastScrollMillis = -1;
+    private boolean paused;
+
+    /**
+     * @param pauseVelocity 高于该速度（px/ms）暂停
+     * @param resumeVelocity 低于该速度（px/ms）恢复，不大于pauseVelocity
+     */
+    FlingPolicy(double pauseVelocity, double resumeVelocity) {
+        this.pauseVelocity = pauseVelocity;
+        this.resumeVelocity = Math.min(resumeVelocity, pauseVelocity);
+    }
+
+    /**
+     * 记录一次滚动
+     * @param settling 是否处于惯性滑动
+     * @return 暂停状态是否改变
+     */
+    boolean onScrolled(int dy, boolean settling, long nowMillis) {
+        long elapsed = nowMillis - lastScrollMillis;
+        boolean continued = lastScrollMillis >= 0 && elapsed > 0 && elapsed <= GESTURE_GAP_MILLIS;
+        lastScrollMillis = nowMillis;
+        if (continued) {
+            double sample = (double) Math.abs(dy) / elapsed;
+            velocityPxPerMs += SMOOTHING * (sample - velocityPxPerMs);
+        }
+        boolean shouldPause = paused
+                ? settling && velocityPxPerMs >= resumeVelocity
+                : settling && velocityPxPerMs > pauseVelocity;
+        return setPaused(shouldPause);
+    }
+
+    /**
+     * 手指按住列表，惯性滑动被打断
+     * @return 暂停状态是否改变
+     */
+    boolean onDragging() {
+        return setPaused(false);
+    }
+
+    /**
+     * 滚动停止，速度归零
+     * @return 暂停状态是否改变
+     */
+    boolean onIdle() {
+        velocityPxPerMs = 0;
+        lastScrollMillis = -1;
+        return setPaused(false);
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    double velocityPxPerMs() {
+        return velocityPxPerMs;
+    }
+
+    private boolean setPaused(boolean value) {
+        if (paused == value) {
+            return false;
+        }
+        paused = value;
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.limtide.ugclite.ui.component;
+
+/**
+ * 滚动期间的帧统计
+ * 帧间隔超过预期间隔1.5倍记为卡顿帧，按间隔能容纳的预期帧数累计丢帧数。
+ * 暂停策略开启和关闭时分别统计，便于对比同一台设备上策略前后的卡顿情况。只在主线程使用。
+ */
+public final class FrameJankStats {
+
+    private static final double JANK_FACTOR = 1.5;
+
+    private long frames;
+    private long jankyFrames;
+    private long droppedFrames;
+    private long maxFrameNanos;
+
+    /**
+     * @param intervalNanos 与上一帧的间隔
+     * @param expectedNanos 按屏幕刷新率的预期帧间隔
+     */
+    void record(long intervalNanos, long expectedNanos) {
+        if (intervalNanos <= 0 || expectedNanos <= 0) {
+            return;
+        }
+        frames++;
+        if (intervalNanos > expectedNanos * JANK_FACTOR) {
+            jankyFrames++;
+        }
+        // 四舍五入，抖动不计为丢帧
+        long elapsedFrames = (intervalNanos + expectedNanos / 2) / expectedNanos;
+        if (elapsedFrames > 1) {
+            droppedFrames += elapsedFrames - 1;
+        }
+        maxFrameNanos = Math.max(maxFrameNanos, intervalNanos);
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public long getJankyFrameCount() {
+        return jankyFrames;
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrames;
+    }
+
+    public long getMaxFrameNanos() {
+        return maxFrameNanos;
+    }
+
+    /**
+     * @return 卡顿帧占比，没有记录时为0
+     */
+    public double getJankRate() {
+        return frames == 0 ? 0 : (double) jankyFrames / frames;
+    }
+
+    public void reset() {
+        frames = 0;
+        jankyFrames = 0;
+        droppedFrames = 0;
+        maxFrameNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameJankStats{" +
+                "frames=" + frames +
+                ", janky=" + jankyFrames +
+                ", dropped=" + droppedFrames +
+                ", maxFrameMs=" + maxFrameNanos / 1_000_000 +
+                '}';
+    }
+}
@@ -0,0 +1,208 @@
+package com.limtide.ugclite.ui.component;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+/**
+ * 滚动触发加载更多的监听器，支持LinearLayoutManager和StaggeredGridLayoutManager
+ * 按滚动速度和实测分页耗时提前触发，每页只触发一次；可见位置写入复用的数组，滚动时不分配对象。
+ * 数据变化后列表仍填不满一屏时无法滚动，布局完成后直接触发加载更多。
+ */
+public class LoadMoreScrollListener extends RecyclerView.OnScrollListener {
+
+    private static final String TAG = "LoadMoreScrollListener";
+    private static final int DEFAULT_MIN_DISTANCE = 3;
+    private static final int DEFAULT_MAX_DISTANCE = 30;
+    private static final long DEFAULT_LATENCY_MILLIS = 800;
+
+    public interface Callback {
+        /**
+         * 当前是否可以加载更多（还有数据且没有正在进行的加载）
+         */
+        boolean canLoadMore();
+
+        void onLoadMore();
+    }
+
+    private final Callback callback;
+    private final LoadMoreTrigger trigger;
+    private int[] firstPositions = new int[0];
+    private int[] lastPositions = new int[0];
+    private RecyclerView.Adapter<?> observedAdapter;
+    private RecyclerView attachedView;
+    // 已检查过是否填满一屏的条目数，同一数量只触发一次
+    private int unfilledCheckedCount = -1;
+
+    private final Runnable unfilledCheck = this::loadIfUnfilled;
+
+    private final RecyclerView.AdapterDataObserver dataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            onItemCountChanged();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            onItemCountChanged();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            onItemCountChanged();
+        }
+    };
+
+    public LoadMoreScrollListener(Callback callback) {
+        this(callback, DEFAULT_MIN_DISTANCE, DEFAULT_MAX_DISTANCE, DEFAULT_LATENCY_MILLIS);
+    }
+
+    /**
+     * @param minDistance 静止时距离末尾多少条触发
+     * @param maxDistance 快速滚动时最多提前多少条触发
+     * @param initialLatencyMillis 还没有实测值时假定的分页耗时
+     */
+    public LoadMoreScrollListener(Callback callback, int minDistance, int maxDistance,
+                                  long initialLatencyMillis) {
+        this.callback = callback;
+        this.trigger = new LoadMoreTrigger(minDistance, maxDistance, initialLatencyMillis);
+    }
+
+    /**
+     * 添加到RecyclerView，并观察当前Adapter的数据变化以测量分页耗时
+     * 需要在设置Adapter之后调用
+     */
+    public void attachTo(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(this);
+        attachedView = recyclerView;
+        if (observedAdapter != null) {
+            observedAdapter.unregisterAdapterDataObserver(dataObserver);
+        }
+        observedAdapter = recyclerView.getAdapter();
+        if (observedAdapter != null) {
+            observedAdapter.registerAdapterDataObserver(dataObserver);
+        }
+    }
+
+    public void detachFrom(RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(this);
+        recyclerView.removeCallbacks(unfilledCheck);
+        attachedView = null;
+        if (observedAdapter != null) {
+            observedAdapter.unregisterAdapterDataObserver(dataObserver);
+            observedAdapter = null;
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        trigger.onScrolled(dy, SystemClock.uptimeMillis());
+        if (dy > 0) {
+            check(recyclerView);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            trigger.onIdle();
+            RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (layoutManager != null && callback.canLoadMore()) {
+                // 上次触发的请求已结束但列表没有变长，允许再次触发
+                trigger.rearm(layoutManager.getItemCount());
+            }
+            check(recyclerView);
+        }
+    }
+
+    private void check(RecyclerView recyclerView) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager == null || !callback.canLoadMore()) {
+            return;
+        }
+        int first;
+        int last;
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            StaggeredGridLayoutManager grid = (StaggeredGridLayoutManager) layoutManager;
+            int spans = grid.getSpanCount();
+            if (lastPositions.length != spans) {
+                firstPositions = new int[spans];
+                lastPositions = new int[spans];
+            }
+            grid.findFirstVisibleItemPositions(firstPositions);
+            grid.findLastVisibleItemPositions(lastPositions);
+            first = min(firstPositions);
+            last = max(lastPositions);
+        } else if (layoutManager instanceof LinearLayoutManager) {
+            LinearLayoutManager linear = (LinearLayoutManager) layoutManager;
+            first = linear.findFirstVisibleItemPosition();
+            last = linear.findLastVisibleItemPosition();
+        } else {
+            return;
+        }
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int height = recyclerView.getHeight();
+        double itemsPerPx = height > 0 ? (double) (last - first + 1) / height : 0;
+        int itemCount = layoutManager.getItemCount();
+        if (trigger.shouldLoad(last, itemCount, itemsPerPx, SystemClock.uptimeMillis())) {
+            Log.d(TAG, "触发加载更多，总数: " + itemCount + ", 最后可见: " + last
+                    + ", 提前: " + trigger.triggerDistance(itemsPerPx)
+                    + ", 分页耗时: " + trigger.latencyMillis() + "ms");
+            callback.onLoadMore();
+        }
+    }
+
+    private void onItemCountChanged() {
+        if (observedAdapter != null) {
+            trigger.onItemCountChanged(observedAdapter.getItemCount(), SystemClock.uptimeMillis());
+        }
+        if (attachedView != null) {
+            // 等新的条目布局完成后再判断能否滚动
+            attachedView.removeCallbacks(unfilledCheck);
+            attachedView.post(unfilledCheck);
+        }
+    }
+
+    private void loadIfUnfilled() {
+        RecyclerView recyclerView = attachedView;
+        if (recyclerView == null || recyclerView.getLayoutManager() == null) {
+            return;
+        }
+        int itemCount = recyclerView.getLayoutManager().getItemCount();
+        if (itemCount == 0 || itemCount == unfilledCheckedCount) {
+            return;
+        }
+        unfilledCheckedCount = itemCount;
+        if (!recyclerView.canScrollVertically(1) && callback.canLoadMore()) {
+            Log.d(TAG, "列表不满一屏，触发加载更多，总数: " + itemCount);
+            callback.onLoadMore();
+        }
+    }
+
+    private static int min(int[] positions) {
+        int result = RecyclerView.NO_POSITION;
+        for (int pos : positions) {
+            if (pos != RecyclerView.NO_POSITION && (result == RecyclerView.NO_POSITION || pos < result)) {
+                result = pos;
+            }
+        }
+        return result;
+    }
+
+    private static int max(int[] positions) {
+        int result = RecyclerView.NO_POSITION;
+        for (int pos : positions) {
+            if (pos > result) {
+                result = pos;
+            }
+        }
+        return result;
+    }
+}
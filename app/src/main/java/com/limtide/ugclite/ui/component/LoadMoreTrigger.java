@@ -0,0 +1,105 @@
+package com.limtide.ugclite.ui.component;
+
+/**
+ * 加载更多的触发判断
+ * 触发距离 = 最小距离 + 滚动速度 × 分页耗时 能滑过的条数，滑得越快、分页越慢就越早触发；
+ * 每页最多触发一次，列表长度增加（新的一页到达）后重新启用。只在主线程使用，不分配对象。
+ */
+final class LoadMoreTrigger {
+
+    private static final double SMOOTHING = 0.3;
+    // 两次onScrolled间隔超过它视为新的手势，不计算速度
+    private static final long GESTURE_GAP_MILLIS = 100;
+
+    private final int minDistance;
+    private final int maxDistance;
+
+    private double velocityPxPerMs;
+    private long lastScrollMillis = -1;
+    private double latencyMillis;
+
+    // 触发时的列表长度，-1表示未触发
+    private int firedAtCount = -1;
+    private long firedAtMillis;
+
+    LoadMoreTrigger(int minDistance, int maxDistance, long initialLatencyMillis) {
+        this.minDistance = minDistance;
+        this.maxDistance = Math.max(minDistance, maxDistance);
+        this.latencyMillis = initialLatencyMillis;
+    }
+
+    /**
+     * 记录一次滚动，更新平滑后的向下滚动速度
+     */
+    void onScrolled(int dy, long nowMillis) {
+        long elapsed = nowMillis - lastScrollMillis;
+        lastScrollMillis = nowMillis;
+        if (elapsed <= 0 || elapsed > GESTURE_GAP_MILLIS) {
+            return;
+        }
+        double sample = dy > 0 ? (double) dy / elapsed : 0;
+        velocityPxPerMs += SMOOTHING * (sample - velocityPxPerMs);
+    }
+
+    /**
+     * 滚动停止，速度归零
+     */
+    void onIdle() {
+        velocityPxPerMs = 0;
+        lastScrollMillis = -1;
+    }
+
+    /**
+     * @param lastVisible 最后一个可见位置
+     * @param itemCount 当前列表长度
+     * @param itemsPerPx 每像素对应的条数（可见条数 / 视口高度）
+     * @return 是否应当现在加载下一页；返回true后同一页不再触发
+     */
+    boolean shouldLoad(int lastVisible, int itemCount, double itemsPerPx, long nowMillis) {
+        onItemCountChanged(itemCount, nowMillis);
+        if (firedAtCount >= 0 || itemCount <= 0 || lastVisible < 0) {
+            return false;
+        }
+        int remaining = itemCount - 1 - lastVisible;
+        if (remaining >= triggerDistance(itemsPerPx)) {
+            return false;
+        }
+        firedAtCount = itemCount;
+        firedAtMillis = nowMillis;
+        return true;
+    }
+
+    /**
+     * 已触发的请求结束但列表没有变长（失败或整页重复）时重新启用
+     */
+    void rearm(int itemCount) {
+        if (firedAtCount == itemCount) {
+            firedAtCount = -1;
+        }
+    }
+
+    int triggerDistance(double itemsPerPx) {
+        double lead = velocityPxPerMs * latencyMillis * Math.max(0, itemsPerPx);
+        return (int) Math.min(maxDistance, minDistance + Math.ceil(lead));
+    }
+
+    long latencyMillis() {
+        return Math.round(latencyMillis);
+    }
+
+    /**
+     * 列表长度变化时调用，用触发到新一页到达的时间更新分页耗时
+     */
+    void onItemCountChanged(int itemCount, long nowMillis) {
+        if (firedAtCount < 0) {
+            return;
+        }
+        if (itemCount > firedAtCount) {
+            latencyMillis += SMOOTHING * ((nowMillis - firedAtMillis) - latencyMillis);
+            firedAtCount = -1;
+        } else if (itemCount < firedAtCount) {
+            // 列表被刷新
+            firedAtCount = -1;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.limtide.ugclite.ui.component;
+
+/**
+ * 图片预加载窗口的计算，不依赖Android，便于单元测试
+ * 沿滚动方向取可见区域之外的N条，N随滚动速度增大并按列数取整到整行；
+ * 已请求过的位置不重复请求，滚动方向反转时通知调用方取消之前的请求。
+ */
+final class PreloadWindow {
+
+    // 速度平滑系数，与LoadMoreTrigger一致
+    private static final double VELOCITY_ALPHA = 0.3;
+    // 按当前速度向前看多少帧
+    private static final int LOOKAHEAD_FRAMES = 30;
+
+    private final int minItems;
+    private final int maxItems;
+    private double velocityPxPerFrame;
+    // 1向下，-1向上，0尚未滚动
+    private int direction;
+    // 向下已请求到的位置（不含），向上已请求到的位置（含）
+    private int requestedEnd;
+    private int requestedStart = Integer.MAX_VALUE;
+    private int from;
+    private int to;
+
+    PreloadWindow(int minItems, int maxItems) {
+        this.minItems = minItems;
+        this.maxItems = Math.max(minItems, maxItems);
+    }
+
+    /**
+     * 滚动一帧后更新窗口，新的待预加载区间通过from()/to()读取
+     * @param dy 本帧滚动距离
+     * @param firstVisible 各列第一个可见位置中最大的一个，向上滚动时从它之前开始预加载
+     * @param lastVisible 各列最后一个可见位置中最小的一个，向下滚动时从它之后开始预加载
+     * @param spanCount 列数
+     * @param itemsPerPx 每像素对应的条目数，用于把速度换算成条数
+     * @return 滚动方向是否反转，反转时之前发出的预加载请求应取消
+     */
+    boolean update(int dy, int firstVisible, int lastVisible, int itemCount,
+                   int spanCount, double itemsPerPx) {
+        from = 0;
+        to = 0;
+        if (dy == 0) {
+            return false;
+        }
+        int newDirection = dy > 0 ? 1 : -1;
+        boolean reversed = direction != 0 && newDirection != direction;
+        if (reversed) {
+            velocityPxPerFrame = 0;
+            requestedEnd = 0;
+            requestedStart = Integer.MAX_VALUE;
+        }
+        direction = newDirection;
+        velocityPxPerFrame = velocityPxPerFrame * (1 - VELOCITY_ALPHA) + Math.abs(dy) * VELOCITY_ALPHA;
+
+        if (firstVisible < 0 || lastVisible < 0 || itemCount <= 0) {
+            return reversed;
+        }
+        int count = windowSize(spanCount, itemsPerPx);
+        if (direction > 0) {
+            int start = lastVisible + 1;
+            // 列表被刷新或跳转后，旧的记录已不可能从这里请求到
+            if (requestedEnd > itemCount || requestedEnd - start > maxItems) {
+                requestedEnd = 0;
+            }
+            int end = Math.min(itemCount, start + count);
+            start = Math.max(start, requestedEnd);
+            if (start < end) {
+                from = start;
+                to = end;
+                requestedEnd = end;
+            }
+        } else {
+            int end = Math.min(firstVisible, itemCount);
+            if (requestedStart != Integer.MAX_VALUE && end - requestedStart > maxItems) {
+                requestedStart = Integer.MAX_VALUE;
+            }
+            int start = Math.max(0, end - count);
+            end = Math.min(end, requestedStart);
+            if (start < end) {
+                from = start;
+                to = end;
+                requestedStart = start;
+            }
+        }
+        return reversed;
+    }
+
+    /**
+     * 当前速度下的预加载条数，取整到整行
+     */
+    int windowSize(int spanCount, double itemsPerPx) {
+        int spans = Math.max(1, spanCount);
+        long ahead = Math.round(velocityPxPerFrame * itemsPerPx * LOOKAHEAD_FRAMES);
+        long count = Math.min(maxItems, minItems + ahead);
+        count = (count + spans - 1) / spans * spans;
+        return (int) Math.min(count, maxItems);
+    }
+
+    /**
+     * 待预加载区间起点（含）
+     */
+    int from() {
+        return from;
+    }
+
+    /**
+     * 待预加载区间终点（不含），等于from()时没有新的位置
+     */
+    int to() {
+        return to;
+    }
+
+    /**
+     * 忘记已请求的位置和方向，例如取消全部请求之后
+     */
+    void reset() {
+        direction = 0;
+        velocityPxPerFrame = 0;
+        requestedEnd = 0;
+        requestedStart = Integer.MAX_VALUE;
+        from = 0;
+        to = 0;
+    }
+}
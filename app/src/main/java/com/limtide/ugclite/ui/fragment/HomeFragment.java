@@ -17,11 +17,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
 import com.limtide.ugclite.R;
 import com.limtide.ugclite.data.model.Post;
 import com.limtide.ugclite.databinding.FragmentHomeBinding;
 import com.limtide.ugclite.ui.activity.PostDetailActivity;
 import com.limtide.ugclite.ui.adapter.NoteCardAdapter;
+import com.limtide.ugclite.ui.component.FeedImagePreloader;
+import com.limtide.ugclite.ui.component.FlingImageScheduler;
+import com.limtide.ugclite.ui.component.LoadMoreScrollListener;
+import com.limtide.ugclite.ui.viewmodel.FeedUiState;
 import com.limtide.ugclite.ui.viewmodel.FeedViewModel;
 
 import java.io.Serializable;
@@ -36,7 +42,13 @@ public class HomeFragment extends Fragment {
     private FragmentHomeBinding binding;
     private NoteCardAdapter notecardAdapter;
     private FeedViewModel feedViewModel;
+    private FeedImagePreloader imagePreloader;
+    private FlingImageScheduler flingScheduler;
+    private LoadMoreScrollListener loadMoreListener;
     private Parcelable savedRecyclerViewState;
+    // 可见位置缓冲，滚动时复用
+    private int[] firstVisiblePositions = new int[0];
+    private int[] lastVisiblePositions = new int[0];
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -70,23 +82,35 @@ public class HomeFragment extends Fragment {
             Log.d(TAG, "恢复RecyclerView滚动状态");
         }
 
-        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+        loadMoreListener = new LoadMoreScrollListener(new LoadMoreScrollListener.Callback() {
             @Override
-            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-
-                if (dy > 0) {
-                    checkLoadMore();
-                }
+            public boolean canLoadMore() {
+                FeedUiState state = feedViewModel.getUiState().getValue();
+                return state != null && state.hasMore() && !state.isLoading();
             }
 
             @Override
-            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
-                super.onScrollStateChanged(recyclerView, newState);
+            public void onLoadMore() {
+                feedViewModel.loadMoreFeed();
+            }
+        });
+        loadMoreListener.attachTo(binding.recyclerView);
+
+        // 预加载与NoteCardAdapter使用同一个RequestManager，清除预加载时作用到同一组请求
+        RequestManager imageRequests = Glide.with(requireContext());
+        imagePreloader = new FeedImagePreloader(imageRequests, notecardAdapter::preloadImages);
+        binding.recyclerView.addOnScrollListener(imagePreloader);
+        flingScheduler = new FlingImageScheduler(getResources().getDisplayMetrics().density, paused -> {
+            notecardAdapter.setDeferImageLoads(paused);
+            imagePreloader.setPaused(paused);
+        });
+        binding.recyclerView.addOnScrollListener(flingScheduler);
 
-                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
-                    checkLoadMore();
-                }
+        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                super.onScrolled(recyclerView, dx, dy);
+                updateVisibleRange();
             }
         });
 
@@ -99,41 +123,35 @@ public class HomeFragment extends Fragment {
     }
 
     private void setupObservers() {
-        feedViewModel.getFeedPosts().observe(getViewLifecycleOwner(), posts -> {
-            Log.d(TAG, "Feed数据更新: " + (posts != null ? posts.size() : 0) + " 条");
-            if (posts != null) {
-                notecardAdapter.setPosts(posts);
-                if (!posts.isEmpty()) {
-                    hideEmptyState();
-                }
-            }
-        });
+        feedViewModel.getUiState().observe(getViewLifecycleOwner(), this::render);
+    }
 
-        feedViewModel.getIsLoading().observe(getViewLifecycleOwner(), loading -> {
-            if (binding.swipeRefreshLayout != null) {
-                binding.swipeRefreshLayout.setRefreshing(loading != null && loading);
-            }
-        });
+    /**
+     * 一次渲染完整的Feed状态
+     */
+    private void render(FeedUiState state) {
+        List<Post> posts = state.getPosts();
+        Log.d(TAG, "Feed状态更新: " + state);
+        notecardAdapter.setPosts(posts);
 
-        feedViewModel.getErrorMessage().observe(getViewLifecycleOwner(), errorMsg -> {
-            if (errorMsg != null && !errorMsg.isEmpty()) {
-                if (notecardAdapter.getItemCount() > 0) {
-                    hideEmptyState();
-                    Toast.makeText(requireContext(), errorMsg, Toast.LENGTH_SHORT).show();
-                } else {
-                    showErrorState(errorMsg);
-                }
-                feedViewModel.clearErrorMessage();
-            }
-        });
+        if (binding.swipeRefreshLayout != null) {
+            binding.swipeRefreshLayout.setRefreshing(state.isLoading());
+        }
 
-        feedViewModel.getIsEmptyState().observe(getViewLifecycleOwner(), isEmpty -> {
-            if (isEmpty != null && isEmpty) {
-                showEmptyState();
-            } else {
+        String errorMsg = state.getErrorMessage();
+        if (errorMsg != null && !errorMsg.isEmpty()) {
+            if (!posts.isEmpty()) {
                 hideEmptyState();
+                Toast.makeText(requireContext(), errorMsg, Toast.LENGTH_SHORT).show();
+            } else {
+                showErrorState(errorMsg);
             }
-        });
+            feedViewModel.clearErrorMessage();
+        } else if (state.isEmptyState()) {
+            showEmptyState();
+        } else {
+            hideEmptyState();
+        }
     }
 
     private void setupRefreshListener() {
@@ -143,34 +161,35 @@ public class HomeFragment extends Fragment {
         });
     }
 
-    private void checkLoadMore() {
-        Boolean hasMoreData = feedViewModel.getHasMoreData().getValue();
-        Boolean isLoading = feedViewModel.getIsLoading().getValue();
-
-        if (hasMoreData == null || !hasMoreData) {
+    /**
+     * 把可见范围告诉ViewModel，由它换出远离视口的分页
+     */
+    private void updateVisibleRange() {
+        StaggeredGridLayoutManager layoutManager =
+                (StaggeredGridLayoutManager) binding.recyclerView.getLayoutManager();
+        if (layoutManager == null) {
             return;
         }
-
-        if (isLoading != null && isLoading) {
-            return;
+        int spans = layoutManager.getSpanCount();
+        if (lastVisiblePositions.length != spans) {
+            firstVisiblePositions = new int[spans];
+            lastVisiblePositions = new int[spans];
         }
-
-        StaggeredGridLayoutManager layoutManager = (StaggeredGridLayoutManager) binding.recyclerView.getLayoutManager();
-        if (layoutManager != null) {
-            int[] positions = layoutManager.findLastVisibleItemPositions(null);
-            int lastVisiblePosition = 0;
-            for (int pos : positions) {
-                if (pos > lastVisiblePosition) {
-                    lastVisiblePosition = pos;
-                }
+        int first = Integer.MAX_VALUE;
+        for (int pos : layoutManager.findFirstVisibleItemPositions(firstVisiblePositions)) {
+            if (pos != RecyclerView.NO_POSITION && pos < first) {
+                first = pos;
             }
-
-            int totalItemCount = layoutManager.getItemCount();
-            if (totalItemCount > 0 && lastVisiblePosition >= totalItemCount - 3) {
-                Log.d(TAG, "接近底部，开始加载更多数据。当前总数: " + totalItemCount + ", 最后可见位置: " + lastVisiblePosition);
-                feedViewModel.loadMoreFeed();
+        }
+        int last = RecyclerView.NO_POSITION;
+        for (int pos : layoutManager.findLastVisibleItemPositions(lastVisiblePositions)) {
+            if (pos > last) {
+                last = pos;
             }
         }
+        if (first != Integer.MAX_VALUE && last != RecyclerView.NO_POSITION) {
+            feedViewModel.onVisibleRangeChanged(first, last);
+        }
     }
 
     private void navigateToDetail(Post post, int position) {
@@ -282,6 +301,20 @@ public class HomeFragment extends Fragment {
         super.onDestroyView();
         Log.d(TAG, "HomeFragment onDestroyView");
 
+        if (loadMoreListener != null) {
+            // 解除滚动监听和对Adapter的数据观察，重建视图时会新建Adapter和监听器
+            loadMoreListener.detachFrom(binding.recyclerView);
+            loadMoreListener = null;
+        }
+        if (flingScheduler != null) {
+            flingScheduler.cancel();
+            flingScheduler = null;
+        }
+        if (imagePreloader != null) {
+            imagePreloader.cancelAll();
+            imagePreloader = null;
+        }
+
         if (binding.recyclerView != null) {
             savedRecyclerViewState = binding.recyclerView.getLayoutManager().onSaveInstanceState();
         }
@@ -13,6 +13,7 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
 import com.limtide.ugclite.databinding.FragmentProfileBinding;
+import com.limtide.ugclite.data.repository.FeedRepository;
 import com.limtide.ugclite.data.repository.UserRepository;
 import com.limtide.ugclite.utils.AppStartupHelper;
 import com.limtide.ugclite.utils.AuthenticatedSession;
@@ -148,6 +149,8 @@ public class ProfileFragment extends Fragment {
         // 清除统一的登录状态
         preferenceManager.clearLoginState();
         AuthenticatedSession.clear();
+        // 下一个用户冷启动时不展示本用户的Feed快照
+        FeedRepository.getInstance().clearSnapshot();
 
         // 更新UI显示默认信息
         showDefaultUserInfo();
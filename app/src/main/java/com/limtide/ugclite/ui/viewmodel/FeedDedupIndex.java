@@ -0,0 +1,49 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 已展示作品的postId索引，跨分页去重
+ * 偏移分页在服务端插入新内容时会返回与上一页重叠的作品，每条作品O(1)判重。
+ * 没有postId的作品无法判重，总是保留。
+ */
+final class FeedDedupIndex {
+
+    private final Set<String> postIds = new HashSet<>();
+    private long droppedTotal;
+
+    /**
+     * 刷新时清空
+     */
+    void reset() {
+        postIds.clear();
+    }
+
+    /**
+     * @return 作品是否第一次出现；重复时计入丢弃数
+     */
+    boolean add(Post post) {
+        if (post == null || post.postId == null || post.postId.isEmpty()) {
+            return true;
+        }
+        if (postIds.add(post.postId)) {
+            return true;
+        }
+        droppedTotal++;
+        return false;
+    }
+
+    int size() {
+        return postIds.size();
+    }
+
+    /**
+     * @return 累计丢弃的重复作品数，刷新不清零
+     */
+    long droppedTotal() {
+        return droppedTotal;
+    }
+}
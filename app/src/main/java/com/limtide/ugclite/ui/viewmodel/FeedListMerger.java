@@ -1,5 +1,6 @@
 package com.limtide.ugclite.ui.viewmodel;
 
+import com.limtide.ugclite.data.model.FeedList;
 import com.limtide.ugclite.data.model.Post;
 
 import java.util.ArrayList;
@@ -10,16 +11,25 @@ final class FeedListMerger {
     private FeedListMerger() {
     }
 
-    static List<Post> merge(List<Post> current, List<Post> incoming, boolean refresh) {
+    /**
+     * 合并时按postId去重，索引与合并后的列表保持一致；刷新时重建索引
+     * 加载更多时在current上追加，只处理新分页，不复制已有的作品
+     */
+    static FeedList merge(FeedList current, List<Post> incoming, boolean refresh,
+                          FeedDedupIndex index) {
         List<Post> safeIncoming = incoming == null ? Collections.emptyList() : incoming;
         if (refresh) {
-            return new ArrayList<>(safeIncoming);
+            index.reset();
         }
-
-        List<Post> merged = current == null
-                ? new ArrayList<>()
-                : new ArrayList<>(current);
-        merged.addAll(safeIncoming);
-        return merged;
+        List<Post> accepted = new ArrayList<>(safeIncoming.size());
+        for (Post post : safeIncoming) {
+            if (index.add(post)) {
+                accepted.add(post);
+            }
+        }
+        if (refresh || current == null) {
+            return FeedList.of(accepted);
+        }
+        return current.append(accepted);
     }
 }
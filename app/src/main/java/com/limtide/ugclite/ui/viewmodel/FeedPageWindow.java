@@ -0,0 +1,247 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 记录Feed列表的分页边界，决定哪些分页需要换出内存、哪些需要换回
+ * 只保留可见分页前后windowPages页的作品，其余分页换成占位作品；windowPages小于等于0时不换出。
+ * 只在主线程使用，换出/换回的磁盘读写由调用方异步完成后再回调对应的完成方法。
+ */
+final class FeedPageWindow {
+
+    enum State {
+        RESIDENT,
+        WRITING,
+        EVICTED,
+        READING
+    }
+
+    static final class Page {
+        final int index;
+        final int start;
+        final int size;
+        // 分页作品在服务端的原始游标范围[cursor, nextCursor)，磁盘读取失败时据此重新请求；未知时为-1
+        final int cursor;
+        final int nextCursor;
+        State state = State.RESIDENT;
+
+        Page(int index, int start, int size, int cursor, int nextCursor) {
+            this.index = index;
+            this.start = start;
+            this.size = size;
+            this.cursor = cursor;
+            this.nextCursor = nextCursor;
+        }
+
+        boolean hasCursorRange() {
+            return cursor >= 0 && nextCursor > cursor;
+        }
+
+        int end() {
+            return start + size;
+        }
+    }
+
+    private final List<Page> pages = new ArrayList<>();
+    private int windowPages;
+    private int generation;
+    private int totalSize;
+    private int firstVisiblePage = -1;
+    private int lastVisiblePage = -1;
+
+    FeedPageWindow(int windowPages) {
+        this.windowPages = windowPages;
+    }
+
+    void setWindowPages(int windowPages) {
+        this.windowPages = windowPages;
+    }
+
+    /**
+     * 刷新后重新开始，之前分页的换出/换回结果都将被丢弃
+     */
+    void reset(int firstPageSize, int cursor, int nextCursor) {
+        generation++;
+        pages.clear();
+        totalSize = 0;
+        firstVisiblePage = -1;
+        lastVisiblePage = -1;
+        append(firstPageSize, cursor, nextCursor);
+    }
+
+    void append(int pageSize, int cursor, int nextCursor) {
+        if (pageSize <= 0) {
+            return;
+        }
+        pages.add(new Page(pages.size(), totalSize, pageSize, cursor, nextCursor));
+        totalSize += pageSize;
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    int pageCount() {
+        return pages.size();
+    }
+
+    int residentPageCount() {
+        int count = 0;
+        for (Page page : pages) {
+            if (page.state == State.RESIDENT || page.state == State.WRITING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return 包含该位置的分页，位置越界时返回null
+     */
+    Page pageAt(int position) {
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Page page = pages.get(mid);
+            if (position < page.start) {
+                high = mid - 1;
+            } else if (position >= page.end()) {
+                low = mid + 1;
+            } else {
+                return page;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 更新可见范围
+     * @return 可见分页是否变化，没变化时不需要重新计算换出/换回
+     */
+    boolean updateVisibleRange(int firstVisible, int lastVisible) {
+        Page first = pageAt(Math.max(0, firstVisible));
+        Page last = pageAt(Math.min(totalSize - 1, lastVisible));
+        if (first == null || last == null) {
+            return false;
+        }
+        if (first.index == firstVisiblePage && last.index == lastVisiblePage) {
+            return false;
+        }
+        firstVisiblePage = first.index;
+        lastVisiblePage = last.index;
+        return true;
+    }
+
+    /**
+     * 窗口外仍在内存中的分页，返回前标记为WRITING
+     */
+    List<Page> takePagesToEvict() {
+        List<Page> result = new ArrayList<>();
+        if (windowPages <= 0 || firstVisiblePage < 0) {
+            return result;
+        }
+        for (Page page : pages) {
+            if (page.state == State.RESIDENT && !inWindow(page)) {
+                page.state = State.WRITING;
+                result.add(page);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 窗口内已换出的分页，返回前标记为READING
+     */
+    List<Page> takePagesToRestore() {
+        List<Page> result = new ArrayList<>();
+        if (firstVisiblePage < 0) {
+            return result;
+        }
+        for (Page page : pages) {
+            if (page.state == State.EVICTED && inWindow(page)) {
+                page.state = State.READING;
+                result.add(page);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 分页已写入磁盘
+     * @return 是否应当换成占位；写入期间分页又回到窗口内时返回false，保持在内存中
+     */
+    boolean completeEviction(int generation, Page page) {
+        if (generation != this.generation || page.state != State.WRITING) {
+            return false;
+        }
+        if (inWindow(page)) {
+            page.state = State.RESIDENT;
+            return false;
+        }
+        page.state = State.EVICTED;
+        return true;
+    }
+
+    void failEviction(int generation, Page page) {
+        if (generation == this.generation && page.state == State.WRITING) {
+            page.state = State.RESIDENT;
+        }
+    }
+
+    /**
+     * @return 是否应当用读回的作品替换占位
+     */
+    boolean completeRestore(int generation, Page page) {
+        if (generation != this.generation || page.state != State.READING) {
+            return false;
+        }
+        page.state = State.RESIDENT;
+        return true;
+    }
+
+    /**
+     * 磁盘和网络都没能换回，分页回到EVICTED，下次可见范围变化时再尝试
+     */
+    void failRestore(int generation, Page page) {
+        if (generation == this.generation && page.state == State.READING) {
+            page.state = State.EVICTED;
+        }
+    }
+
+    /**
+     * 用重新请求到的作品换回占位，按postId对应；没请求到的位置保留占位
+     * @return 换回后的分页内容，一个都没对上时返回null
+     */
+    static List<Post> matchPlaceholders(List<Post> placeholders, List<Post> fetched) {
+        Map<String, Post> byId = new HashMap<>();
+        if (fetched != null) {
+            for (Post post : fetched) {
+                if (post.postId != null) {
+                    byId.put(post.postId, post);
+                }
+            }
+        }
+        List<Post> content = new ArrayList<>(placeholders.size());
+        boolean matched = false;
+        for (Post placeholder : placeholders) {
+            Post post = byId.get(placeholder.postId);
+            matched |= post != null;
+            content.add(post != null ? post : placeholder);
+        }
+        return matched ? content : null;
+    }
+
+    private boolean inWindow(Page page) {
+        if (windowPages <= 0) {
+            return true;
+        }
+        return page.index >= firstVisiblePage - windowPages
+                && page.index <= lastVisiblePage + windowPages;
+    }
+}
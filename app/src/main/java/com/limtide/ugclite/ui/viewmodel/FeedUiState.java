@@ -0,0 +1,86 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import com.limtide.ugclite.data.model.FeedList;
+import com.limtide.ugclite.data.model.Post;
+
+import java.util.List;
+
+/**
+ * 首页Feed的界面状态快照，不可变
+ * 每次仓库事件只生成一个新快照，界面一次渲染全部字段，不会看到互相矛盾的组合
+ */
+public final class FeedUiState {
+
+    static final FeedUiState INITIAL = new FeedUiState(FeedList.empty(), false, null, true, false);
+
+    private final List<Post> posts;
+    private final boolean loading;
+    private final String errorMessage;
+    private final boolean hasMore;
+    private final boolean emptyState;
+
+    private FeedUiState(List<Post> posts, boolean loading, String errorMessage,
+                        boolean hasMore, boolean emptyState) {
+        this.posts = posts;
+        this.loading = loading;
+        this.errorMessage = errorMessage;
+        this.hasMore = hasMore;
+        this.emptyState = emptyState;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * 待展示的错误信息，展示后调用FeedViewModel.clearErrorMessage()
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isEmptyState() {
+        return emptyState;
+    }
+
+    FeedUiState withPosts(List<Post> posts) {
+        return new FeedUiState(posts, loading, errorMessage, hasMore, emptyState);
+    }
+
+    FeedUiState withLoading(boolean loading) {
+        return loading == this.loading ? this
+                : new FeedUiState(posts, loading, errorMessage, hasMore, emptyState);
+    }
+
+    FeedUiState withErrorMessage(String errorMessage) {
+        return errorMessage == null && this.errorMessage == null ? this
+                : new FeedUiState(posts, loading, errorMessage, hasMore, emptyState);
+    }
+
+    FeedUiState withHasMore(boolean hasMore) {
+        return hasMore == this.hasMore ? this
+                : new FeedUiState(posts, loading, errorMessage, hasMore, emptyState);
+    }
+
+    FeedUiState withEmptyState(boolean emptyState) {
+        return emptyState == this.emptyState ? this
+                : new FeedUiState(posts, loading, errorMessage, hasMore, emptyState);
+    }
+
+    @Override
+    public String toString() {
+        return "FeedUiState{posts=" + posts.size()
+                + ", loading=" + loading
+                + ", error=" + errorMessage
+                + ", hasMore=" + hasMore
+                + ", empty=" + emptyState + "}";
+    }
+}
@@ -1,46 +1,87 @@
 package com.limtide.ugclite.ui.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import android.view.Choreographer;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Observer;
+import androidx.lifecycle.SavedStateHandle;
 
+import com.limtide.ugclite.data.model.FeedList;
 import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.data.repository.FeedKey;
+import com.limtide.ugclite.data.repository.FeedPageCache;
 import com.limtide.ugclite.data.repository.FeedRepository;
 import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+import com.limtide.ugclite.network.ApiService;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 瀑布流Feed的ViewModel
+ * 默认展示首页Feed；页面参数（Activity的Intent extras或Fragment的arguments）带有ARG_HASHTAG时展示该话题的Feed。
+ */
 public class FeedViewModel extends AndroidViewModel {
 
     private static final String TAG = "FeedViewModel";
+    private static final int DEFAULT_WINDOW_PAGES = 3; // 可见分页前后各保留3页
+    // 话题词，与PostDetailActivity跳转HashtagActivity时的extra一致
+    public static final String ARG_HASHTAG = "hashtag";
+    // 分页缓存目录编号，同一话题可能同时打开多个页面，每个实例使用自己的目录
+    private static final AtomicInteger pageCacheSequence = new AtomicInteger();
 
     private final FeedRepository feedRepository;
+    private final FeedKey feedKey;
     private Observer<FeedResult> feedResultObserver;
 
-    private final MutableLiveData<List<Post>> feedPosts = new MutableLiveData<>(new ArrayList<>());
-    private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
-    private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
-    private final MutableLiveData<Boolean> hasMoreData = new MutableLiveData<>(true);
-    private final MutableLiveData<Boolean> isEmptyState = new MutableLiveData<>(false);
+    // 当前列表和界面状态，只在主线程访问
+    private FeedList currentPosts = FeedList.empty();
+    private FeedUiState state = FeedUiState.INITIAL;
+    private final MutableLiveData<FeedUiState> uiState = new MutableLiveData<>(state);
+    // 一帧内的多次更新只发布最后一个状态
+    private final StateCoalescer<FeedUiState> stateCoalescer = new StateCoalescer<>(
+            task -> Choreographer.getInstance().postFrameCallback(frameTimeNanos -> task.run()),
+            uiState::setValue);
 
     private final AtomicBoolean isFirstLoad = new AtomicBoolean(true);
+    // 已展示作品的postId，只在主线程访问
+    private final FeedDedupIndex dedupIndex = new FeedDedupIndex();
 
-    public FeedViewModel(@NonNull Application application) {
+    // 窗口分页：只在主线程访问；换出的分页由pageIoExecutor写入磁盘
+    private final FeedPageWindow pageWindow = new FeedPageWindow(DEFAULT_WINDOW_PAGES);
+    private final FeedPageCache pageCache;
+    private final ExecutorService pageIoExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public FeedViewModel(@NonNull Application application, @NonNull SavedStateHandle savedStateHandle) {
         super(application);
         feedRepository = FeedRepository.getInstance();
+        String hashtag = savedStateHandle.get(ARG_HASHTAG);
+        feedKey = hashtag != null ? FeedKey.hashtag(hashtag) : FeedKey.HOME;
+        pageCache = FeedPageCache.inSession(
+                new File(application.getCacheDir(), FeedPageCache.ROOT_DIRECTORY),
+                Integer.toString(pageCacheSequence.incrementAndGet()));
+        Log.d(TAG, "Feed: " + feedKey);
+        pageIoExecutor.execute(pageCache::clear);
         observeFeedResult();
     }
 
     private void observeFeedResult() {
         ReplayEventGuard<FeedResult> replayGuard =
-                new ReplayEventGuard<>(feedRepository.getFeedResult().getValue());
+                new ReplayEventGuard<>(feedRepository.getFeedResult(feedKey).getValue());
         feedResultObserver = result -> {
             if (!replayGuard.shouldDeliver(result)) {
                 Log.d(TAG, "????????? Feed ??");
@@ -50,25 +91,37 @@ public class FeedViewModel extends AndroidViewModel {
                 return;
             }
 
-            isLoading.postValue(false);
+            // 快照只是先行展示，网络刷新还在进行
+            FeedUiState next = result.isFromSnapshot() ? state : state.withLoading(false);
 
             if (result.isSuccess()) {
-                errorMessage.postValue(null);
-
-                List<Post> updatedPosts = FeedListMerger.merge(
-                        feedPosts.getValue(),
+                long droppedBefore = dedupIndex.droppedTotal();
+                FeedList updatedPosts = FeedListMerger.merge(
+                        currentPosts,
                         result.getPosts(),
-                        result.isRefresh());
-                feedPosts.postValue(updatedPosts);
-                hasMoreData.postValue(result.hasMore());
+                        result.isRefresh(),
+                        dedupIndex);
+                long duplicates = dedupIndex.droppedTotal() - droppedBefore;
+                if (result.isRefresh()) {
+                    pageWindow.reset(updatedPosts.size(), result.getCursor(), result.getNextCursor());
+                    pageIoExecutor.execute(pageCache::clear);
+                } else {
+                    pageWindow.append(updatedPosts.size() - currentPosts.size(),
+                            result.getCursor(), result.getNextCursor());
+                }
+                currentPosts = updatedPosts;
+                next = next.withErrorMessage(null)
+                        .withPosts(updatedPosts)
+                        .withHasMore(result.hasMore());
 
                 if (result.isRefresh()) {
-                    boolean empty = updatedPosts.isEmpty();
-                    isEmptyState.postValue(empty);
-                    Log.d(TAG, "Refresh replaced Feed, count: " + updatedPosts.size());
+                    next = next.withEmptyState(updatedPosts.isEmpty());
+                    Log.d(TAG, "Refresh replaced Feed, count: " + updatedPosts.size()
+                            + ", duplicates: " + duplicates);
                 } else if (result.getPosts() != null && !result.getPosts().isEmpty()) {
-                    isEmptyState.postValue(false);
-                    Log.d(TAG, "Load more appended: " + result.getPosts().size()
+                    next = next.withEmptyState(false);
+                    Log.d(TAG, "Load more appended: " + (result.getPosts().size() - duplicates)
+                            + ", duplicates: " + duplicates
                             + ", total: " + updatedPosts.size());
                 } else {
                     Log.d(TAG, "Load more returned no visible posts");
@@ -76,14 +129,23 @@ public class FeedViewModel extends AndroidViewModel {
 
                 isFirstLoad.set(false);
             } else {
-                errorMessage.postValue(result.getErrorMessage());
+                next = next.withErrorMessage(result.getErrorMessage());
                 if (result.isRefresh() && isFirstLoad.get()) {
-                    isEmptyState.postValue(true);
+                    next = next.withEmptyState(true);
                 }
                 Log.e(TAG, "数据加载失败: " + result.getErrorMessage());
             }
+            setState(next);
         };
-        feedRepository.getFeedResult().observeForever(feedResultObserver);
+        feedRepository.getFeedResult(feedKey).observeForever(feedResultObserver);
+    }
+
+    private void setState(FeedUiState next) {
+        if (next == state) {
+            return;
+        }
+        state = next;
+        stateCoalescer.submit(next);
     }
 
     public void loadFeed() {
@@ -92,8 +154,7 @@ public class FeedViewModel extends AndroidViewModel {
             refreshFeed();
         } else {
             Log.d(TAG, "恢复数据，跳过加载");
-            List<Post> currentPosts = feedPosts.getValue();
-            if (currentPosts == null || currentPosts.isEmpty()) {
+            if (currentPosts.isEmpty()) {
                 refreshFeed();
             }
         }
@@ -101,55 +162,172 @@ public class FeedViewModel extends AndroidViewModel {
 
     public void refreshFeed() {
         Log.d(TAG, "刷新Feed数据");
-        isLoading.postValue(true);
-        if (!feedRepository.loadFeedData(true)) {
-            isLoading.postValue(false);
+        if (feedRepository.loadFeedData(feedKey, true)) {
+            setState(state.withLoading(true));
         }
     }
 
     public void loadMoreFeed() {
-        if (!feedRepository.hasMoreData()) {
+        if (!feedRepository.hasMoreData(feedKey)) {
             Log.d(TAG, "没有更多数据了");
             return;
         }
 
-        if (feedRepository.isLoading()) {
+        if (feedRepository.isLoading(feedKey)) {
             Log.d(TAG, "数据正在加载中");
             return;
         }
 
         Log.d(TAG, "加载更多Feed数据");
-        feedRepository.loadFeedData(false);
+        feedRepository.loadFeedData(feedKey, false);
+    }
+
+    /**
+     * @return 累计因postId重复而丢弃的作品数
+     */
+    public long getDroppedDuplicateCount() {
+        return dedupIndex.droppedTotal();
+    }
+
+    /**
+     * 设置可见分页前后保留在内存中的页数，小于等于0时不换出
+     */
+    public void setPageWindow(int pages) {
+        pageWindow.setWindowPages(pages);
+    }
+
+    /**
+     * 列表可见范围变化时调用（主线程）
+     * 离开窗口的分页写入磁盘后换成占位，回到窗口的分页从磁盘读回，读不到时按游标范围重新请求；位置和postId保持不变
+     */
+    public void onVisibleRangeChanged(int firstVisible, int lastVisible) {
+        if (!pageWindow.updateVisibleRange(firstVisible, lastVisible)) {
+            return;
+        }
+        FeedList posts = currentPosts;
+        int generation = pageWindow.generation();
+        for (FeedPageWindow.Page page : pageWindow.takePagesToEvict()) {
+            List<Post> content = new ArrayList<>(posts.subList(page.start, page.end()));
+            pageIoExecutor.execute(() -> spillPage(generation, page, content));
+        }
+        for (FeedPageWindow.Page page : pageWindow.takePagesToRestore()) {
+            List<Post> placeholders = new ArrayList<>(posts.subList(page.start, page.end()));
+            pageIoExecutor.execute(() -> reloadPage(generation, page, placeholders));
+        }
     }
 
-    public LiveData<List<Post>> getFeedPosts() {
-        return feedPosts;
+    private void spillPage(int generation, FeedPageWindow.Page page, List<Post> content) {
+        try {
+            pageCache.write(pageFileName(generation, page), content);
+            mainHandler.post(() -> {
+                if (pageWindow.completeEviction(generation, page)) {
+                    replacePage(page, placeholdersOf(content));
+                    Log.d(TAG, "分页已换出: " + page.index + ", 内存中分页: "
+                            + pageWindow.residentPageCount() + "/" + pageWindow.pageCount());
+                }
+            });
+        } catch (IOException e) {
+            Log.w(TAG, "分页换出失败: " + page.index, e);
+            mainHandler.post(() -> pageWindow.failEviction(generation, page));
+        }
+    }
+
+    private void reloadPage(int generation, FeedPageWindow.Page page, List<Post> placeholders) {
+        List<Post> content;
+        try {
+            content = pageCache.read(pageFileName(generation, page), page.size);
+        } catch (IOException e) {
+            Log.w(TAG, "从磁盘换回分页失败: " + page.index, e);
+            refetchPage(generation, page, placeholders);
+            return;
+        }
+        feedRepository.prepareCardLayouts(content);
+        mainHandler.post(() -> {
+            if (pageWindow.completeRestore(generation, page)) {
+                replacePage(page, content);
+                Log.d(TAG, "分页已换回: " + page.index);
+            }
+        });
     }
 
-    public LiveData<Boolean> getIsLoading() {
-        return isLoading;
+    /**
+     * 磁盘上的分页丢失（如系统清理了缓存目录）时按分页的游标范围重新请求
+     * 仍然失败时分页回到已换出状态，下次可见范围变化时重试
+     */
+    private void refetchPage(int generation, FeedPageWindow.Page page, List<Post> placeholders) {
+        if (!page.hasCursorRange()) {
+            mainHandler.post(() -> pageWindow.failRestore(generation, page));
+            return;
+        }
+        feedRepository.reloadRange(page.cursor, page.nextCursor, new ApiService.FeedCallback() {
+            @Override
+            public void onSuccess(List<Post> fetched, int rawCount, boolean hasMore) {
+                List<Post> content = FeedPageWindow.matchPlaceholders(placeholders, fetched);
+                mainHandler.post(() -> {
+                    if (content == null) {
+                        Log.w(TAG, "重新请求的分页中没有原来的作品: " + page.index);
+                        pageWindow.failRestore(generation, page);
+                    } else if (pageWindow.completeRestore(generation, page)) {
+                        replacePage(page, content);
+                        Log.d(TAG, "分页已从网络换回: " + page.index);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                Log.w(TAG, "重新请求分页失败，下次滚动时重试: " + page.index + ", " + errorMessage);
+                mainHandler.post(() -> pageWindow.failRestore(generation, page));
+            }
+        });
+    }
+
+    private void replacePage(FeedPageWindow.Page page, List<Post> content) {
+        if (currentPosts.size() < page.end()) {
+            return;
+        }
+        currentPosts = currentPosts.replace(page.start, content);
+        setState(state.withPosts(currentPosts));
+    }
+
+    private static List<Post> placeholdersOf(List<Post> posts) {
+        List<Post> placeholders = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            placeholders.add(Post.placeholder(post.postId, post.getLayoutSpec()));
+        }
+        return placeholders;
     }
 
-    public LiveData<String> getErrorMessage() {
-        return errorMessage;
+    private static String pageFileName(int generation, FeedPageWindow.Page page) {
+        return generation + "_" + page.index;
     }
 
-    public LiveData<Boolean> getHasMoreData() {
-        return hasMoreData;
+    public FeedKey getFeedKey() {
+        return feedKey;
     }
 
-    public LiveData<Boolean> getIsEmptyState() {
-        return isEmptyState;
+    /**
+     * Feed的界面状态，每次变化发布一个完整快照
+     */
+    public LiveData<FeedUiState> getUiState() {
+        return uiState;
     }
 
+    /**
+     * 错误信息已展示，从状态中清除
+     */
     public void clearErrorMessage() {
-        errorMessage.postValue(null);
+        setState(state.withErrorMessage(null));
     }
 
     @Override
     protected void onCleared() {
         super.onCleared();
         Log.d(TAG, "FeedViewModel被清理");
-        feedRepository.getFeedResult().removeObserver(feedResultObserver);
+        feedRepository.getFeedResult(feedKey).removeObserver(feedResultObserver);
+        mainHandler.removeCallbacksAndMessages(null);
+        stateCoalescer.cancel();
+        pageIoExecutor.execute(pageCache::clear);
+        pageIoExecutor.shutdown();
     }
 }
\ No newline at end of file
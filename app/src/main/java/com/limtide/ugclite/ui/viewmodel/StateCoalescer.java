@@ -0,0 +1,56 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import java.util.function.Consumer;
+
+/**
+ * 合并短时间内的多次状态更新：每个调度周期（如一帧）只把最新状态交给下游一次
+ * 只在单一线程（主线程）使用
+ */
+final class StateCoalescer<T> {
+
+    interface Scheduler {
+        void schedule(Runnable task);
+    }
+
+    private final Scheduler scheduler;
+    private final Consumer<T> sink;
+    private T pending;
+    private boolean scheduled;
+    private boolean cancelled;
+
+    StateCoalescer(Scheduler scheduler, Consumer<T> sink) {
+        this.scheduler = scheduler;
+        this.sink = sink;
+    }
+
+    /**
+     * 提交最新状态；本周期内已有待发布状态时直接覆盖它
+     */
+    void submit(T state) {
+        if (cancelled) {
+            return;
+        }
+        pending = state;
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.schedule(this::flush);
+        }
+    }
+
+    private void flush() {
+        scheduled = false;
+        T state = pending;
+        pending = null;
+        if (!cancelled && state != null) {
+            sink.accept(state);
+        }
+    }
+
+    /**
+     * 丢弃待发布的状态，之后的提交也不再发布
+     */
+    void cancel() {
+        cancelled = true;
+        pending = null;
+    }
+}
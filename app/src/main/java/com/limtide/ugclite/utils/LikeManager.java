@@ -229,6 +229,13 @@ public class LikeManager {
         }
     }
 
+    /**
+     * 获取未点赞时的基础点赞数量
+     */
+    public int getBaseLikeCount() {
+        return baseLikeCount;
+    }
+
     /**
      * 设置基础点赞数量 - 线程安全
      * @param baseCount 基础点赞数量
@@ -4,14 +4,20 @@ import android.content.Context;
 import android.os.Environment;
 import android.util.Log;
 
+import com.limtide.ugclite.network.SharedHttpClient;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * MP3文件保存和缓存工具类
@@ -31,6 +37,9 @@ public class MusicFileUtils {
     // 线程池
     private static final ExecutorService executorService = Executors.newFixedThreadPool(2);
 
+    // 下载客户端：与Feed、图片共享连接池和DNS缓存，只放宽读取超时
+    private static volatile OkHttpClient downloadClient;
+
     // 回调接口
     public interface MusicSaveCallback {
         void onSuccess(String filePath);
@@ -163,45 +172,42 @@ public class MusicFileUtils {
      * 下载音乐文件
      */
     private static void downloadMusicFile(String musicUrl, File targetFile, MusicSaveCallback callback) {
-        HttpURLConnection connection = null;
-        InputStream inputStream = null;
-        FileOutputStream outputStream = null;
-
-        try {
-            URL url = new URL(musicUrl);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(15000); // 15秒连接超时
-            connection.setReadTimeout(60000);    // 60秒读取超时
-            connection.setUseCaches(true);
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                throw new IOException("HTTP错误: " + responseCode);
+        Request request = new Request.Builder()
+                .url(musicUrl)
+                .get()
+                .build();
+
+        try (Response response = getDownloadClient().newCall(request).execute()) {
+            if (response.code() != 200) {
+                throw new IOException("HTTP错误: " + response.code());
+            }
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new IOException("响应体为空");
             }
 
-            int fileSize = connection.getContentLength();
+            long fileSize = body.contentLength();
             Log.d(TAG, "开始下载音乐文件，大小: " + fileSize + " 字节");
 
-            inputStream = connection.getInputStream();
-            outputStream = new FileOutputStream(targetFile);
+            try (InputStream inputStream = body.byteStream();
+                 FileOutputStream outputStream = new FileOutputStream(targetFile)) {
+                byte[] buffer = new byte[8192]; // 8KB缓冲区
+                int bytesRead;
+                long totalBytesRead = 0;
 
-            byte[] buffer = new byte[8192]; // 8KB缓冲区
-            int bytesRead;
-            long totalBytesRead = 0;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, bytesRead);
+                    totalBytesRead += bytesRead;
 
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-                totalBytesRead += bytesRead;
-
-                // 报告进度
-                if (callback != null && fileSize > 0) {
-                    int progress = (int) ((totalBytesRead * 100) / fileSize);
-                    callback.onProgress(progress);
+                    // 报告进度
+                    if (callback != null && fileSize > 0) {
+                        int progress = (int) ((totalBytesRead * 100) / fileSize);
+                        callback.onProgress(progress);
+                    }
                 }
-            }
 
-            outputStream.flush();
+                outputStream.flush();
+            }
             Log.d(TAG, "音乐文件下载完成: " + targetFile.getAbsolutePath() +
                       ", 大小: " + targetFile.length() + " 字节");
 
@@ -209,7 +215,8 @@ public class MusicFileUtils {
                 callback.onSuccess(targetFile.getAbsolutePath());
             }
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
+            // IllegalArgumentException：URL格式不合法
             Log.e(TAG, "下载音乐文件失败: " + e.getMessage(), e);
             // 删除不完整的文件
             if (targetFile.exists()) {
@@ -218,22 +225,20 @@ public class MusicFileUtils {
             if (callback != null) {
                 callback.onError("下载失败: " + e.getMessage());
             }
-        } finally {
-            // 关闭资源
-            try {
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-                if (connection != null) {
-                    connection.disconnect();
+        }
+    }
+
+    private static OkHttpClient getDownloadClient() {
+        if (downloadClient == null) {
+            synchronized (MusicFileUtils.class) {
+                if (downloadClient == null) {
+                    downloadClient = SharedHttpClient.get().newBuilder()
+                            .readTimeout(60, TimeUnit.SECONDS) // 60秒读取超时
+                            .build();
                 }
-            } catch (IOException e) {
-                Log.e(TAG, "关闭资源失败: " + e.getMessage(), e);
             }
         }
+        return downloadClient;
     }
 
     /**
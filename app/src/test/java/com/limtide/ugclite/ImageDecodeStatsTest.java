@@ -0,0 +1,41 @@
+package com.limtide.ugclite;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ImageDecodeStatsTest {
+
+    @Test
+    public void comparesDecodedBytesWithFullSizeArgb() {
+        ImageDecodeStats stats = new ImageDecodeStats();
+
+        // 1080x1440原图按378x504、RGB_565解码
+        stats.record(378 * 504 * 2, 1080, 1440);
+
+        assertEquals(1, stats.getDecodeCount());
+        assertEquals(378 * 504 * 2, stats.getDecodedBytes());
+        assertEquals(1080L * 1440 * 4, stats.getFullSizeBytes());
+        assertEquals(378.0 * 504 * 2 / (1080.0 * 1440 * 4), stats.getDecodedRatio(), 1e-9);
+    }
+
+    @Test
+    public void unknownSourceSizeCountsNoSaving() {
+        ImageDecodeStats stats = new ImageDecodeStats();
+
+        stats.record(1024, 0, 0);
+
+        assertEquals(1024, stats.getFullSizeBytes());
+        assertEquals(1.0, stats.getDecodedRatio(), 1e-9);
+    }
+
+    @Test
+    public void resetClearsCounters() {
+        ImageDecodeStats stats = new ImageDecodeStats();
+        stats.record(100, 10, 10);
+        stats.reset();
+
+        assertEquals(0, stats.getDecodeCount());
+        assertEquals(1.0, stats.getDecodedRatio(), 1e-9);
+    }
+}
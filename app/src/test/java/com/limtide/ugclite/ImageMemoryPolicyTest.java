@@ -0,0 +1,34 @@
+package com.limtide.ugclite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ImageMemoryPolicyTest {
+
+    @Test
+    public void lowRamDeviceIsLowClassRegardlessOfMemoryClass() {
+        assertEquals(ImageMemoryPolicy.DeviceClass.LOW, ImageMemoryPolicy.forDevice(512, true).deviceClass);
+        assertEquals(ImageMemoryPolicy.DeviceClass.LOW, ImageMemoryPolicy.forDevice(128, false).deviceClass);
+    }
+
+    @Test
+    public void memoryClassSelectsMidAndHigh() {
+        assertEquals(ImageMemoryPolicy.DeviceClass.MID, ImageMemoryPolicy.forDevice(192, false).deviceClass);
+        assertEquals(ImageMemoryPolicy.DeviceClass.MID, ImageMemoryPolicy.forDevice(256, false).deviceClass);
+        assertEquals(ImageMemoryPolicy.DeviceClass.HIGH, ImageMemoryPolicy.forDevice(512, false).deviceClass);
+    }
+
+    @Test
+    public void cacheGrowsWithDeviceClass() {
+        ImageMemoryPolicy low = ImageMemoryPolicy.forDevice(96, false);
+        ImageMemoryPolicy mid = ImageMemoryPolicy.forDevice(192, false);
+        ImageMemoryPolicy high = ImageMemoryPolicy.forDevice(512, false);
+
+        assertTrue(low.memoryCacheScreens < mid.memoryCacheScreens);
+        assertTrue(mid.memoryCacheScreens < high.memoryCacheScreens);
+        assertTrue(low.bitmapPoolScreens < mid.bitmapPoolScreens);
+        assertTrue(low.arrayPoolBytes < high.arrayPoolBytes);
+    }
+}
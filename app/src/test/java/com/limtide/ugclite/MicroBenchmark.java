@@ -0,0 +1,74 @@
+package com.limtide.ugclite;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * JVM微基准测试工具
+ * 默认跳过，使用 ./gradlew testDebugUnitTest -Pugclite.benchmark=true 运行
+ */
+public final class MicroBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public interface Task {
+        Object run() throws Exception;
+    }
+
+    public static final class Result {
+        public final double nanosPerOp;
+        public final long bytesPerOp;
+
+        Result(double nanosPerOp, long bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    private static volatile Object sink;
+
+    private MicroBenchmark() {
+    }
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("ugclite.benchmark");
+    }
+
+    public static Result measure(Task task) throws Exception {
+        return measure(task, WARMUP_ROUNDS, MEASURED_ROUNDS);
+    }
+
+    public static Result measure(Task task, int warmupRounds, int measuredRounds) throws Exception {
+        for (int round = 0; round < warmupRounds; round++) {
+            sink = task.run();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < measuredRounds; round++) {
+            sink = task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - bytesBefore;
+        return new Result((double) elapsed / measuredRounds,
+                allocated < 0 ? -1 : allocated / measuredRounds);
+    }
+
+    public static void report(String name, Result baseline, Result candidate) {
+        System.out.println(String.format(Locale.US,
+                "%-36s baseline %10.1f us %10d B/op | candidate %10.1f us %10d B/op | speedup %.2fx",
+                name,
+                baseline.nanosPerOp / 1000.0, baseline.bytesPerOp,
+                candidate.nanosPerOp / 1000.0, candidate.bytesPerOp,
+                baseline.nanosPerOp / candidate.nanosPerOp));
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
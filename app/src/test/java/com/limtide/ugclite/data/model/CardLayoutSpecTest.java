@@ -0,0 +1,98 @@
+package com.limtide.ugclite.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class CardLayoutSpecTest {
+
+    @Test
+    public void coverHeightKeepsRatioWithinBounds() {
+        assertEquals(189, spec(clip(0, 400, 400), 1f).getCoverHeightPx());
+        assertEquals(378, spec(clip(0, 400, 400), 2f).getCoverHeightPx());
+        assertEquals(378, spec(clip(0, 400, 400), 2f).getCoverWidthPx());
+    }
+
+    @Test
+    public void extremeRatiosAreClamped() {
+        // 太窄按3:4，太宽按4:3
+        assertEquals(252, spec(clip(0, 100, 1000), 1f).getCoverHeightPx());
+        assertEquals(142, spec(clip(1, 1000, 100), 1f).getCoverHeightPx());
+    }
+
+    @Test
+    public void placeholderKeepsOriginalSpec() {
+        Post original = new Post();
+        original.postId = "p1";
+        CardLayoutSpec spec = spec(clip(0, 400, 400), 2f);
+        original.setLayoutSpec(spec);
+
+        Post placeholder = Post.placeholder(original.postId, original.getLayoutSpec());
+
+        assertSame(spec, placeholder.getLayoutSpec());
+        assertEquals(378, placeholder.getLayoutSpec().getCoverHeightPx());
+    }
+
+    @Test
+    public void missingSizeUsesThreeByFour() {
+        CardLayoutSpec spec = CardLayoutSpec.compute(new Post(), 1f, 128);
+
+        assertNull(spec.getCoverClip());
+        assertEquals(252, spec.getCoverHeightPx());
+    }
+
+    @Test
+    public void coverIsFirstImageOrVideoClip() {
+        Post post = new Post();
+        post.clips = new ArrayList<>();
+        post.clips.add(clip(2, 0, 0));
+        Post.Clip video = clip(1, 300, 400);
+        post.clips.add(video);
+
+        assertSame(video, CardLayoutSpec.compute(post, 1f, 128).getCoverClip());
+    }
+
+    @Test
+    public void displayTextPrefersTrimmedTitle() {
+        Post post = new Post();
+        post.title = "  标题  ";
+        post.content = "正文";
+        assertEquals("标题", CardLayoutSpec.compute(post, 1f, 0).getDisplayText());
+
+        post.title = "   ";
+        assertEquals("正文", CardLayoutSpec.compute(post, 1f, 0).getDisplayText());
+
+        post.content = null;
+        assertEquals("", CardLayoutSpec.compute(post, 1f, 0).getDisplayText());
+    }
+
+    @Test
+    public void likeCountTextIsPrecomputedForBothStates() {
+        CardLayoutSpec spec = CardLayoutSpec.compute(new Post(), 1f, 999);
+
+        assertSame(spec.likeCountText(999), spec.likeCountText(999));
+        assertEquals("999", spec.likeCountText(999));
+        assertEquals("1.0K", spec.likeCountText(1000));
+        assertEquals("12K", spec.likeCountText(12345));
+    }
+
+    private static CardLayoutSpec spec(Post.Clip clip, float density) {
+        Post post = new Post();
+        post.clips = new ArrayList<>();
+        post.clips.add(clip);
+        return CardLayoutSpec.compute(post, density, 128);
+    }
+
+    private static Post.Clip clip(int type, int width, int height) {
+        Post.Clip clip = new Post.Clip();
+        clip.type = type;
+        clip.width = width;
+        clip.height = height;
+        clip.url = "https://example.com/" + type;
+        return clip;
+    }
+}
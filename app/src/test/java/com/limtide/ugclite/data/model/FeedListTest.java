@@ -0,0 +1,100 @@
+package com.limtide.ugclite.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FeedListTest {
+
+    @Test
+    public void appendCarriesDeltaAndKeepsOldVersionIntact() {
+        FeedList first = FeedList.of(posts(0, 100));
+        FeedList second = first.append(posts(100, 30));
+
+        assertEquals(100, first.size());
+        assertEquals(130, second.size());
+        assertEquals(FeedList.Change.APPEND, second.change());
+        assertEquals(first.version(), second.baseVersion());
+        assertEquals(100, second.changeStart());
+        assertEquals(30, second.changeCount());
+        assertEquals("129", second.get(129).postId);
+        assertSame(first.get(64), second.get(64));
+    }
+
+    @Test
+    public void appendingToOlderVersionDoesNotOverwriteNewerOne() {
+        FeedList base = FeedList.of(posts(0, 10));
+        FeedList newer = base.append(posts(10, 5));
+        FeedList branch = base.append(posts(50, 5));
+
+        assertEquals("10", newer.get(10).postId);
+        assertEquals("50", branch.get(10).postId);
+        assertEquals(15, branch.size());
+    }
+
+    @Test
+    public void replaceDoesNotChangeOtherVersions() {
+        FeedList list = FeedList.of(posts(0, 130));
+        List<Post> placeholders = new ArrayList<>();
+        for (int i = 60; i < 70; i++) {
+            placeholders.add(Post.placeholder(String.valueOf(i), null));
+        }
+
+        FeedList replaced = list.replace(60, placeholders);
+
+        assertEquals(FeedList.Change.REPLACE, replaced.change());
+        assertEquals(list.version(), replaced.baseVersion());
+        assertTrue(replaced.get(65).isPlaceholder());
+        assertTrue(!list.get(65).isPlaceholder());
+        assertSame(list.get(0), replaced.get(0));
+
+        // 替换后的版本继续追加，不影响原版本的末尾
+        FeedList appended = replaced.append(posts(130, 2));
+        FeedList original = list.append(posts(200, 2));
+        assertEquals("130", appended.get(130).postId);
+        assertEquals("200", original.get(130).postId);
+    }
+
+    @Test
+    public void emptyAppendReturnsSameVersion() {
+        FeedList list = FeedList.of(posts(0, 3));
+
+        assertSame(list, list.append(Collections.emptyList()));
+        assertEquals(FeedList.Change.RESET, list.change());
+        assertEquals(-1, list.baseVersion());
+    }
+
+    @Test
+    public void outOfRangeAccessFails() {
+        FeedList list = FeedList.of(posts(0, 3));
+        try {
+            list.get(3);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // 越界
+        }
+        try {
+            list.replace(2, posts(0, 2));
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // 越界
+        }
+    }
+
+    private static List<Post> posts(int from, int count) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            Post post = new Post();
+            post.postId = String.valueOf(i);
+            posts.add(post);
+        }
+        return posts;
+    }
+}
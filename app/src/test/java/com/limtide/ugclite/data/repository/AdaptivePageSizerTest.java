@@ -0,0 +1,72 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AdaptivePageSizerTest {
+
+    private static final long BYTES_PER_POST = 2_000;
+
+    @Test
+    public void startsAtInitialSize() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 50, 20, 1000);
+        assertEquals(20, sizer.currentSize());
+    }
+
+    @Test
+    public void initialSizeIsClamped() {
+        assertEquals(50, new AdaptivePageSizer(10, 50, 80, 1000).currentSize());
+        assertEquals(10, new AdaptivePageSizer(10, 50, 1, 1000).currentSize());
+    }
+
+    @Test
+    public void fastLinkGrowsTowardsMaxInBoundedSteps() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 50, 20, 1000);
+
+        // 20条40KB用时100ms：一秒内能传约200条
+        sizer.record(20, 100, 20 * BYTES_PER_POST);
+        assertEquals(40, sizer.currentSize());
+
+        sizer.record(40, 200, 40 * BYTES_PER_POST);
+        assertEquals(50, sizer.currentSize());
+    }
+
+    @Test
+    public void slowLinkShrinksTowardsMin() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 50, 20, 1000);
+
+        // 20条用时4秒：一秒约5条
+        sizer.record(20, 4000, 20 * BYTES_PER_POST);
+        assertEquals(10, sizer.currentSize());
+    }
+
+    @Test
+    public void steadyLinkConverges() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 50, 20, 1000);
+
+        for (int i = 0; i < 20; i++) {
+            int size = sizer.currentSize();
+            // 每条固定40ms：目标1秒约25条
+            sizer.record(size, size * 40L, size * BYTES_PER_POST);
+        }
+        assertEquals(25, sizer.currentSize());
+    }
+
+    @Test
+    public void emptySamplesAreIgnored() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 50, 20, 1000);
+
+        sizer.record(0, 100, 0);
+        sizer.record(20, 100, 0);
+
+        assertEquals(20, sizer.currentSize());
+        assertTrue(sizer.toString().contains("samples=0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidBounds() {
+        new AdaptivePageSizer(30, 20, 25, 1000);
+    }
+}
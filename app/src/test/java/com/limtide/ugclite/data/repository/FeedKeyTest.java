@@ -0,0 +1,56 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+public class FeedKeyTest {
+
+    @Test
+    public void hashtagKeysIgnoreHashSign() {
+        assertEquals(FeedKey.hashtag("#旅行"), FeedKey.hashtag("旅行 "));
+        assertEquals(FeedKey.hashtag("#旅行").hashCode(), FeedKey.hashtag("旅行").hashCode());
+        assertNotEquals(FeedKey.hashtag("旅行"), FeedKey.author("旅行"));
+    }
+
+    @Test
+    public void hashtagMatchesHighlightedRange() {
+        Post post = new Post();
+        post.content = "周末 #旅行 打卡";
+        Post.Hashtag hashtag = new Post.Hashtag();
+        hashtag.start = 3;
+        hashtag.end = 6;
+        post.hashtags.add(hashtag);
+
+        assertTrue(FeedKey.hashtag("旅行").matches(post));
+        assertFalse(FeedKey.hashtag("美食").matches(post));
+    }
+
+    @Test
+    public void invalidHashtagRangeIsIgnored() {
+        Post post = new Post();
+        post.content = "短";
+        Post.Hashtag hashtag = new Post.Hashtag();
+        hashtag.start = 0;
+        hashtag.end = 10;
+        post.hashtags.add(hashtag);
+
+        assertFalse(FeedKey.hashtag("短").matches(post));
+    }
+
+    @Test
+    public void authorMatchesUserId() {
+        Post post = new Post();
+        post.author = new Post.Author();
+        post.author.userId = "u1";
+
+        assertTrue(FeedKey.author("u1").matches(post));
+        assertFalse(FeedKey.author("u2").matches(post));
+        assertTrue(FeedKey.HOME.matches(post));
+    }
+}
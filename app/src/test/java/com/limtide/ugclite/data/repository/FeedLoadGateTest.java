@@ -2,8 +2,11 @@ package com.limtide.ugclite.data.repository;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.limtide.ugclite.network.FeedCall;
+
 import org.junit.Test;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -13,35 +16,111 @@ public class FeedLoadGateTest {
     @Test
     public void activeLoadMoreRejectsAnotherLoadMore() {
         FeedLoadGate gate = new FeedLoadGate();
-        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false));
-        assertEquals(FeedLoadGate.Decision.REJECTED, gate.request(false));
+        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false).decision);
+        assertEquals(FeedLoadGate.Decision.REJECTED, gate.request(false).decision);
     }
 
     @Test
-    public void queuedRefreshSuppressesCompletedResult() {
+    public void refreshPreemptsLoadMoreAndDropsItsResult() {
         FeedLoadGate gate = new FeedLoadGate();
         AtomicBoolean published = new AtomicBoolean();
 
-        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false));
-        assertEquals(FeedLoadGate.Decision.QUEUED, gate.request(true));
-        assertTrue(gate.complete(() -> published.set(true)));
+        FeedLoadGate.Ticket loadMore = gate.request(false);
+        FeedLoadGate.Ticket refresh = gate.request(true);
+        assertEquals(FeedLoadGate.Decision.PREEMPTED, refresh.decision);
+        assertNotEquals(loadMore.token, refresh.token);
 
+        assertFalse(gate.complete(loadMore.token, () -> published.set(true)));
         assertFalse(published.get());
         assertTrue(gate.isActive());
-        assertFalse(gate.complete(() -> published.set(true)));
+
+        assertTrue(gate.complete(refresh.token, () -> published.set(true)));
         assertTrue(published.get());
         assertFalse(gate.isActive());
     }
 
+    @Test
+    public void preemptionCancelsAttachedCall() {
+        FeedLoadGate gate = new FeedLoadGate();
+        TestCall call = new TestCall();
+
+        FeedLoadGate.Ticket loadMore = gate.request(false);
+        gate.attach(loadMore.token, call);
+        assertFalse(call.isCanceled());
+
+        gate.request(true);
+        assertTrue(call.isCanceled());
+    }
+
+    @Test
+    public void callAttachedAfterPreemptionIsCanceledImmediately() {
+        FeedLoadGate gate = new FeedLoadGate();
+        TestCall late = new TestCall();
+
+        FeedLoadGate.Ticket loadMore = gate.request(false);
+        FeedLoadGate.Ticket refresh = gate.request(true);
+        gate.attach(loadMore.token, late);
+        assertTrue(late.isCanceled());
+
+        TestCall current = new TestCall();
+        gate.attach(refresh.token, current);
+        assertFalse(current.isCanceled());
+    }
+
+    @Test
+    public void refreshDuringRefreshJoinsWithoutCancel() {
+        FeedLoadGate gate = new FeedLoadGate();
+        TestCall call = new TestCall();
+
+        FeedLoadGate.Ticket refresh = gate.request(true);
+        gate.attach(refresh.token, call);
+        FeedLoadGate.Ticket second = gate.request(true);
+
+        assertEquals(FeedLoadGate.Decision.JOINED, second.decision);
+        assertFalse(call.isCanceled());
+        assertTrue(gate.isCurrent(refresh.token));
+    }
+
     @Test
     public void completedRequestPublishesAndAllowsNextRequest() {
         FeedLoadGate gate = new FeedLoadGate();
         AtomicBoolean published = new AtomicBoolean();
 
-        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false));
-        assertFalse(gate.complete(() -> published.set(true)));
+        FeedLoadGate.Ticket ticket = gate.request(false);
+        assertEquals(FeedLoadGate.Decision.STARTED, ticket.decision);
+        assertTrue(gate.complete(ticket.token, () -> published.set(true)));
 
         assertTrue(published.get());
-        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false));
+        assertFalse(gate.isCurrent(ticket.token));
+        assertEquals(FeedLoadGate.Decision.STARTED, gate.request(false).decision);
+    }
+
+    @Test
+    public void staleTokenCannotCompleteLaterRequest() {
+        FeedLoadGate gate = new FeedLoadGate();
+        AtomicBoolean published = new AtomicBoolean();
+
+        FeedLoadGate.Ticket loadMore = gate.request(false);
+        FeedLoadGate.Ticket refresh = gate.request(true);
+        gate.complete(refresh.token, () -> { });
+        FeedLoadGate.Ticket next = gate.request(false);
+
+        assertFalse(gate.complete(loadMore.token, () -> published.set(true)));
+        assertFalse(published.get());
+        assertTrue(gate.isCurrent(next.token));
+    }
+
+    private static final class TestCall implements FeedCall {
+        private boolean canceled;
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
     }
 }
@@ -0,0 +1,77 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FeedPageCacheTest {
+
+    @Test
+    public void writtenPageReadsBackInOrder() throws Exception {
+        FeedPageCache cache = new FeedPageCache(Files.createTempDirectory("pages").toFile());
+        cache.write("1_3", posts("a", "b", "c"));
+
+        List<Post> posts = cache.read("1_3", 3);
+        assertEquals(3, posts.size());
+        assertEquals("a", posts.get(0).postId);
+        assertEquals("标题c", posts.get(2).title);
+    }
+
+    @Test
+    public void missingOrIncompletePageFails() throws Exception {
+        File directory = Files.createTempDirectory("pages").toFile();
+        FeedPageCache cache = new FeedPageCache(directory);
+        cache.write("1_0", posts("a"));
+
+        try {
+            cache.read("1_0", 2);
+            fail();
+        } catch (IOException expected) {
+            // 数量不符
+        }
+        cache.clear();
+        try {
+            cache.read("1_0", 1);
+            fail();
+        } catch (IOException expected) {
+            // 已被清理
+        }
+    }
+
+    @Test
+    public void staleSessionsAreDeletedAndCurrentOnesKept() throws Exception {
+        File root = Files.createTempDirectory("pages").toFile();
+        File stale = new File(root, "old_1");
+        new FeedPageCache(stale).write("1_0", posts("a"));
+        new File(root, "loose").createNewFile();
+        FeedPageCache current = FeedPageCache.inSession(root, "1");
+        current.write("1_0", posts("b"));
+
+        FeedPageCache.deleteStaleSessions(root);
+
+        assertFalse(stale.exists());
+        assertFalse(new File(root, "loose").exists());
+        assertEquals("b", current.read("1_0", 1).get(0).postId);
+    }
+
+    private static List<Post> posts(String... ids) {
+        List<Post> posts = new ArrayList<>();
+        for (String id : ids) {
+            Post post = new Post();
+            post.postId = id;
+            post.title = "标题" + id;
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,237 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.data.repository.FeedRepository.FeedResult;
+import com.limtide.ugclite.network.FeedPage;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FeedPipelineTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final PublishProcessor<Object> refreshes = PublishProcessor.create();
+    private final PublishProcessor<Object> loadMores = PublishProcessor.create();
+    private final List<Integer> requestedCursors = new ArrayList<>();
+    private final List<SingleSubject<FeedPage>> pending = new ArrayList<>();
+
+    private final FeedPipeline pipeline = pipelineFor(FeedKey.HOME);
+
+    @Test
+    public void loadMoreContinuesFromPreviousCursorAndDropsDuplicates() {
+        TestSubscriber<FeedResult> results = pipeline.results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+
+        loadMores.onNext(1);
+        scheduler.triggerActions();
+        respond(1, false, "b", "c");
+
+        assertEquals(List.of(0, 2), requestedCursors);
+        results.assertValueCount(2);
+        assertEquals(ids("a", "b"), ids(results.values().get(0)));
+        assertTrue(results.values().get(0).isRefresh());
+        assertEquals(ids("c"), ids(results.values().get(1)));
+        assertFalse(results.values().get(1).hasMore());
+    }
+
+    @Test
+    public void refreshCancelsInFlightLoadMore() {
+        TestSubscriber<FeedResult> results = pipeline.results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+        loadMores.onNext(1);
+        scheduler.triggerActions();
+        SingleSubject<FeedPage> staleLoadMore = pending.get(1);
+
+        refreshes.onNext(2);
+        scheduler.triggerActions();
+        assertFalse(staleLoadMore.hasObservers());
+
+        respond(2, true, "x");
+        results.assertValueCount(2);
+        assertEquals(ids("x"), ids(results.values().get(1)));
+        assertTrue(results.values().get(1).isRefresh());
+        assertEquals(List.of(0, 2, 0), requestedCursors);
+    }
+
+    @Test
+    public void loadMoreWhileBusyIsDropped() {
+        pipeline.results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+        loadMores.onNext(1);
+        loadMores.onNext(2);
+        loadMores.onNext(3);
+        scheduler.triggerActions();
+
+        // 一页进行中，再多缓冲一个请求，其余丢弃
+        assertEquals(List.of(0, 2), requestedCursors);
+        respond(1, true, "c", "d");
+        assertEquals(List.of(0, 2, 4), requestedCursors);
+        respond(2, true, "e", "f");
+        assertEquals(List.of(0, 2, 4), requestedCursors);
+    }
+
+    @Test
+    public void slowConsumerPausesPaging() {
+        TestSubscriber<FeedResult> results = pipeline.results(refreshes, loadMores).test(1);
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+        results.assertValueCount(1);
+
+        // 下游不再请求时最多预先取两页，之后的加载请求被丢弃
+        loadMores.onNext(1);
+        scheduler.triggerActions();
+        respond(1, true, "c", "d");
+        loadMores.onNext(2);
+        scheduler.triggerActions();
+        respond(2, true, "e", "f");
+        loadMores.onNext(3);
+        scheduler.triggerActions();
+        assertEquals(List.of(0, 2, 4), requestedCursors);
+        results.assertValueCount(1);
+
+        results.request(2);
+        results.assertValueCount(3);
+        loadMores.onNext(4);
+        scheduler.triggerActions();
+        assertEquals(List.of(0, 2, 4, 6), requestedCursors);
+    }
+
+    @Test
+    public void errorBecomesFailedResultAndPagingCanRetry() {
+        TestSubscriber<FeedResult> results = pipeline.results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+        loadMores.onNext(1);
+        scheduler.triggerActions();
+        pending.get(1).onError(new IOException("timeout"));
+        scheduler.triggerActions();
+
+        results.assertNotComplete();
+        results.assertNoErrors();
+        assertFalse(results.values().get(1).isSuccess());
+        assertEquals("timeout", results.values().get(1).getErrorMessage());
+
+        loadMores.onNext(2);
+        scheduler.triggerActions();
+        assertEquals(List.of(0, 2, 2), requestedCursors);
+    }
+
+    @Test
+    public void pagesWithoutMatchesAreSkipped() {
+        TestSubscriber<FeedResult> results = pipelineFor(FeedKey.hashtag("旅行"))
+                .results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        respond(0, true, "a", "b");
+        respond(1, true, tagged("c", "旅行"), untagged("d"));
+
+        // 第一页没有匹配的作品，接着取第二页，合并为一次刷新结果
+        assertEquals(List.of(0, 2), requestedCursors);
+        results.assertValueCount(1);
+        assertTrue(results.values().get(0).isRefresh());
+        assertEquals(ids("c"), ids(results.values().get(0)));
+
+        loadMores.onNext(1);
+        scheduler.triggerActions();
+        assertEquals(List.of(0, 2, 4), requestedCursors);
+    }
+
+    @Test
+    public void skippingEmptyPagesIsBounded() {
+        TestSubscriber<FeedResult> results = pipelineFor(FeedKey.hashtag("旅行"))
+                .results(refreshes, loadMores).test();
+
+        refreshes.onNext(1);
+        scheduler.triggerActions();
+        for (int i = 0; i <= FeedPipeline.MAX_SKIPPED_PAGES; i++) {
+            respond(i, true, "p" + i);
+        }
+
+        assertEquals(FeedPipeline.MAX_SKIPPED_PAGES + 1, requestedCursors.size());
+        results.assertValueCount(1);
+        assertTrue(results.values().get(0).getPosts().isEmpty());
+        assertTrue(results.values().get(0).hasMore());
+    }
+
+    private FeedPipeline pipelineFor(FeedKey key) {
+        return new FeedPipeline(key, (cursor, count) -> {
+            SingleSubject<FeedPage> page = SingleSubject.create();
+            return Single.defer(() -> {
+                requestedCursors.add(cursor);
+                pending.add(page);
+                return page;
+            });
+        }, scheduler, scheduler, 2, null);
+    }
+
+    private static Post tagged(String id, String hashtag) {
+        Post post = untagged(id);
+        post.content = "#" + hashtag;
+        Post.Hashtag range = new Post.Hashtag();
+        range.start = 0;
+        range.end = post.content.length();
+        post.hashtags.add(range);
+        return post;
+    }
+
+    private static Post untagged(String id) {
+        Post post = new Post();
+        post.postId = id;
+        return post;
+    }
+
+    private void respond(int index, boolean hasMore, Post... posts) {
+        pending.get(index).onSuccess(FeedPage.of(List.of(posts), posts.length, hasMore));
+        scheduler.triggerActions();
+    }
+
+    private void respond(int index, boolean hasMore, String... ids) {
+        List<Post> posts = new ArrayList<>();
+        for (String id : ids) {
+            Post post = new Post();
+            post.postId = id;
+            posts.add(post);
+        }
+        pending.get(index).onSuccess(FeedPage.of(posts, posts.size(), hasMore));
+        scheduler.triggerActions();
+    }
+
+    private static List<String> ids(String... ids) {
+        return List.of(ids);
+    }
+
+    private static List<String> ids(FeedResult result) {
+        List<String> ids = new ArrayList<>();
+        for (Post post : result.getPosts()) {
+            ids.add(post.postId);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FeedPrefetchBufferTest {
+
+    @Test
+    public void prefetchedPageIsServedByCursor() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        List<Post> posts = new ArrayList<>();
+
+        FeedPrefetchBuffer.Reservation reservation = buffer.reserve(20, true, 20);
+        assertEquals(20, reservation.cursor);
+        assertTrue(buffer.complete(reservation, posts, 20, true));
+
+        FeedPrefetchBuffer.Page page = buffer.take(20);
+        assertNotNull(page);
+        assertSame(posts, page.posts);
+        assertEquals(20, page.rawCount);
+        assertNull(buffer.take(20));
+    }
+
+    @Test
+    public void onlyOnePrefetchAtATime() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+
+        assertNotNull(buffer.reserve(20, true, 20));
+        assertNull(buffer.reserve(20, true, 20));
+        assertTrue(buffer.isPrefetching());
+    }
+
+    @Test
+    public void nextReservationFollowsBufferedPages() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(3);
+
+        buffer.complete(buffer.reserve(20, true, 20), new ArrayList<>(), 18, true);
+        FeedPrefetchBuffer.Reservation next = buffer.reserve(20, true, 20);
+
+        // 偏移按原始条数推进，与FeedPagination一致
+        assertEquals(38, next.cursor);
+    }
+
+    @Test
+    public void bufferIsBounded() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+
+        buffer.complete(buffer.reserve(20, true, 20), new ArrayList<>(), 20, true);
+        buffer.complete(buffer.reserve(20, true, 20), new ArrayList<>(), 20, true);
+
+        assertEquals(2, buffer.size());
+        assertNull(buffer.reserve(20, true, 20));
+    }
+
+    @Test
+    public void stopsAtLastPage() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(3);
+
+        assertNull(buffer.reserve(20, false, 20));
+        buffer.complete(buffer.reserve(20, true, 20), new ArrayList<>(), 5, false);
+        assertNull(buffer.reserve(20, true, 20));
+    }
+
+    @Test
+    public void invalidateDropsPagesAndLateResults() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        buffer.complete(buffer.reserve(20, true, 20), new ArrayList<>(), 20, true);
+        FeedPrefetchBuffer.Reservation stale = buffer.reserve(20, true, 20);
+
+        buffer.invalidate();
+
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.isPrefetching());
+        assertFalse(buffer.complete(stale, new ArrayList<>(), 20, true));
+        assertNull(buffer.take(40));
+    }
+
+    @Test
+    public void resultForConsumedCursorIsDiscarded() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        FeedPrefetchBuffer.Reservation reservation = buffer.reserve(20, true, 20);
+
+        // 前台加载已经发布了同一页
+        assertTrue(buffer.advance(40, buffer.generation()));
+
+        assertTrue(buffer.complete(reservation, new ArrayList<>(), 20, true));
+        assertEquals(0, buffer.size());
+        assertEquals(40, buffer.reserve(20, true, 20).cursor);
+    }
+
+    @Test
+    public void advanceFromBeforeRefreshIsIgnored() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        int generation = buffer.generation();
+
+        // 上一页发布后、推进预取缓存前发生了刷新
+        buffer.invalidate();
+
+        assertFalse(buffer.advance(40, generation));
+        assertEquals(20, buffer.reserve(20, true, 20).cursor);
+    }
+
+    @Test
+    public void pendingCountMatchesReservedCursorOnly() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        buffer.reserve(20, true, 35);
+
+        assertEquals(35, buffer.pendingCount(20));
+        assertEquals(-1, buffer.pendingCount(40));
+    }
+
+    @Test
+    public void failReleasesReservation() {
+        FeedPrefetchBuffer buffer = new FeedPrefetchBuffer(2);
+        FeedPrefetchBuffer.Reservation reservation = buffer.reserve(20, true, 20);
+
+        buffer.fail(reservation);
+
+        assertFalse(buffer.isPrefetching());
+        assertNotNull(buffer.reserve(20, true, 20));
+    }
+}
@@ -0,0 +1,69 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FeedRegistryTest {
+
+    private final Set<String> busy = new HashSet<>();
+    private final List<String> evicted = new ArrayList<>();
+    private final FeedRegistry<String, String> registry = new FeedRegistry<>(
+            2, key -> new String(key), value -> !busy.contains(value), evicted::add);
+
+    @Test
+    public void sameKeyReturnsSameState() {
+        String first = registry.get("home");
+
+        assertSame(first, registry.get("home"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedIdleState() {
+        registry.get("a");
+        registry.get("b");
+        registry.get("a");
+        registry.get("c");
+
+        assertEquals(2, registry.size());
+        assertEquals(1, evicted.size());
+        assertEquals("b", evicted.get(0));
+    }
+
+    @Test
+    public void busyStatesAreKeptOverLimit() {
+        busy.add("a");
+        busy.add("b");
+        registry.get("a");
+        registry.get("b");
+        registry.get("c");
+
+        assertEquals(3, registry.size());
+        assertTrue(evicted.isEmpty());
+
+        // 释放后下一次创建时淘汰
+        busy.clear();
+        registry.get("d");
+        assertEquals(2, registry.size());
+        assertEquals("a", evicted.get(0));
+        assertEquals("b", evicted.get(1));
+    }
+
+    @Test
+    public void evictedKeyIsRecreated() {
+        String first = registry.get("a");
+        registry.get("b");
+        registry.get("c");
+
+        assertNotSame(first, registry.get("a"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.limtide.ugclite.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+import com.limtide.ugclite.database.dao.CachedPostDao;
+import com.limtide.ugclite.database.entity.CachedPost;
+import com.limtide.ugclite.network.PostJsonCodec;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+public class FeedSnapshotStoreTest {
+
+    private final FakeDao dao = new FakeDao();
+    private final FeedSnapshotStore store = new FeedSnapshotStore(dao, new PostJsonCodec(), 2);
+
+    @Test
+    public void emptyStoreHasNoSnapshot() {
+        assertNull(store.load());
+    }
+
+    @Test
+    public void refreshReplacesSnapshotAndLoadMoreAppends() {
+        store.savePage(posts("a", "b"), 2, true, true);
+        store.savePage(posts("c"), 3, false, false);
+
+        FeedSnapshotStore.Snapshot snapshot = store.load();
+        assertEquals(3, snapshot.posts.size());
+        assertEquals("a", snapshot.posts.get(0).postId);
+        assertEquals("c", snapshot.posts.get(2).postId);
+        assertEquals("标题c", snapshot.posts.get(2).title);
+        assertEquals(3, snapshot.nextCursor);
+        assertFalse(snapshot.hasMore);
+
+        store.savePage(posts("x"), 1, true, true);
+        snapshot = store.load();
+        assertEquals(1, snapshot.posts.size());
+        assertEquals("x", snapshot.posts.get(0).postId);
+        assertTrue(snapshot.hasMore);
+    }
+
+    @Test
+    public void keepsAtMostMaxPages() {
+        store.savePage(posts("a"), 1, true, true);
+        store.savePage(posts("b"), 2, true, false);
+        store.savePage(posts("c"), 3, true, false);
+
+        FeedSnapshotStore.Snapshot snapshot = store.load();
+        assertEquals(2, snapshot.posts.size());
+        assertEquals(2, snapshot.nextCursor);
+    }
+
+    @Test
+    public void loadMoreWithoutFirstPageIsNotSaved() {
+        store.savePage(posts("b"), 2, true, false);
+
+        assertNull(store.load());
+    }
+
+    @Test
+    public void duplicatePostsAreNotSaved() {
+        store.savePage(posts("a", "b", "a"), 3, true, true);
+        store.savePage(posts("b", "c"), 5, false, false);
+
+        FeedSnapshotStore.Snapshot snapshot = store.load();
+        assertEquals(3, snapshot.posts.size());
+        assertEquals("a", snapshot.posts.get(0).postId);
+        assertEquals("b", snapshot.posts.get(1).postId);
+        assertEquals("c", snapshot.posts.get(2).postId);
+        assertEquals(5, snapshot.nextCursor);
+    }
+
+    @Test
+    public void corruptRowsAreSkipped() {
+        store.savePage(posts("a", "b"), 2, true, true);
+        dao.rows.get(0).setJson("{broken");
+
+        FeedSnapshotStore.Snapshot snapshot = store.load();
+        assertEquals(1, snapshot.posts.size());
+        assertEquals("b", snapshot.posts.get(0).postId);
+    }
+
+    private static List<Post> posts(String... ids) {
+        List<Post> posts = new ArrayList<>();
+        for (String id : ids) {
+            Post post = new Post();
+            post.postId = id;
+            post.title = "标题" + id;
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static final class FakeDao implements CachedPostDao {
+        final TreeMap<Integer, CachedPost> rows = new TreeMap<>();
+
+        @Override
+        public List<CachedPost> getAll() {
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public void insertAll(List<CachedPost> posts) {
+            for (CachedPost post : posts) {
+                rows.put(post.getPosition(), post);
+            }
+        }
+
+        @Override
+        public int getCount() {
+            return rows.size();
+        }
+
+        @Override
+        public List<String> getPostIds() {
+            List<String> ids = new ArrayList<>();
+            for (CachedPost post : rows.values()) {
+                ids.add(post.getPostId());
+            }
+            return ids;
+        }
+
+        @Override
+        public int getPageCount() {
+            int pages = 0;
+            for (CachedPost post : rows.values()) {
+                pages = Math.max(pages, post.getPage() + 1);
+            }
+            return pages;
+        }
+
+        @Override
+        public void deleteAll() {
+            rows.clear();
+        }
+    }
+}
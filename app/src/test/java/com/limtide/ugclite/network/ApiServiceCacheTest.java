@@ -0,0 +1,185 @@
+package com.limtide.ugclite.network;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ApiServiceCacheTest {
+
+    private static final String PAGE_V1 = "{\"code\":200,\"has_more\":1,\"data\":"
+            + "[{\"post_id\":\"v1\",\"clips\":[{\"type\":0,\"url\":\"a.jpg\"}]}]}";
+    private static final String PAGE_V2 = "{\"code\":200,\"has_more\":1,\"data\":"
+            + "[{\"post_id\":\"v2\",\"clips\":[{\"type\":0,\"url\":\"b.jpg\"}]}]}";
+
+    private MockWebServer server;
+    private File cacheDir;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cacheDir = Files.createTempDirectory("feed-cache").toFile();
+        apiService = new ApiService(ApiService.buildClient(cacheDir), server.url("/api/"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void secondLoadRevalidatesWithEtagAndUsesCachedBodyOn304() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        assertEquals("v1", load(FeedCacheMode.REVALIDATE).firstPostId());
+        RecordingCallback second = load(FeedCacheMode.REVALIDATE);
+
+        server.takeRequest();
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+        assertEquals("v1", second.firstPostId());
+
+        FeedCacheStats stats = apiService.getCacheStats();
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getRevalidateCount());
+        assertEquals(1, stats.getNotModifiedCount());
+    }
+
+    @Test
+    public void lastModifiedValidatorIsSent() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1)
+                .setHeader("Last-Modified", "Mon, 05 Oct 2026 08:00:00 GMT"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        load(FeedCacheMode.REVALIDATE);
+        load(FeedCacheMode.REVALIDATE);
+
+        server.takeRequest();
+        assertEquals("Mon, 05 Oct 2026 08:00:00 GMT",
+                server.takeRequest().getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    public void staleWhileRevalidateServesCacheThenDeliversChangedPage() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setBody(PAGE_V2).setHeader("ETag", "\"v2\""));
+        load(FeedCacheMode.REVALIDATE);
+
+        RecordingCallback callback = new RecordingCallback(2);
+        apiService.getFeedData(20, false, 0, FeedCacheMode.STALE_WHILE_REVALIDATE, callback);
+        assertTrue(callback.await());
+
+        assertEquals("v1", callback.firstPostId());
+        assertEquals("v2", callback.revalidatedPosts.get(0).postId);
+        assertEquals(1, apiService.getCacheStats().getHitCount());
+        assertEquals(1, apiService.getCacheStats().getRevalidateCount());
+    }
+
+    @Test
+    public void staleWhileRevalidateWithoutCacheFallsBackToNetwork() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1));
+
+        RecordingCallback callback = load(FeedCacheMode.STALE_WHILE_REVALIDATE);
+
+        assertEquals("v1", callback.firstPostId());
+        assertNull(callback.error);
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, apiService.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void identicalConcurrentRequestsShareOneCall() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1)
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        RecordingCallback first = new RecordingCallback(1);
+        RecordingCallback second = new RecordingCallback(1);
+        apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, first);
+        apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, second);
+
+        assertTrue(first.await());
+        assertTrue(second.await());
+        assertEquals("v1", first.firstPostId());
+        assertEquals("v1", second.firstPostId());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancelledCallerDoesNotCancelSharedCall() throws Exception {
+        server.enqueue(new MockResponse().setBody(PAGE_V1)
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        RecordingCallback cancelled = new RecordingCallback(1);
+        RecordingCallback remaining = new RecordingCallback(1);
+        FeedCall call = apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, cancelled);
+        apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, remaining);
+        call.cancel();
+
+        assertTrue(remaining.await());
+        assertEquals("v1", remaining.firstPostId());
+        assertNull(cancelled.posts);
+        assertNull(cancelled.error);
+    }
+
+    private RecordingCallback load(FeedCacheMode mode) throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback(1);
+        apiService.getFeedData(20, false, 0, mode, callback);
+        assertTrue(callback.await());
+        return callback;
+    }
+
+    private static final class RecordingCallback implements ApiService.FeedCallback {
+        private final CountDownLatch latch;
+        volatile List<Post> posts;
+        volatile List<Post> revalidatedPosts;
+        volatile String error;
+
+        RecordingCallback(int expectedEvents) {
+            latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+            this.posts = posts;
+            latch.countDown();
+        }
+
+        @Override
+        public void onRevalidated(List<Post> posts, int rawCount, boolean hasMore) {
+            this.revalidatedPosts = posts;
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            this.error = errorMessage;
+            latch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+
+        String firstPostId() {
+            return posts.get(0).postId;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.limtide.ugclite.network;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ApiServiceRetryTest {
+
+    private static final String PAGE = "{\"code\":200,\"has_more\":1,\"data\":"
+            + "[{\"post_id\":\"p1\",\"clips\":[{\"type\":0,\"url\":\"a.jpg\"}]}]}";
+
+    private MockWebServer server;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new ApiService(ApiService.buildClient(null), server.url("/api/"));
+        apiService.setRetryPolicy(new RetryPolicy(3, 10, 50, false));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void transientServerErrorIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        RecordingCallback callback = load(0);
+
+        assertNull(callback.error);
+        assertEquals("p1", callback.posts.get(0).postId);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void connectionFailureIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        RecordingCallback callback = load(0);
+
+        assertNull(callback.error);
+        assertNotNull(callback.posts);
+    }
+
+    @Test
+    public void clientErrorIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        RecordingCallback callback = load(0);
+
+        assertEquals("请求失败，状态码: 404", callback.error);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        RecordingCallback callback = load(0);
+
+        assertEquals("请求失败，状态码: 500", callback.error);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void slowRequestIsHedged() throws Exception {
+        apiService.setRetryPolicy(new RetryPolicy(1, 0, 0, true));
+        // 先积累足够的快速样本，得到较低的p95阈值
+        for (int cursor = 1; cursor <= 20; cursor++) {
+            server.enqueue(new MockResponse().setBody(PAGE));
+            load(cursor);
+        }
+        server.enqueue(new MockResponse().setBody(PAGE).setHeadersDelay(3, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody(PAGE));
+
+        long start = System.nanoTime();
+        RecordingCallback callback = load(100);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNull(callback.error);
+        assertTrue("hedged request should win, took " + elapsedMillis + "ms", elapsedMillis < 2000);
+        assertEquals(22, server.getRequestCount());
+    }
+
+    private RecordingCallback load(int cursor) throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        apiService.getFeedData(20, false, cursor, FeedCacheMode.REVALIDATE, callback);
+        assertTrue(callback.latch.await(5, TimeUnit.SECONDS));
+        return callback;
+    }
+
+    private static final class RecordingCallback implements ApiService.FeedCallback {
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile List<Post> posts;
+        volatile String error;
+
+        @Override
+        public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+            this.posts = posts;
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            this.error = errorMessage;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.limtide.ugclite.network;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ApiServiceTimingTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new ApiService(ApiService.buildClient(null), server.url("/api/"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void feedCallIsRecordedWithParsePhase() throws Exception {
+        byte[] body = FeedPayloads.objectPage(50);
+        server.enqueue(new MockResponse().setBody(new String(body, "UTF-8")));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, new ApiService.FeedCallback() {
+            @Override
+            public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        CallTimingRecorder timings = apiService.getCallTimings();
+        // callEnd可能在回调返回之后才到达
+        long deadline = System.currentTimeMillis() + 2000;
+        while (timings.getRecordedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, timings.getRecordedCount());
+        CallTiming timing = timings.snapshot().get(0);
+        assertTrue(timing.isSuccess());
+        assertEquals("/api/", timing.getUrl());
+        assertTrue(timing.getMicros(CallTiming.Phase.CONNECT) >= 0);
+        assertTrue(timing.getMicros(CallTiming.Phase.TTFB) >= 0);
+        assertTrue(timing.getMicros(CallTiming.Phase.PARSE) >= 0);
+        assertTrue(timing.getMicros(CallTiming.Phase.TOTAL) >= 0);
+        assertEquals(body.length, timing.getResponseBytes());
+    }
+
+    @Test
+    public void bomPrefixedBodyIsDecodedAndCounted() throws Exception {
+        byte[] json = FeedPayloads.objectPage(3);
+        // UTF-8 BOM + JSON，由charStream()识别并跳过BOM
+        Buffer body = new Buffer().write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}).write(json);
+        long expectedBytes = body.size();
+        server.enqueue(new MockResponse().setBody(body));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong transferred = new AtomicLong(-1);
+        AtomicReference<String> error = new AtomicReference<>();
+        apiService.getFeedData(20, false, 0, FeedCacheMode.REVALIDATE, new ApiService.FeedCallback() {
+            @Override
+            public void onTransfer(long elapsedMillis, long bodyBytes) {
+                transferred.set(bodyBytes);
+            }
+
+            @Override
+            public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                error.set(errorMessage);
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertNull(error.get());
+        assertEquals(expectedBytes, transferred.get());
+    }
+}
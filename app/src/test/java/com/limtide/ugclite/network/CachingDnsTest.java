@@ -0,0 +1,72 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CachingDnsTest {
+
+    private final Map<String, Integer> lookups = new HashMap<>();
+    private long now = 1_000;
+
+    @Test
+    public void cachesUntilTtlExpires() throws Exception {
+        CachingDns dns = new CachingDns(this::resolve, 60_000, 8, () -> now);
+
+        List<InetAddress> first = dns.lookup("api.example.com");
+        now += 59_999;
+        assertSame(first, dns.lookup("api.example.com"));
+        assertEquals(1, (int) lookups.get("api.example.com"));
+
+        now += 1;
+        dns.lookup("api.example.com");
+        assertEquals(2, (int) lookups.get("api.example.com"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedHost() throws Exception {
+        CachingDns dns = new CachingDns(this::resolve, 60_000, 2, () -> now);
+
+        dns.lookup("a");
+        dns.lookup("b");
+        dns.lookup("a");
+        dns.lookup("c");
+        dns.lookup("a");
+        dns.lookup("b");
+
+        assertEquals(1, (int) lookups.get("a"));
+        assertEquals(2, (int) lookups.get("b"));
+    }
+
+    @Test
+    public void failuresAreNotCached() throws Exception {
+        CachingDns dns = new CachingDns(this::resolve, 60_000, 8, () -> now);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                dns.lookup("missing");
+                fail();
+            } catch (UnknownHostException expected) {
+                // 每次都重新解析
+            }
+        }
+        assertEquals(2, (int) lookups.get("missing"));
+    }
+
+    private List<InetAddress> resolve(String host) throws UnknownHostException {
+        lookups.merge(host, 1, Integer::sum);
+        if (host.equals("missing")) {
+            throw new UnknownHostException(host);
+        }
+        return Collections.singletonList(InetAddress.getByAddress(host, new byte[] {10, 0, 0, 1}));
+    }
+}
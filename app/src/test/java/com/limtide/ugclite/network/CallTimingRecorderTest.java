@@ -0,0 +1,97 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class CallTimingRecorderTest {
+
+    @Test
+    public void keepsMostRecentRecordsInOrder() {
+        CallTimingRecorder recorder = new CallTimingRecorder(4);
+        for (int i = 1; i <= 6; i++) {
+            recorder.record(timing("/api/" + i, i * 1000L));
+        }
+
+        List<CallTiming> timings = recorder.snapshot();
+        assertEquals(4, timings.size());
+        assertEquals("/api/3", timings.get(0).getUrl());
+        assertEquals("/api/6", timings.get(3).getUrl());
+        assertEquals(6, recorder.getRecordedCount());
+    }
+
+    @Test
+    public void percentilesIgnoreMissingPhases() {
+        CallTimingRecorder recorder = new CallTimingRecorder(128);
+        for (int i = 1; i <= 100; i++) {
+            recorder.record(timing("/api/", i * 1000L));
+        }
+        // 复用连接的调用没有DNS阶段
+        recorder.record(timing("/api/", -1));
+
+        assertEquals(95_000, recorder.percentileMicros(CallTiming.Phase.DNS, 0.95));
+        assertEquals(50_000, recorder.percentileMicros(CallTiming.Phase.DNS, 0.5));
+        assertEquals(-1, recorder.percentileMicros(CallTiming.Phase.TLS, 0.5));
+    }
+
+    @Test
+    public void summaryReportsMillis() {
+        CallTimingRecorder recorder = new CallTimingRecorder(8);
+        recorder.record(timing("/api/", 1500));
+
+        String summary = recorder.summary();
+        assertTrue(summary, summary.startsWith("calls=1"));
+        assertTrue(summary, summary.contains("dns[p50=1.5ms p90=1.5ms p99=1.5ms]"));
+    }
+
+    @Test
+    public void concurrentWritersDoNotLoseCount() throws Exception {
+        CallTimingRecorder recorder = new CallTimingRecorder(64);
+        int threads = 4;
+        int perThread = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(timing("/api/", i));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        assertEquals(threads * perThread, recorder.getRecordedCount());
+        assertEquals(64, recorder.snapshot().size());
+    }
+
+    @Test
+    public void dumpWritesCsv() throws Exception {
+        CallTimingRecorder recorder = new CallTimingRecorder(8);
+        recorder.record(timing("/api/", 2000));
+        File file = new File(Files.createTempDirectory("timings").toFile(), "net/timings.csv");
+
+        recorder.dumpTo(file);
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(CallTiming.csvHeader(), lines.get(0));
+        assertTrue(lines.get(1), lines.get(1).startsWith("123,/api/,true,false,2000,"));
+        assertTrue(lines.get(1), lines.get(1).endsWith(",4096"));
+        assertTrue(lines.get(2).startsWith("# calls=1"));
+    }
+
+    private static CallTiming timing(String url, long dnsMicros) {
+        long[] micros = new long[CallTiming.Phase.values().length];
+        Arrays.fill(micros, -1);
+        micros[CallTiming.Phase.DNS.ordinal()] = dnsMicros;
+        micros[CallTiming.Phase.TOTAL.ordinal()] = 10_000;
+        return new CallTiming(123, url, true, false, micros, 4096);
+    }
+}
@@ -0,0 +1,231 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FeedCallCoalescerTest {
+
+    private static final String KEY = "GET|20|false|0|REVALIDATE";
+
+    @Test
+    public void concurrentCallersShareOneUpstreamCall() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        coalescer.join(KEY, first, starter);
+        coalescer.join(KEY, second, starter);
+
+        assertEquals(1, starter.starts);
+        assertEquals(2, coalescer.subscriberCount(KEY));
+
+        List<Post> posts = posts(3);
+        starter.shared.onSuccess(posts, 5, true);
+
+        assertSame(posts, first.posts);
+        assertNotSame(posts, second.posts);
+        assertEquals(posts, second.posts);
+        assertEquals(5, second.rawCount);
+        assertTrue(second.hasMore);
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void transferIsReportedOncePerUpstreamCall() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        coalescer.join(KEY, first, starter);
+        coalescer.join(KEY, second, starter);
+        starter.shared.onTransfer(120, 4096);
+        starter.shared.onSuccess(posts(3), 3, true);
+
+        assertEquals(1, first.transfers + second.transfers);
+    }
+
+    @Test
+    public void transferGoesToRemainingCallerAfterCancel() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        FeedCall firstCall = coalescer.join(KEY, first, starter);
+        coalescer.join(KEY, second, starter);
+        firstCall.cancel();
+        starter.shared.onTransfer(120, 4096);
+
+        assertEquals(0, first.transfers);
+        assertEquals(1, second.transfers);
+    }
+
+    @Test
+    public void differentKeysStartSeparateCalls() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+
+        coalescer.join(KEY, new RecordingCallback(), starter);
+        coalescer.join("GET|20|false|20|REVALIDATE", new RecordingCallback(), starter);
+
+        assertEquals(2, starter.starts);
+        assertEquals(2, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void completedCallIsNotReused() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+
+        coalescer.join(KEY, new RecordingCallback(), starter);
+        starter.shared.onError("boom");
+        coalescer.join(KEY, new RecordingCallback(), starter);
+
+        assertEquals(2, starter.starts);
+    }
+
+    @Test
+    public void cancellingOneCallerKeepsSharedCallForOthers() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        FeedCall firstCall = coalescer.join(KEY, first, starter);
+        coalescer.join(KEY, second, starter);
+        firstCall.cancel();
+
+        assertTrue(firstCall.isCanceled());
+        assertFalse(starter.upstream.isCanceled());
+
+        starter.shared.onError("boom");
+        assertNull(first.error);
+        assertEquals("boom", second.error);
+    }
+
+    @Test
+    public void cancellingLastCallerCancelsUpstreamAndReleasesKey() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback callback = new RecordingCallback();
+
+        FeedCall first = coalescer.join(KEY, callback, starter);
+        FeedCall second = coalescer.join(KEY, callback, starter);
+        first.cancel();
+        second.cancel();
+
+        assertTrue(starter.upstream.isCanceled());
+        assertEquals(0, coalescer.inFlightCount());
+
+        // 已取消的上游请求晚到的结果不再回调
+        starter.shared.onSuccess(posts(1), 1, false);
+        assertEquals(0, callback.calls);
+
+        coalescer.join(KEY, new RecordingCallback(), starter);
+        assertEquals(2, starter.starts);
+    }
+
+    @Test
+    public void revalidatedPageReachesCallersStillAttached() {
+        FeedCallCoalescer coalescer = new FeedCallCoalescer();
+        FakeStarter starter = new FakeStarter();
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        coalescer.join(KEY, first, starter);
+        FeedCall secondCall = coalescer.join(KEY, second, starter);
+        starter.shared.onSuccess(posts(1), 1, false);
+        secondCall.cancel();
+        starter.shared.onRevalidated(posts(2), 2, true);
+
+        assertEquals(2, first.revalidatedCount);
+        assertEquals(0, second.revalidatedCount);
+    }
+
+    private static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.postId = "post-" + i;
+            posts.add(post);
+        }
+        return Collections.unmodifiableList(posts);
+    }
+
+    private static final class FakeStarter implements FeedCallCoalescer.Starter {
+        int starts;
+        ApiService.FeedCallback shared;
+        FakeCall upstream;
+
+        @Override
+        public FeedCall start(ApiService.FeedCallback callback) {
+            starts++;
+            shared = callback;
+            upstream = new FakeCall();
+            return upstream;
+        }
+    }
+
+    private static final class FakeCall implements FeedCall {
+        private boolean canceled;
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+
+    private static final class RecordingCallback implements ApiService.FeedCallback {
+        int calls;
+        List<Post> posts;
+        int rawCount;
+        boolean hasMore;
+        String error;
+        int revalidatedCount;
+        int transfers;
+
+        @Override
+        public void onTransfer(long elapsedMillis, long bodyBytes) {
+            transfers++;
+        }
+
+        @Override
+        public void onSuccess(List<Post> posts, int rawCount, boolean hasMore) {
+            calls++;
+            this.posts = posts;
+            this.rawCount = rawCount;
+            this.hasMore = hasMore;
+        }
+
+        @Override
+        public void onRevalidated(List<Post> posts, int rawCount, boolean hasMore) {
+            calls++;
+            revalidatedCount = posts.size();
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            calls++;
+            error = errorMessage;
+        }
+    }
+}
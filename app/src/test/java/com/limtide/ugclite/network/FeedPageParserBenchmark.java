@@ -0,0 +1,75 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.limtide.ugclite.MicroBenchmark;
+import com.limtide.ugclite.data.model.FeedResponse;
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 对比旧的“整串缓存 + 对象/数组两次解析”路径与单遍流式解析
+ */
+public class FeedPageParserBenchmark {
+
+    private static final int[] PAGE_SIZES = {20, 100, 500};
+
+    private final Gson gson = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .create();
+    private final FeedPageParser parser = new FeedPageParser(gson);
+
+    @Test
+    public void streamingParserAgainstBufferedDoubleParse() throws Exception {
+        Assume.assumeTrue(MicroBenchmark.enabled());
+
+        for (int size : PAGE_SIZES) {
+            byte[] objectPage = FeedPayloads.objectPage(size);
+            MicroBenchmark.report("object page, " + size + " posts",
+                    MicroBenchmark.measure(() -> bufferedParse(objectPage)),
+                    MicroBenchmark.measure(() -> parser.parse(reader(objectPage))));
+
+            byte[] arrayPage = FeedPayloads.arrayPage(size);
+            MicroBenchmark.report("array page, " + size + " posts",
+                    MicroBenchmark.measure(() -> bufferedParse(arrayPage)),
+                    MicroBenchmark.measure(() -> parser.parse(reader(arrayPage))));
+        }
+    }
+
+    private List<Post> bufferedParse(byte[] body) throws IOException {
+        String responseBody = readFully(reader(body));
+        try {
+            FeedResponse feedResponse = gson.fromJson(responseBody, FeedResponse.class);
+            if (feedResponse != null && feedResponse.hasRecognizedStatus()) {
+                return feedResponse.getPosts();
+            }
+        } catch (Exception ignored) {
+            // 与旧实现一致：对象解析失败后回退到数组解析
+        }
+        return gson.fromJson(responseBody, new TypeToken<List<Post>>(){}.getType());
+    }
+
+    private static Reader reader(byte[] body) {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.GsonBuilder;
+import com.limtide.ugclite.data.model.ClipVisibilityPolicy;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FeedPageParserTest {
+
+    private static final String IMAGE = "\"clips\":[{\"type\":0,\"url\":\"a.jpg\"}]";
+
+    private final FeedPageParser parser = new FeedPageParser(new GsonBuilder()
+            .registerTypeAdapterFactory(
+                    new FeedTypeAdapterFactory(ClipVisibilityPolicy.IMAGE_AND_VIDEO))
+            .create());
+
+    @Test
+    public void readmeObjectPrefersDataOverLegacyList() throws IOException {
+        FeedPage page = parse("{\"code\":200,\"has_more\":1,"
+                + "\"post_list\":[{\"post_id\":\"legacy\"," + IMAGE + "}],"
+                + "\"data\":[{\"post_id\":\"a\"," + IMAGE + "},"
+                + "{\"post_id\":\"b\"," + IMAGE + "}]}");
+
+        assertTrue(page.isSuccess());
+        assertTrue(page.hasMore());
+        assertFalse(page.isArrayFormat());
+        assertEquals(2, page.getPosts().size());
+        assertEquals("a", page.getPosts().get(0).postId);
+    }
+
+    @Test
+    public void legacyObjectReportsFailureCode() throws IOException {
+        FeedPage page = parse("{\"status_code\":7,\"post_list\":[]}");
+
+        assertTrue(page.hasRecognizedStatus());
+        assertFalse(page.isSuccess());
+        assertEquals(Integer.valueOf(7), page.getResponseCode());
+    }
+
+    @Test
+    public void bareArrayIsSuccessfulWithoutMoreData() throws IOException {
+        FeedPage page = parse("[{\"post_id\":\"a\",\"unknown\":{\"x\":[1,2]}," + IMAGE + "}]");
+
+        assertTrue(page.isSuccess());
+        assertTrue(page.isArrayFormat());
+        assertFalse(page.hasMore());
+        assertEquals(1, page.getPosts().size());
+    }
+
+    @Test
+    public void invisiblePostsAreDroppedWhileRawCountIsKept() throws IOException {
+        FeedPage page = parse("{\"code\":200,\"data\":["
+                + "null,"
+                + "{\"post_id\":\"audio\",\"clips\":[{\"type\":2}]},"
+                + "{\"post_id\":\"none\",\"clips\":null},"
+                + "{\"post_id\":\"mixed\",\"clips\":[null,{\"type\":9},{\"type\":1}]}]}");
+
+        assertEquals(4, page.getRawCount());
+        assertEquals(1, page.getPosts().size());
+        assertEquals("mixed", page.getPosts().get(0).postId);
+        assertEquals(1, page.getPosts().get(0).clips.size());
+        assertEquals(1, page.getPosts().get(0).clips.get(0).type);
+    }
+
+    @Test
+    public void unknownObjectIsNotRecognized() throws IOException {
+        assertFalse(parse("{\"unexpected\":true}").hasRecognizedStatus());
+    }
+
+    @Test
+    public void emptyBodyBecomesEmptyPage() throws IOException {
+        FeedPage page = parse("");
+
+        assertTrue(page.isSuccess());
+        assertTrue(page.getPosts().isEmpty());
+        assertEquals(0, page.getRawCount());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void scalarRootIsRejected() throws IOException {
+        parse("42");
+    }
+
+    private FeedPage parse(String json) throws IOException {
+        return parser.parse(new StringReader(json));
+    }
+}
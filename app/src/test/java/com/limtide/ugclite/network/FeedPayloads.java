@@ -0,0 +1,47 @@
+package com.limtide.ugclite.network;
+
+import java.nio.charset.StandardCharsets;
+
+final class FeedPayloads {
+
+    private FeedPayloads() {
+    }
+
+    static byte[] objectPage(int postCount) {
+        return ("{\"code\":200,\"message\":\"success\",\"has_more\":1,\"data\":"
+                + posts(postCount) + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] arrayPage(int postCount) {
+        return posts(postCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String posts(int postCount) {
+        StringBuilder json = new StringBuilder("[");
+        for (int index = 0; index < postCount; index++) {
+            if (index > 0) {
+                json.append(',');
+            }
+            int author = index % 7;
+            json.append("{\"post_id\":\"post-").append(index)
+                    .append("\",\"title\":\"标题 ").append(index)
+                    .append("\",\"content\":\"正文内容 #话题").append(index % 5)
+                    .append(" 这里是一段用于基准测试的较长正文。\"")
+                    .append(",\"create_time\":").append(1_700_000_000L + index)
+                    .append(",\"author\":{\"user_id\":\"author-").append(author)
+                    .append("\",\"nickname\":\"作者").append(author)
+                    .append("\",\"avatar\":\"https://cdn.example.com/avatar/").append(author)
+                    .append(".png\"}")
+                    .append(",\"hashtag\":[{\"start\":5,\"end\":8}]")
+                    .append(",\"clips\":[{\"type\":0,\"width\":1080,\"height\":1440,")
+                    .append("\"url\":\"https://cdn.example.com/img/").append(index).append(".jpg\"},")
+                    .append("{\"type\":").append(index % 3 == 0 ? 2 : 1)
+                    .append(",\"width\":720,\"height\":1280,")
+                    .append("\"url\":\"https://cdn.example.com/clip/").append(index).append(".mp4\"}]")
+                    .append(",\"music\":{\"volume\":60,\"seek_time\":0,")
+                    .append("\"url\":\"https://cdn.example.com/music/").append(index % 4)
+                    .append(".mp3\"}}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.limtide.ugclite.MicroBenchmark;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 对比反射解析与手写TypeAdapter的Feed解析吞吐
+ */
+public class FeedTypeAdapterBenchmark {
+
+    private static final int[] PAGE_SIZES = {20, 100, 500};
+
+    private final FeedPageParser reflectiveParser = new FeedPageParser(new GsonBuilder().create());
+    private final FeedPageParser adapterParser = new FeedPageParser(new GsonBuilder()
+            .registerTypeAdapterFactory(new FeedTypeAdapterFactory())
+            .create());
+
+    @Test
+    public void handWrittenAdaptersAgainstReflection() throws Exception {
+        Assume.assumeTrue(MicroBenchmark.enabled());
+
+        for (int size : PAGE_SIZES) {
+            byte[] page = FeedPayloads.objectPage(size);
+            MicroBenchmark.Result reflective =
+                    MicroBenchmark.measure(() -> reflectiveParser.parse(reader(page)));
+            MicroBenchmark.Result adapters =
+                    MicroBenchmark.measure(() -> adapterParser.parse(reader(page)));
+            MicroBenchmark.report("type adapters, " + size + " posts", reflective, adapters);
+            System.out.println(String.format("    throughput: %.0f -> %.0f posts/s",
+                    size * 1e9 / reflective.nanosPerOp, size * 1e9 / adapters.nanosPerOp));
+        }
+    }
+
+    private static Reader reader(byte[] body) {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.limtide.ugclite.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.limtide.ugclite.data.model.ClipVisibilityPolicy;
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FeedTypeAdapterFactoryTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new FeedTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void generatedPayloadMatchesReflectiveParse() {
+        String json = FeedPayloads.posts(12);
+        Post[] expected = new Gson().fromJson(json, Post[].class);
+        Post[] actual = gson.fromJson(json, Post[].class);
+
+        assertEquals(expected.length, actual.length);
+        for (int index = 0; index < expected.length; index++) {
+            assertEquals(new Gson().toJson(expected[index]), new Gson().toJson(actual[index]));
+        }
+    }
+
+    @Test
+    public void repeatedAuthorStringsShareOneInstance() {
+        Post[] posts = gson.fromJson(FeedPayloads.posts(8), Post[].class);
+
+        assertSame(posts[0].author.userId, posts[7].author.userId);
+        assertSame(posts[0].author.avatarUrl, posts[7].author.avatarUrl);
+    }
+
+    @Test
+    public void missingFieldsKeepConstructorDefaultsAndNullsOverride() {
+        Post post = gson.fromJson("{\"post_id\":\"a\",\"title\":null,\"extra\":[1]}", Post.class);
+
+        assertEquals("a", post.postId);
+        assertNull(post.title);
+        assertEquals("", post.content);
+        assertTrue(post.clips.isEmpty());
+    }
+
+    @Test
+    public void singleHashtagObjectIsAccepted() {
+        Post post = gson.fromJson("{\"hashtag\":{\"start\":1,\"end\":4}}", Post.class);
+
+        assertEquals(1, post.hashtags.size());
+        assertEquals(4, post.hashtags.get(0).end);
+    }
+
+    @Test
+    public void visibilityPolicyFiltersClipsWhileStreaming() {
+        Gson feedGson = new GsonBuilder()
+                .registerTypeAdapterFactory(
+                        new FeedTypeAdapterFactory(ClipVisibilityPolicy.IMAGE_AND_VIDEO))
+                .create();
+        Post post = feedGson.fromJson(
+                "{\"clips\":[{\"type\":2},null,{\"type\":0},{\"type\":1}]}", Post.class);
+
+        assertEquals(2, post.clips.size());
+        assertEquals(0, post.clips.get(0).type);
+        assertEquals(1, post.clips.get(1).type);
+    }
+
+    @Test
+    public void serializedPostRoundTrips() {
+        Post original = gson.fromJson(FeedPayloads.posts(1), Post[].class)[0];
+        Post copy = gson.fromJson(gson.toJson(original), Post.class);
+
+        assertEquals(gson.toJson(original), gson.toJson(copy));
+    }
+}
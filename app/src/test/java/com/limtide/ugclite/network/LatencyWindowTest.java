@@ -0,0 +1,46 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyWindowTest {
+
+    @Test
+    public void percentileUnavailableUntilMinSamples() {
+        LatencyWindow window = new LatencyWindow(10, 3);
+        window.record(100);
+        window.record(200);
+
+        assertEquals(-1, window.percentile(0.95));
+        window.record(300);
+        assertEquals(300, window.percentile(0.95));
+    }
+
+    @Test
+    public void nearestRankPercentile() {
+        LatencyWindow window = new LatencyWindow(100, 1);
+        for (int i = 100; i >= 1; i--) {
+            window.record(i);
+        }
+
+        assertEquals(95, window.percentile(0.95));
+        assertEquals(50, window.percentile(0.5));
+        assertEquals(1, window.percentile(0.0));
+        assertEquals(100, window.percentile(1.0));
+    }
+
+    @Test
+    public void oldSamplesRollOff() {
+        LatencyWindow window = new LatencyWindow(4, 1);
+        for (int i = 0; i < 4; i++) {
+            window.record(1000);
+        }
+        for (int i = 0; i < 4; i++) {
+            window.record(10);
+        }
+
+        assertEquals(4, window.size());
+        assertEquals(10, window.percentile(0.95));
+    }
+}
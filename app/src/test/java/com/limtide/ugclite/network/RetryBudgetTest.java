@@ -0,0 +1,46 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void retriesStopAtHalfBudget() {
+        RetryBudget budget = new RetryBudget(10, 0.1);
+
+        int granted = 0;
+        while (budget.tryAcquire()) {
+            granted++;
+        }
+
+        assertEquals(5, granted);
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void successesRefillBudget() {
+        RetryBudget budget = new RetryBudget(10, 0.5);
+        while (budget.tryAcquire()) {
+            // 耗尽
+        }
+
+        budget.onSuccess();
+        budget.onSuccess();
+
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void tokensNeverExceedMax() {
+        RetryBudget budget = new RetryBudget(4, 1.0);
+        for (int i = 0; i < 10; i++) {
+            budget.onSuccess();
+        }
+        assertEquals(4.0, budget.getTokens(), 0.0001);
+    }
+}
@@ -0,0 +1,79 @@
+package com.limtide.ugclite.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void backoffCeilingDoublesUpToMaxDelay() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 350, false);
+
+        assertEquals(100, policy.backoffMillis(1, fixed(1.0)));
+        assertEquals(200, policy.backoffMillis(2, fixed(1.0)));
+        assertEquals(350, policy.backoffMillis(3, fixed(1.0)));
+        assertEquals(350, policy.backoffMillis(10, fixed(1.0)));
+    }
+
+    @Test
+    public void jitterSpreadsWithinCeiling() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, false);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.backoffMillis(2, random);
+            assertTrue(delay >= 0 && delay <= 200);
+        }
+        assertEquals(0, policy.backoffMillis(2, fixed(0.0)));
+    }
+
+    @Test
+    public void largeRetryCountDoesNotOverflow() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 5000, false);
+        assertEquals(5000, policy.backoffMillis(Integer.MAX_VALUE, fixed(1.0)));
+    }
+
+    @Test
+    public void noneNeverRetries() {
+        assertEquals(1, RetryPolicy.NONE.getMaxAttempts());
+        assertFalse(RetryPolicy.NONE.isHedging());
+        assertEquals(0, RetryPolicy.NONE.backoffMillis(1, fixed(1.0)));
+    }
+
+    @Test
+    public void hedgingIsOptIn() {
+        assertFalse(RetryPolicy.DEFAULT.isHedging());
+        assertTrue(RetryPolicy.HEDGED.isHedging());
+        assertEquals(RetryPolicy.DEFAULT.getMaxAttempts(), RetryPolicy.HEDGED.getMaxAttempts());
+    }
+
+    @Test
+    public void onlyTransientStatusesAreRetryable() {
+        assertTrue(RetryPolicy.isRetryableStatus(503));
+        assertTrue(RetryPolicy.isRetryableStatus(429));
+        assertTrue(RetryPolicy.isRetryableStatus(408));
+        assertFalse(RetryPolicy.isRetryableStatus(404));
+        assertFalse(RetryPolicy.isRetryableStatus(501));
+        assertFalse(RetryPolicy.isRetryableStatus(200));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroAttempts() {
+        new RetryPolicy(0, 100, 1000, false);
+    }
+
+    /** nextDouble固定返回value，1.0用于取到退避上限 */
+    private static Random fixed(double value) {
+        return new Random() {
+            @Override
+            public double nextDouble() {
+                return Math.min(value, Math.nextDown(1.0));
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.limtide.ugclite.ui.adapter;
+
+import com.limtide.ugclite.MicroBenchmark;
+import com.limtide.ugclite.data.model.FeedList;
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 对比NoteCardAdapter旧的“synchronizedList + 读写锁”读取与volatile不可变快照读取
+ * 每次操作模拟一屏绑定：RecyclerView布局时每个位置读取一次getItemCount、getItemId和onBindViewHolder
+ */
+public class AdapterSnapshotBenchmark {
+
+    private static final int LIST_SIZE = 500;
+    private static final int BINDS_PER_OP = 1000;
+
+    @Test
+    public void volatileSnapshotAgainstLockedList() throws Exception {
+        Assume.assumeTrue(MicroBenchmark.enabled());
+
+        List<Post> source = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            Post post = new Post();
+            post.postId = "post-" + i;
+            source.add(post);
+        }
+
+        LockedModel locked = new LockedModel(source);
+        SnapshotModel snapshot = new SnapshotModel(FeedList.of(source));
+        MicroBenchmark.report("bind " + BINDS_PER_OP + " positions",
+                MicroBenchmark.measure(() -> bindAll(locked)),
+                MicroBenchmark.measure(() -> bindAll(snapshot)));
+    }
+
+    private static long bindAll(Model model) {
+        long checksum = 0;
+        for (int i = 0; i < BINDS_PER_OP; i++) {
+            int position = i % model.itemCount();
+            checksum += model.itemId(position);
+            Post post = model.bind(position);
+            checksum += post != null ? post.postId.length() : 0;
+        }
+        return checksum;
+    }
+
+    private interface Model {
+        int itemCount();
+
+        long itemId(int position);
+
+        Post bind(int position);
+    }
+
+    /**
+     * 旧实现：每次读取都要获取读锁，列表本身还是synchronizedList
+     */
+    private static final class LockedModel implements Model {
+        private final List<Post> postList = Collections.synchronizedList(new ArrayList<>());
+        private final ReentrantReadWriteLock dataLock = new ReentrantReadWriteLock();
+
+        LockedModel(List<Post> posts) {
+            postList.addAll(posts);
+        }
+
+        @Override
+        public int itemCount() {
+            dataLock.readLock().lock();
+            try {
+                return postList.size();
+            } finally {
+                dataLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public long itemId(int position) {
+            dataLock.readLock().lock();
+            try {
+                if (position < 0 || position >= postList.size()) {
+                    return -1;
+                }
+                return PostDiff.stableId(postList.get(position));
+            } finally {
+                dataLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public Post bind(int position) {
+            dataLock.readLock().lock();
+            try {
+                if (position < 0 || position >= postList.size()) {
+                    return null;
+                }
+                return postList.get(position);
+            } finally {
+                dataLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 新实现：读取volatile快照引用，不加锁
+     */
+    private static final class SnapshotModel implements Model {
+        private volatile List<Post> posts;
+
+        SnapshotModel(List<Post> posts) {
+            this.posts = posts;
+        }
+
+        @Override
+        public int itemCount() {
+            return posts.size();
+        }
+
+        @Override
+        public long itemId(int position) {
+            List<Post> current = posts;
+            if (position < 0 || position >= current.size()) {
+                return -1;
+            }
+            return PostDiff.stableId(current.get(position));
+        }
+
+        @Override
+        public Post bind(int position) {
+            List<Post> current = posts;
+            if (position < 0 || position >= current.size()) {
+                return null;
+            }
+            return current.get(position);
+        }
+    }
+}
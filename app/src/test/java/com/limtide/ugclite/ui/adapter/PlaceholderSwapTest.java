@@ -0,0 +1,52 @@
+package com.limtide.ugclite.ui.adapter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlaceholderSwapTest {
+
+    @Test
+    public void placeholderSwapReportsChangedRange() {
+        List<Post> current = posts("a", "b", "c", "d");
+        List<Post> incoming = new ArrayList<>(current);
+        incoming.set(1, Post.placeholder("b", null));
+        incoming.set(2, Post.placeholder("c", null));
+
+        assertArrayEquals(new int[] {1, 3}, PlaceholderSwap.changedRange(current, incoming));
+    }
+
+    @Test
+    public void identicalListHasEmptyRange() {
+        List<Post> current = posts("a", "b");
+
+        assertArrayEquals(new int[] {0, 0}, PlaceholderSwap.changedRange(current, new ArrayList<>(current)));
+    }
+
+    @Test
+    public void differentIdentityIsNotASwap() {
+        List<Post> current = posts("a", "b");
+        List<Post> incoming = new ArrayList<>(current);
+        incoming.set(1, Post.placeholder("x", null));
+
+        assertNull(PlaceholderSwap.changedRange(current, incoming));
+        assertNull(PlaceholderSwap.changedRange(current, posts("a")));
+    }
+
+    private static List<Post> posts(String... ids) {
+        List<Post> posts = new ArrayList<>();
+        for (String id : Arrays.asList(ids)) {
+            Post post = new Post();
+            post.postId = id;
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,83 @@
+package com.limtide.ugclite.ui.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class PostDiffTest {
+
+    @Test
+    public void stableIdFollowsPostId() {
+        Post first = post("p1", "标题");
+        Post refreshed = post("p1", "新标题");
+
+        assertEquals(PostDiff.stableId(first), PostDiff.stableId(refreshed));
+        assertEquals(PostDiff.stableId(first), PostDiff.stableId(Post.placeholder("p1", null)));
+        assertNotEquals(PostDiff.stableId(first), PostDiff.stableId(post("p2", "标题")));
+        assertTrue(PostDiff.stableId(first) >= 0);
+    }
+
+    @Test
+    public void postsWithoutIdAreNeverTheSameItem() {
+        Post a = post("", "标题");
+        Post b = post("", "标题");
+
+        assertTrue(PostDiff.sameItem(a, a));
+        assertFalse(PostDiff.sameItem(a, b));
+        assertTrue(PostDiff.stableId(a) < 0);
+    }
+
+    @Test
+    public void sameItemComparesPostId() {
+        assertTrue(PostDiff.sameItem(post("p1", "a"), post("p1", "b")));
+        assertFalse(PostDiff.sameItem(post("p1", "a"), post("p2", "a")));
+    }
+
+    @Test
+    public void sameContentComparesVisibleFields() {
+        Post old = post("p1", "标题");
+        old.clips = new ArrayList<>();
+        old.clips.add(clip(0, "https://a/1.jpg"));
+
+        Post unchanged = post("p1", "标题");
+        unchanged.clips = new ArrayList<>();
+        unchanged.clips.add(clip(0, "https://a/1.jpg"));
+        assertTrue(PostDiff.sameContent(old, unchanged));
+
+        Post newCover = post("p1", "标题");
+        newCover.clips = new ArrayList<>();
+        newCover.clips.add(clip(0, "https://a/2.jpg"));
+        assertFalse(PostDiff.sameContent(old, newCover));
+
+        assertFalse(PostDiff.sameContent(old, post("p1", "新标题")));
+    }
+
+    @Test
+    public void placeholderNeverHasSameContent() {
+        assertFalse(PostDiff.sameContent(post("p1", "标题"), Post.placeholder("p1", null)));
+        assertFalse(PostDiff.sameContent(Post.placeholder("p1", null), post("p1", "标题")));
+    }
+
+    private static Post post(String id, String title) {
+        Post post = new Post();
+        post.postId = id;
+        post.title = title;
+        return post;
+    }
+
+    private static Post.Clip clip(int type, String url) {
+        Post.Clip clip = new Post.Clip();
+        clip.type = type;
+        clip.width = 100;
+        clip.height = 100;
+        clip.url = url;
+        return clip;
+    }
+}
@@ -0,0 +1,81 @@
+package com.limtide.ugclite.ui.component;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FlingPolicyTest {
+
+    @Test
+    public void fastFlingPausesAndSlowingDownResumes() {
+        FlingPolicy policy = new FlingPolicy(6, 2);
+        long now = 0;
+        boolean changed = false;
+        for (int i = 0; i < 10 && !changed; i++) {
+            now += 16;
+            changed = policy.onScrolled(160, true, now); // 10px/ms
+        }
+        assertTrue(changed);
+        assertTrue(policy.isPaused());
+
+        // 回差区间内保持暂停
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            policy.onScrolled(64, true, now); // 4px/ms
+        }
+        assertTrue(policy.isPaused());
+
+        changed = false;
+        for (int i = 0; i < 20 && !changed; i++) {
+            now += 16;
+            changed = policy.onScrolled(16, true, now); // 1px/ms
+        }
+        assertTrue(changed);
+        assertFalse(policy.isPaused());
+    }
+
+    @Test
+    public void fastDragDoesNotPause() {
+        FlingPolicy policy = new FlingPolicy(6, 2);
+        long now = 0;
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            assertFalse(policy.onScrolled(-320, false, now));
+        }
+        assertFalse(policy.isPaused());
+    }
+
+    @Test
+    public void dragOrIdleResumesImmediately() {
+        FlingPolicy policy = new FlingPolicy(6, 2);
+        long now = 0;
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            policy.onScrolled(320, true, now);
+        }
+        assertTrue(policy.isPaused());
+        assertTrue(policy.onDragging());
+        assertFalse(policy.isPaused());
+
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            policy.onScrolled(320, true, now);
+        }
+        assertTrue(policy.isPaused());
+        assertTrue(policy.onIdle());
+        assertFalse(policy.isPaused());
+        assertFalse(policy.onIdle());
+    }
+
+    @Test
+    public void gapBetweenScrollsStartsNewGesture() {
+        FlingPolicy policy = new FlingPolicy(6, 2);
+
+        // 间隔过长，不计算速度
+        policy.onScrolled(2000, true, 0);
+        policy.onScrolled(2000, true, 500);
+
+        assertFalse(policy.isPaused());
+    }
+}
@@ -0,0 +1,40 @@
+package com.limtide.ugclite.ui.component;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class FrameJankStatsTest {
+
+    private static final long FRAME_60HZ = 16_666_667L;
+
+    @Test
+    public void countsJankyAndDroppedFrames() {
+        FrameJankStats stats = new FrameJankStats();
+
+        stats.record(FRAME_60HZ, FRAME_60HZ);
+        stats.record(FRAME_60HZ + 2_000_000L, FRAME_60HZ); // 抖动，不算卡顿
+        stats.record(FRAME_60HZ * 3, FRAME_60HZ);           // 丢两帧
+
+        assertEquals(3, stats.getFrameCount());
+        assertEquals(1, stats.getJankyFrameCount());
+        assertEquals(2, stats.getDroppedFrameCount());
+        assertEquals(FRAME_60HZ * 3, stats.getMaxFrameNanos());
+        assertEquals(1.0 / 3, stats.getJankRate(), 1e-9);
+    }
+
+    @Test
+    public void ignoresInvalidIntervalsAndResets() {
+        FrameJankStats stats = new FrameJankStats();
+
+        stats.record(0, FRAME_60HZ);
+        stats.record(FRAME_60HZ, 0);
+        assertEquals(0, stats.getFrameCount());
+        assertEquals(0, stats.getJankRate(), 1e-9);
+
+        stats.record(FRAME_60HZ * 2, FRAME_60HZ);
+        stats.reset();
+        assertEquals(0, stats.getFrameCount());
+        assertEquals(0, stats.getDroppedFrameCount());
+    }
+}
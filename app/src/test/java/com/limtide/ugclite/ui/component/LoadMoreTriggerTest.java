@@ -0,0 +1,90 @@
+package com.limtide.ugclite.ui.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LoadMoreTriggerTest {
+
+    // 视口1000px内可见10条
+    private static final double ITEMS_PER_PX = 10.0 / 1000;
+
+    @Test
+    public void idleListTriggersAtMinimumDistance() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+
+        assertEquals(3, trigger.triggerDistance(ITEMS_PER_PX));
+        assertFalse(trigger.shouldLoad(16, 20, ITEMS_PER_PX, 0));
+        assertTrue(trigger.shouldLoad(17, 20, ITEMS_PER_PX, 0));
+    }
+
+    @Test
+    public void fastScrollTriggersEarlierUpToMaximum() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+        long now = 0;
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            trigger.onScrolled(48, now); // 3px/ms
+        }
+
+        // 3px/ms × 800ms × 0.01条/px ≈ 24条
+        int distance = trigger.triggerDistance(ITEMS_PER_PX);
+        assertTrue("distance " + distance, distance > 20 && distance <= 27);
+
+        for (int i = 0; i < 20; i++) {
+            now += 16;
+            trigger.onScrolled(400, now);
+        }
+        assertEquals(30, trigger.triggerDistance(ITEMS_PER_PX));
+
+        trigger.onIdle();
+        assertEquals(3, trigger.triggerDistance(ITEMS_PER_PX));
+    }
+
+    @Test
+    public void firesOncePerPageAndRearmsWhenPageArrives() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+
+        assertTrue(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 0));
+        assertFalse(trigger.shouldLoad(19, 20, ITEMS_PER_PX, 10));
+
+        trigger.onItemCountChanged(40, 400);
+        assertFalse(trigger.shouldLoad(19, 40, ITEMS_PER_PX, 410));
+        assertTrue(trigger.shouldLoad(38, 40, ITEMS_PER_PX, 420));
+    }
+
+    @Test
+    public void pageArrivalUpdatesMeasuredLatency() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+
+        assertTrue(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 1000));
+        trigger.onItemCountChanged(40, 3000);
+
+        assertEquals(1160, trigger.latencyMillis());
+    }
+
+    @Test
+    public void failedLoadCanBeRearmed() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+
+        assertTrue(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 0));
+        trigger.rearm(21);
+        assertFalse(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 10));
+
+        trigger.rearm(20);
+        assertTrue(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 20));
+    }
+
+    @Test
+    public void refreshResetsTrigger() {
+        LoadMoreTrigger trigger = new LoadMoreTrigger(3, 30, 800);
+
+        assertTrue(trigger.shouldLoad(38, 40, ITEMS_PER_PX, 0));
+        trigger.onItemCountChanged(20, 100);
+
+        assertEquals(800, trigger.latencyMillis());
+        assertTrue(trigger.shouldLoad(18, 20, ITEMS_PER_PX, 200));
+    }
+}
@@ -0,0 +1,104 @@
+package com.limtide.ugclite.ui.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PreloadWindowTest {
+
+    // 视口1000px内可见10条，两列
+    private static final double ITEMS_PER_PX = 10.0 / 1000;
+    private static final int SPANS = 2;
+
+    @Test
+    public void slowScrollDownPreloadsMinimumAfterShorterColumn() {
+        PreloadWindow window = new PreloadWindow(4, 16);
+
+        // 两列最后可见分别是9和11，较短一列之后的10开始露出
+        assertFalse(window.update(2, 0, 9, 100, SPANS, ITEMS_PER_PX));
+
+        assertEquals(10, window.from());
+        assertEquals(14, window.to());
+    }
+
+    @Test
+    public void fastScrollGrowsWindowUpToMaximumInWholeRows() {
+        PreloadWindow window = new PreloadWindow(3, 16);
+
+        // 约1条/帧 × 30帧，超过上限
+        for (int i = 0; i < 20; i++) {
+            window.update(100, 0, 9, 100, SPANS, ITEMS_PER_PX);
+        }
+        assertEquals(16, window.windowSize(SPANS, ITEMS_PER_PX));
+
+        // 3条取整到两列的整行
+        PreloadWindow slow = new PreloadWindow(3, 16);
+        slow.update(1, 0, 9, 100, SPANS, ITEMS_PER_PX);
+        assertEquals(4, slow.windowSize(SPANS, ITEMS_PER_PX));
+    }
+
+    @Test
+    public void requestedPositionsAreNotRequestedAgain() {
+        PreloadWindow window = new PreloadWindow(4, 4);
+
+        window.update(2, 0, 9, 100, SPANS, ITEMS_PER_PX);
+        assertEquals(10, window.from());
+        assertEquals(14, window.to());
+
+        // 没有新露出的位置
+        window.update(2, 0, 9, 100, SPANS, ITEMS_PER_PX);
+        assertEquals(window.from(), window.to());
+
+        // 只请求窗口新扩展出的部分
+        window.update(2, 2, 11, 100, SPANS, ITEMS_PER_PX);
+        assertEquals(14, window.from());
+        assertEquals(16, window.to());
+    }
+
+    @Test
+    public void reversalRequestsCancelAndPreloadsAbove() {
+        PreloadWindow window = new PreloadWindow(4, 4);
+        window.update(2, 20, 29, 100, SPANS, ITEMS_PER_PX);
+
+        assertTrue(window.update(-2, 20, 29, 100, SPANS, ITEMS_PER_PX));
+        assertEquals(16, window.from());
+        assertEquals(20, window.to());
+
+        // 同方向继续滚动不再报告反转
+        assertFalse(window.update(-2, 18, 27, 100, SPANS, ITEMS_PER_PX));
+        assertEquals(14, window.from());
+        assertEquals(16, window.to());
+
+        // 再次反转后向下的位置重新请求
+        assertTrue(window.update(2, 18, 27, 100, SPANS, ITEMS_PER_PX));
+        assertEquals(28, window.from());
+        assertEquals(32, window.to());
+    }
+
+    @Test
+    public void windowIsClampedToListBounds() {
+        PreloadWindow window = new PreloadWindow(4, 4);
+
+        window.update(2, 0, 18, 20, SPANS, ITEMS_PER_PX);
+        assertEquals(19, window.from());
+        assertEquals(20, window.to());
+
+        window.update(-2, 1, 10, 20, SPANS, ITEMS_PER_PX);
+        assertEquals(0, window.from());
+        assertEquals(1, window.to());
+    }
+
+    @Test
+    public void staleRecordIsForgottenAfterListShrinks() {
+        PreloadWindow window = new PreloadWindow(4, 4);
+        window.update(2, 50, 59, 100, SPANS, ITEMS_PER_PX);
+        assertEquals(64, window.to());
+
+        // 刷新后回到顶部，列表只剩一页
+        window.update(2, 0, 9, 20, SPANS, ITEMS_PER_PX);
+        assertEquals(10, window.from());
+        assertEquals(14, window.to());
+    }
+}
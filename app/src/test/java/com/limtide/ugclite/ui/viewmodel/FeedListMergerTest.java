@@ -1,9 +1,11 @@
 package com.limtide.ugclite.ui.viewmodel;
 
+import com.limtide.ugclite.data.model.FeedList;
 import com.limtide.ugclite.data.model.Post;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -14,26 +16,74 @@ import static org.junit.Assert.assertTrue;
 public class FeedListMergerTest {
     @Test
     public void emptyRefreshClearsExistingPosts() {
-        List<Post> existing = Arrays.asList(new Post(), new Post());
-        List<Post> result = FeedListMerger.merge(existing, Collections.emptyList(), true);
+        FeedList existing = FeedList.of(Arrays.asList(new Post(), new Post()));
+        FeedList result = FeedListMerger.merge(existing, Collections.emptyList(), true, new FeedDedupIndex());
         assertTrue(result.isEmpty());
     }
 
     @Test
     public void nullRefreshIsNormalizedToEmptyList() {
-        List<Post> result = FeedListMerger.merge(
-                Collections.singletonList(new Post()),
+        FeedList result = FeedListMerger.merge(
+                FeedList.of(Collections.singletonList(new Post())),
                 null,
-                true);
+                true,
+                new FeedDedupIndex());
         assertTrue(result.isEmpty());
     }
 
     @Test
     public void loadMoreAppendsWithoutMutatingExistingList() {
-        List<Post> existing = Collections.singletonList(new Post());
+        FeedList existing = FeedList.of(Collections.singletonList(new Post()));
         List<Post> incoming = Arrays.asList(new Post(), new Post());
-        List<Post> result = FeedListMerger.merge(existing, incoming, false);
+        FeedList result = FeedListMerger.merge(existing, incoming, false, new FeedDedupIndex());
         assertEquals(3, result.size());
         assertEquals(1, existing.size());
     }
+
+    @Test
+    public void overlappingPageDropsDuplicatesAndCountsThem() {
+        FeedDedupIndex index = new FeedDedupIndex();
+        FeedList first = FeedListMerger.merge(null, posts("a", "b", "c"), true, index);
+        FeedList second = FeedListMerger.merge(first, posts("c", "d", "d"), false, index);
+
+        assertEquals(4, second.size());
+        assertEquals(first.version(), second.baseVersion());
+        assertEquals(3, second.changeStart());
+        assertEquals(1, second.changeCount());
+        assertEquals("d", second.get(3).postId);
+        assertEquals(2, index.droppedTotal());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void refreshResetsIndexButKeepsDroppedTotal() {
+        FeedDedupIndex index = new FeedDedupIndex();
+        FeedList first = FeedListMerger.merge(null, posts("a", "a"), true, index);
+        FeedList refreshed = FeedListMerger.merge(first, posts("a", "b"), true, index);
+
+        assertEquals(2, refreshed.size());
+        assertEquals(FeedList.Change.RESET, refreshed.change());
+        assertEquals(2, index.size());
+        assertEquals(1, index.droppedTotal());
+    }
+
+    @Test
+    public void postsWithoutIdAreNeverDropped() {
+        FeedDedupIndex index = new FeedDedupIndex();
+        List<Post> result = FeedListMerger.merge(
+                null, Arrays.asList(new Post(), new Post()), false, index);
+
+        assertEquals(2, result.size());
+        assertEquals(0, index.droppedTotal());
+    }
+
+    private static List<Post> posts(String... ids) {
+        List<Post> posts = new ArrayList<>();
+        for (String id : ids) {
+            Post post = new Post();
+            post.postId = id;
+            posts.add(post);
+        }
+        return posts;
+    }
 }
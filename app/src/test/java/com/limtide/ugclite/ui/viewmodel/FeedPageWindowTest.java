@@ -0,0 +1,151 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.limtide.ugclite.data.model.Post;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FeedPageWindowTest {
+
+    private FeedPageWindow windowOfTenPages(int windowPages) {
+        FeedPageWindow window = new FeedPageWindow(windowPages);
+        window.reset(10, 0, 10);
+        for (int i = 1; i < 10; i++) {
+            window.append(10, i * 10, i * 10 + 10);
+        }
+        return window;
+    }
+
+    @Test
+    public void pageAtFindsPageByPosition() {
+        FeedPageWindow window = windowOfTenPages(1);
+
+        assertEquals(0, window.pageAt(0).index);
+        assertEquals(0, window.pageAt(9).index);
+        assertEquals(1, window.pageAt(10).index);
+        assertEquals(9, window.pageAt(99).index);
+        assertNull(window.pageAt(100));
+    }
+
+    @Test
+    public void evictsPagesOutsideWindowAndRestoresOnReturn() {
+        FeedPageWindow window = windowOfTenPages(1);
+
+        assertTrue(window.updateVisibleRange(50, 55));
+        List<FeedPageWindow.Page> evicted = window.takePagesToEvict();
+        // 保留第4、5、6页
+        assertEquals(7, evicted.size());
+        for (FeedPageWindow.Page page : evicted) {
+            assertTrue(window.completeEviction(window.generation(), page));
+        }
+        assertEquals(3, window.residentPageCount());
+
+        assertTrue(window.updateVisibleRange(20, 25));
+        List<FeedPageWindow.Page> restored = window.takePagesToRestore();
+        assertEquals(3, restored.size());
+        assertEquals(1, restored.get(0).index);
+        assertEquals(3, restored.get(2).index);
+    }
+
+    @Test
+    public void unchangedVisiblePagesSkipRecalculation() {
+        FeedPageWindow window = windowOfTenPages(1);
+
+        assertTrue(window.updateVisibleRange(50, 55));
+        assertFalse(window.updateVisibleRange(52, 58));
+    }
+
+    @Test
+    public void pageBackInWindowWhileWritingStaysResident() {
+        FeedPageWindow window = windowOfTenPages(1);
+        window.updateVisibleRange(50, 55);
+        FeedPageWindow.Page first = window.takePagesToEvict().get(0);
+
+        window.updateVisibleRange(0, 5);
+        assertFalse(window.completeEviction(window.generation(), first));
+        assertEquals(FeedPageWindow.State.RESIDENT, first.state);
+    }
+
+    @Test
+    public void resetDiscardsResultsFromPreviousGeneration() {
+        FeedPageWindow window = windowOfTenPages(1);
+        window.updateVisibleRange(50, 55);
+        int generation = window.generation();
+        FeedPageWindow.Page page = window.takePagesToEvict().get(0);
+
+        window.reset(10, 0, 10);
+        assertFalse(window.completeEviction(generation, page));
+        assertEquals(1, window.pageCount());
+    }
+
+    @Test
+    public void failedRestoreIsRetriedOnNextRangeUpdate() {
+        FeedPageWindow window = windowOfTenPages(1);
+        window.updateVisibleRange(50, 55);
+        for (FeedPageWindow.Page page : window.takePagesToEvict()) {
+            window.completeEviction(window.generation(), page);
+        }
+        window.updateVisibleRange(0, 5);
+        for (FeedPageWindow.Page page : window.takePagesToRestore()) {
+            window.failRestore(window.generation(), page);
+        }
+
+        window.updateVisibleRange(10, 15);
+        assertEquals(3, window.takePagesToRestore().size());
+    }
+
+    @Test
+    public void pagesRememberTheirCursorRange() {
+        FeedPageWindow window = windowOfTenPages(1);
+
+        FeedPageWindow.Page page = window.pageAt(35);
+        assertEquals(30, page.cursor);
+        assertEquals(40, page.nextCursor);
+        assertTrue(page.hasCursorRange());
+    }
+
+    @Test
+    public void refetchedPostsReplacePlaceholdersById() {
+        List<Post> placeholders = Arrays.asList(
+                Post.placeholder("a", null), Post.placeholder("b", null), Post.placeholder("c", null));
+        // 新作品插入后原作品后移，删除的作品不再返回
+        List<Post> fetched = Arrays.asList(post("new"), post("a"), post("c"));
+
+        List<Post> content = FeedPageWindow.matchPlaceholders(placeholders, fetched);
+
+        assertEquals(3, content.size());
+        assertFalse(content.get(0).isPlaceholder());
+        assertTrue(content.get(1).isPlaceholder());
+        assertEquals("b", content.get(1).postId);
+        assertFalse(content.get(2).isPlaceholder());
+    }
+
+    @Test
+    public void refetchWithoutAnyMatchIsAFailure() {
+        List<Post> placeholders = Arrays.asList(Post.placeholder("a", null));
+
+        assertNull(FeedPageWindow.matchPlaceholders(placeholders, Arrays.asList(post("x"))));
+        assertNull(FeedPageWindow.matchPlaceholders(placeholders, null));
+    }
+
+    private static Post post(String postId) {
+        Post post = new Post();
+        post.postId = postId;
+        return post;
+    }
+
+    @Test
+    public void disabledWindowNeverEvicts() {
+        FeedPageWindow window = windowOfTenPages(0);
+
+        window.updateVisibleRange(90, 95);
+        assertTrue(window.takePagesToEvict().isEmpty());
+    }
+}
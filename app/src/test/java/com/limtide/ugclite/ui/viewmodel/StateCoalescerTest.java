@@ -0,0 +1,57 @@
+package com.limtide.ugclite.ui.viewmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StateCoalescerTest {
+
+    private final List<Runnable> frames = new ArrayList<>();
+    private final List<String> published = new ArrayList<>();
+    private final StateCoalescer<String> coalescer = new StateCoalescer<>(frames::add, published::add);
+
+    @Test
+    public void burstWithinOneFramePublishesOnlyLatestState() {
+        coalescer.submit("loading");
+        coalescer.submit("posts");
+        coalescer.submit("posts+hasMore");
+
+        assertEquals(1, frames.size());
+        assertTrue(published.isEmpty());
+
+        runFrames();
+        assertEquals(List.of("posts+hasMore"), published);
+    }
+
+    @Test
+    public void eachFramePublishesItsOwnState() {
+        coalescer.submit("first");
+        runFrames();
+        coalescer.submit("second");
+        runFrames();
+
+        assertEquals(List.of("first", "second"), published);
+    }
+
+    @Test
+    public void cancelledCoalescerDropsPendingState() {
+        coalescer.submit("pending");
+        coalescer.cancel();
+        coalescer.submit("late");
+        runFrames();
+
+        assertTrue(published.isEmpty());
+    }
+
+    private void runFrames() {
+        List<Runnable> due = new ArrayList<>(frames);
+        frames.clear();
+        for (Runnable frame : due) {
+            frame.run();
+        }
+    }
+}